@@ -0,0 +1,206 @@
+package dev.therealflo.client;
+
+import dev.therealflo.client.input.InputRuntime;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures the per-frame time {@link BoundActionFilter} saves in Vivecraft's input processing, without the game or a headset.
+ * Every frame runs a stand-in of MCVR.processInputAction() for all actions, once unfiltered and once behind the same
+ * checks as the processInputAction hook, and reports both costs and their difference.
+ * Stand-in actions of the usual count are used, half of them bound, the first ones pressed and released now and then.
+ * Usage: {@code gradlew boundActionBenchmark}, or run this class with the benchmark classpath:
+ * {@code BoundActionFilterBenchmark [frames] [actions]}
+ */
+public final class BoundActionFilterBenchmark {
+    private static final String[] ACTION_SETS = {"global", "ingame", "gui", "keyboard", "contextual", "mod"};
+    // Frames run before measuring, so both loops are compiled
+    private static final int WARMUP_FRAMES = 20_000;
+    // Actions whose input changes during the run, the others stay released like most inputs in a real frame
+    private static final int CHANGING_ACTIONS = 8;
+
+    /**
+     * Stand-in for a VRInputAction and its key binding.
+     */
+    private static final class StubAction {
+        final String name;
+        final String actionSet;
+        final int id;
+        float state;
+        boolean keyPressed;
+        int pressCount;
+
+        StubAction(String name, String actionSet, int id) {
+            this.name = name;
+            this.actionSet = actionSet;
+            this.id = id;
+        }
+    }
+
+    /**
+     * Stand-in for the input state Vivecraft reads per action: the action set priorities and the action states
+     * that xrSyncActions would have written.
+     */
+    private static final class StubInput {
+        final Map<String, Integer> setPriorities = new HashMap<>();
+        final Map<String, Float> states = new HashMap<>();
+    }
+
+    private BoundActionFilterBenchmark() {}
+
+    private static List<StubAction> createActions(int count) {
+        ActionIdTable table = ActionIdTable.getInstance();
+        List<StubAction> actions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String set = ACTION_SETS[i % ACTION_SETS.length];
+            String name = "/actions/" + set + "/in/vivecraft.key.action" + i;
+            // populateInputActions() interns every action before the first binding load
+            actions.add(new StubAction(name, set, table.intern(name)));
+        }
+        return actions;
+    }
+
+    private static void load(List<StubAction> actions) {
+        List<Pair<String, String>> bindings = new ArrayList<>();
+        for (int i = 0; i < actions.size(); i += 2) {
+            bindings.add(Pair.of(actions.get(i).name, "/user/hand/right/input/trigger/value"));
+        }
+        BoundActionIndex index = BoundActionIndex.getInstance();
+        index.beginLoad();
+        index.addBindings(bindings);
+        index.endLoad();
+    }
+
+    /**
+     * Stand-in for MCVR.processInputAction(): looks up the action's state and set, and presses or releases
+     * its key binding when the button changed.
+     */
+    private static void processInputAction(StubAction action, StubInput input) {
+        Float state = input.states.get(action.name);
+        Integer priority = input.setPriorities.get(action.actionSet);
+        boolean pressed = state != null && priority != null && priority >= 0 && state > 0.5f;
+        action.state = state != null ? state : 0;
+        if (pressed != action.keyPressed) {
+            action.keyPressed = pressed;
+            if (pressed) {
+                action.pressCount++;
+            }
+        }
+    }
+
+    /**
+     * One frame without the filter, every action is processed.
+     */
+    private static void unfilteredFrame(StubAction[] actions, StubInput input) {
+        for (StubAction action : actions) {
+            processInputAction(action, input);
+        }
+    }
+
+    /**
+     * One frame behind the checks of the processInputAction hook, returns the number of processed actions.
+     */
+    private static int filteredFrame(StubAction[] actions, StubInput input) {
+        BoundActionFilter filter = BoundActionFilter.getInstance();
+        InputRuntime runtime = InputRuntime.getInstance();
+        int processed = 0;
+        for (StubAction action : actions) {
+            if (runtime.isHeldBack(action.id)) continue;
+            if (action.keyPressed || filter.shouldProcess(action.id)) {
+                processInputAction(action, input);
+                processed++;
+            }
+        }
+        return processed;
+    }
+
+    /**
+     * Presses and releases the first actions every few frames, so both loops see key changes.
+     */
+    private static void updateInput(StubAction[] actions, StubInput input, int frame) {
+        for (int i = 0; i < Math.min(CHANGING_ACTIONS, actions.length); i++) {
+            input.states.put(actions[i].name, (frame + i) % 16 < 8 ? 1f : 0f);
+        }
+    }
+
+    private static String percentiles(long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        long total = 0;
+        for (long value : sorted) {
+            total += value;
+        }
+        int count = sorted.length;
+        return String.format("mean %d ns, p50 %d ns, p99 %d ns, max %d ns",
+                total / count, sorted[count / 2], sorted[Math.min(count - 1, (int) (count * 0.99))], sorted[count - 1]);
+    }
+
+    private static long mean(long[] nanos) {
+        long total = 0;
+        for (long value : nanos) {
+            total += value;
+        }
+        return total / nanos.length;
+    }
+
+    public static void main(String[] args) {
+        int frames = args.length > 0 ? Math.max(1, Integer.parseInt(args[0])) : 100_000;
+        int actionCount = args.length > 1 ? Math.max(1, Integer.parseInt(args[1])) : 120;
+
+        StubAction[] actions = createActions(actionCount).toArray(new StubAction[0]);
+        StubInput input = new StubInput();
+        for (int i = 0; i < ACTION_SETS.length; i++) {
+            input.setPriorities.put(ACTION_SETS[i], i);
+        }
+        for (StubAction action : actions) {
+            input.states.put(action.name, 0f);
+        }
+        load(Arrays.asList(actions));
+
+        int processed = 0;
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            updateInput(actions, input, i);
+            unfilteredFrame(actions, input);
+            processed = filteredFrame(actions, input);
+        }
+
+        long[] unfilteredNanos = new long[frames];
+        long[] filteredNanos = new long[frames];
+        for (int i = 0; i < frames; i++) {
+            updateInput(actions, input, i);
+            long start = System.nanoTime();
+            unfilteredFrame(actions, input);
+            long middle = System.nanoTime();
+            filteredFrame(actions, input);
+            unfilteredNanos[i] = middle - start;
+            filteredNanos[i] = System.nanoTime() - middle;
+        }
+
+        // Every load after the first rebuilds the bitset on the next frame
+        int reloads = Math.max(1, frames / 1000);
+        long[] reloadNanos = new long[reloads];
+        for (int i = 0; i < reloads; i++) {
+            load(Arrays.asList(actions));
+            long start = System.nanoTime();
+            filteredFrame(actions, input);
+            reloadNanos[i] = System.nanoTime() - start;
+        }
+
+        long presses = 0;
+        for (StubAction action : actions) {
+            presses += action.pressCount;
+        }
+        System.out.println(actionCount + " actions, " + processed + " processed per frame with the filter, " + frames + " frames");
+        System.out.println("All actions per frame:       " + percentiles(unfilteredNanos));
+        System.out.println("Filtered actions per frame:  " + percentiles(filteredNanos));
+        System.out.println("Saved per frame:             mean " + (mean(unfilteredNanos) - mean(filteredNanos)) + " ns");
+        System.out.println("Filtered frame after reload: " + percentiles(reloadNanos));
+        // Keeps the frames from being optimized away
+        System.out.println("Key presses " + presses);
+    }
+}
@@ -0,0 +1,122 @@
+package dev.therealflo.client;
+
+import dev.therealflo.client.input.InputRuntime;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Runs the startup work of the mod that doesn't need the game or a headset, with the same probes as
+ * {@link StartupProfiler} in the game, and writes the same JSON report.
+ * Vivecraft's default bindings and its action list are replaced by generated stand-ins of the usual size.
+ * Usage: {@code gradlew startupBenchmark}, or run this class with the benchmark classpath in an empty working directory:
+ * {@code StartupBenchmark <report file> [reloads]}
+ * <p>
+ * Client init and applying the mixins need the game, they are only measured in it.
+ */
+public final class StartupBenchmark {
+    private static final String[] HEADSETS = {
+            "/interaction_profiles/oculus/touch_controller",
+            "/interaction_profiles/valve/index_controller",
+            "/interaction_profiles/htc/vive_controller",
+            "/interaction_profiles/microsoft/motion_controller",
+            "/interaction_profiles/khr/simple_controller"
+    };
+    private static final String[] INPUTS = {
+            "trigger/value", "squeeze/value", "thumbstick/x", "thumbstick/y", "thumbstick/click",
+            "a/click", "b/click", "x/click", "y/click", "menu/click"
+    };
+    private static final String[] ACTION_SETS = {"global", "ingame", "gui", "keyboard", "contextual", "mod"};
+    private static final int ACTIONS_PER_SET = 20;
+
+    private StartupBenchmark() {}
+
+    /**
+     * Stand-in for Vivecraft's default bindings of a headset.
+     */
+    private static HashSet<Pair<String, String>> defaultBindings(String headset) {
+        HashSet<Pair<String, String>> bindings = new HashSet<>();
+        for (int hand = 0; hand < 2; hand++) {
+            String side = hand == 0 ? "left" : "right";
+            for (int i = 0; i < INPUTS.length; i++) {
+                // Only registered actions, the others would be pruned before they are suggested
+                String set = ACTION_SETS[(i + hand) % 3];
+                bindings.add(Pair.of("/actions/" + set + "/in/vivecraft.key.action" + (hand * INPUTS.length + i),
+                        "/user/hand/" + side + "/input/" + INPUTS[i]));
+            }
+        }
+        return bindings;
+    }
+
+    /**
+     * Stand-in for the names of the actions Vivecraft creates in populateInputActions().
+     */
+    private static List<String> actionNames() {
+        List<String> names = new ArrayList<>();
+        for (String set : ACTION_SETS) {
+            for (int i = 0; i < ACTIONS_PER_SET; i++) {
+                names.add("/actions/" + set + "/in/vivecraft.key.action" + i);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * One MCOpenXR.loadDefaultBindings(): the redirect runs once per supported headset.
+     */
+    private static void loadDefaultBindings() {
+        BoundActionIndex.getInstance().beginLoad();
+        InputRuntime.getInstance().beginLoad();
+        for (String headset : HEADSETS) {
+            long start = StartupProfiler.start();
+            XRBindingLoader.load(headset, StartupBenchmark::defaultBindings);
+            StartupProfiler.end("vr_init.redirectGetBinding", start);
+        }
+        BoundActionIndex.getInstance().endLoad();
+        InputRuntime.getInstance().endLoad();
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Usage: StartupBenchmark <report file> [reloads]");
+            System.exit(2);
+            return;
+        }
+        int reloads = args.length > 1 ? Math.max(0, Integer.parseInt(args[1])) : 10;
+        // The profiles are written relative to the working directory, never into a real game directory
+        if (Files.exists(Paths.get("interaction_profiles")) || Files.exists(Paths.get("config"))) {
+            System.out.println("Run the benchmark in an empty working directory, " + Paths.get("").toAbsolutePath() + " has profiles");
+            System.exit(2);
+            return;
+        }
+
+        // Enables the probes, so this must happen before StartupProfiler is loaded
+        System.setProperty("rebound.startupReport", args[0]);
+        StartupProfiler.setMode("benchmark");
+
+        // populateInputActions() runs before the first binding load
+        List<String> names = actionNames();
+        long start = StartupProfiler.start();
+        ActionIdTable ids = ActionIdTable.getInstance();
+        for (String name : names) {
+            ids.intern(name);
+        }
+        StartupProfiler.end("vr_init.populateInputActions", start);
+
+        // The first load saves the stand-in defaults, the reloads read the saved profiles
+        loadDefaultBindings();
+        for (int i = 0; i < reloads; i++) {
+            loadDefaultBindings();
+        }
+
+        StartupProfiler.writeReport();
+        for (StartupProfiler.Section section : StartupProfiler.createReport().sections) {
+            System.out.printf("%-36s %4d runs, first %8d us, mean %8d us, max %8d us%n", section.name, section.count,
+                    section.firstNanos / 1000, section.totalNanos / section.count / 1000, section.maxNanos / 1000);
+        }
+    }
+}
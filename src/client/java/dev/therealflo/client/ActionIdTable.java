@@ -0,0 +1,65 @@
+package dev.therealflo.client;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interns VR action names into dense integer ids, so per-frame code can use arrays and bitsets instead of maps.
+ * Ids are assigned when Vivecraft populates its input actions and stay stable for the rest of the session.
+ */
+public class ActionIdTable {
+    private static volatile ActionIdTable instance;
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+
+    private ActionIdTable() {}
+
+    public static ActionIdTable getInstance() {
+        if (instance == null) {
+            synchronized (ActionIdTable.class) {
+                if (instance == null) {
+                    instance = new ActionIdTable();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Gets the id of an action, assigning the next free one if it is new.
+     */
+    public synchronized int intern(String actionName) {
+        Integer id = ids.get(actionName);
+        if (id != null) {
+            return id;
+        }
+        int next = names.size();
+        ids.put(actionName, next);
+        names.add(actionName);
+        return next;
+    }
+
+    /**
+     * Gets the id of an action, or -1 if it was never registered.
+     */
+    public synchronized int getId(String actionName) {
+        Integer id = ids.get(actionName);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Gets the action name of an id.
+     */
+    public synchronized String getName(int id) {
+        return names.get(id);
+    }
+
+    /**
+     * Gets the number of ids handed out so far, all ids are below this.
+     */
+    public synchronized int size() {
+        return names.size();
+    }
+}
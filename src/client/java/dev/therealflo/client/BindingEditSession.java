@@ -0,0 +1,348 @@
+package dev.therealflo.client;
+
+import dev.therealflo.client.api.MCOpenXRReload;
+import org.apache.commons.lang3.tuple.Pair;
+import org.vivecraft.client_vr.ClientDataHolderVR;
+
+import java.util.*;
+
+/**
+ * Stages binding changes for one profile in memory and commits them as a single save.
+ * Every change creates a snapshot that only holds the edited inputs on top of the loaded bindings,
+ * so undo/redo and staging never copy the full binding set.
+ */
+public class BindingEditSession {
+    private final String interactionProfile;
+    private final String profilePath;
+    private Map<String, Set<String>> base;
+    private Map<ChordKey, Set<String>> baseChords;
+    // Loaded advanced bindings, everything the session doesn't edit is saved back unchanged
+    private DefaultBindingManager.AdvancedBindings baseAdvanced;
+    // history.get(position) is the current state, earlier entries are undo steps, later ones redo steps
+    private final List<Snapshot> history = new ArrayList<>();
+    private int position;
+    // Validation results of the current snapshot, only recomputed for inputs that changed
+    private final Map<String, ValidationResult> validationCache = new HashMap<>();
+
+    /**
+     * Immutable view of the session state: edited inputs only, everything else comes from the base.
+     */
+    private record Snapshot(Map<String, Set<String>> changes, Map<ChordKey, Set<String>> chordChanges) {
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of());
+
+        Snapshot with(String inputPath, Set<String> actions) {
+            Map<String, Set<String>> next = new HashMap<>(changes);
+            next.put(inputPath, actions);
+            return new Snapshot(Map.copyOf(next), chordChanges);
+        }
+
+        Snapshot withChord(ChordKey key, Set<String> actions) {
+            Map<ChordKey, Set<String>> next = new HashMap<>(chordChanges);
+            next.put(key, actions);
+            return new Snapshot(changes, Map.copyOf(next));
+        }
+    }
+
+    /**
+     * An input on the layer of a modifier.
+     */
+    private record ChordKey(String modifier, String inputPath) {}
+
+    /**
+     * Represents the result of binding validation.
+     */
+    public static class ValidationResult {
+        public final boolean isValid;
+        public final String errorMessage;
+        public final boolean hasGlobal;
+        public final int ingameModCount;
+
+        ValidationResult(boolean isValid, String errorMessage, boolean hasGlobal, int ingameModCount) {
+            this.isValid = isValid;
+            this.errorMessage = errorMessage;
+            this.hasGlobal = hasGlobal;
+            this.ingameModCount = ingameModCount;
+        }
+    }
+
+    /**
+     * Opens a session on the profile that is currently active for the given interaction profile.
+     * Returns null if the profile has no saved bindings.
+     */
+    public static BindingEditSession open(String interactionProfile) {
+        DefaultBindingManager manager = DefaultBindingManager.getInstance();
+        // Falls back to the defaults if the custom profile is missing, like the binding loader does
+        String profilePath = manager.getEffectiveProfilePath(interactionProfile);
+
+        Collection<Pair<String, String>> bindings = manager.loadDefaultBindings(profilePath);
+        if (bindings == null) {
+            return null;
+        }
+        return new BindingEditSession(interactionProfile, profilePath, bindings, manager.loadAdvancedBindings(profilePath));
+    }
+
+    private BindingEditSession(String interactionProfile, String profilePath, Collection<Pair<String, String>> bindings,
+                               DefaultBindingManager.AdvancedBindings advanced) {
+        this.interactionProfile = interactionProfile;
+        this.profilePath = profilePath;
+        reset(bindings, advanced);
+    }
+
+    private void reset(Collection<Pair<String, String>> bindings, DefaultBindingManager.AdvancedBindings advanced) {
+        Map<String, Set<String>> byInput = new LinkedHashMap<>();
+        for (Pair<String, String> binding : bindings) {
+            byInput.computeIfAbsent(binding.getRight(), k -> new LinkedHashSet<>()).add(binding.getLeft());
+        }
+        byInput.replaceAll((input, actions) -> Collections.unmodifiableSet(actions));
+
+        this.base = Collections.unmodifiableMap(byInput);
+
+        Map<ChordKey, Set<String>> chords = new LinkedHashMap<>();
+        for (DefaultBindingManager.ChordEntry chord : advanced.chords) {
+            chords.computeIfAbsent(new ChordKey(chord.modifier, chord.inputPath), k -> new LinkedHashSet<>()).add(chord.action);
+        }
+        chords.replaceAll((key, actions) -> Collections.unmodifiableSet(actions));
+        this.baseChords = Collections.unmodifiableMap(chords);
+        this.baseAdvanced = advanced;
+
+        this.history.clear();
+        this.history.add(Snapshot.EMPTY);
+        this.position = 0;
+        this.validationCache.clear();
+    }
+
+    /**
+     * Gets the profile path this session saves to.
+     */
+    public String getProfilePath() {
+        return profilePath;
+    }
+
+    private Snapshot current() {
+        return history.get(position);
+    }
+
+    /**
+     * Gets the actions bound to an input in the current state.
+     */
+    public Set<String> getActions(String inputPath) {
+        Set<String> changed = current().changes().get(inputPath);
+        if (changed != null) {
+            return changed;
+        }
+        return base.getOrDefault(inputPath, Set.of());
+    }
+
+    /**
+     * Gets all actions that appear in any binding of the current state.
+     */
+    public Set<String> getAllBoundActions() {
+        Set<String> actions = new HashSet<>();
+        for (String inputPath : getInputPaths()) {
+            actions.addAll(getActions(inputPath));
+        }
+        return actions;
+    }
+
+    /**
+     * Gets every input that has or had a binding in this session.
+     */
+    public Set<String> getInputPaths() {
+        Set<String> inputs = new LinkedHashSet<>(base.keySet());
+        inputs.addAll(current().changes().keySet());
+        return inputs;
+    }
+
+    /**
+     * Gets the actions an input triggers while the modifier is held.
+     */
+    public Set<String> getChordActions(String modifier, String inputPath) {
+        ChordKey key = new ChordKey(modifier, inputPath);
+        Set<String> changed = current().chordChanges().get(key);
+        if (changed != null) {
+            return changed;
+        }
+        return baseChords.getOrDefault(key, Set.of());
+    }
+
+    /**
+     * Replaces the actions an input triggers while the modifier is held. Clears the redo history.
+     */
+    public void stageChord(String modifier, String inputPath, Collection<String> actions) {
+        Set<String> next = Collections.unmodifiableSet(new LinkedHashSet<>(actions));
+        if (next.equals(getChordActions(modifier, inputPath))) return;
+
+        push(current().withChord(new ChordKey(modifier, inputPath), next));
+    }
+
+    private void push(Snapshot snapshot) {
+        history.subList(position + 1, history.size()).clear();
+        history.add(snapshot);
+        position++;
+    }
+
+    /**
+     * Replaces the actions bound to an input. Clears the redo history.
+     */
+    public void stage(String inputPath, Collection<String> actions) {
+        Set<String> next = Collections.unmodifiableSet(new LinkedHashSet<>(actions));
+        if (next.equals(getActions(inputPath))) return;
+
+        push(current().with(inputPath, next));
+        validationCache.remove(inputPath);
+    }
+
+    public boolean canUndo() {
+        return position > 0;
+    }
+
+    public boolean canRedo() {
+        return position < history.size() - 1;
+    }
+
+    public void undo() {
+        if (!canUndo()) return;
+        invalidateChanged(current(), history.get(position - 1));
+        position--;
+    }
+
+    public void redo() {
+        if (!canRedo()) return;
+        invalidateChanged(current(), history.get(position + 1));
+        position++;
+    }
+
+    /**
+     * Drops cached validation for every input that differs between two snapshots.
+     */
+    private void invalidateChanged(Snapshot from, Snapshot to) {
+        for (String inputPath : from.changes().keySet()) {
+            if (!Objects.equals(from.changes().get(inputPath), to.changes().get(inputPath))) {
+                validationCache.remove(inputPath);
+            }
+        }
+        for (String inputPath : to.changes().keySet()) {
+            if (!from.changes().containsKey(inputPath)) {
+                validationCache.remove(inputPath);
+            }
+        }
+    }
+
+    /**
+     * Checks if there are staged changes that haven't been committed.
+     */
+    public boolean isDirty() {
+        for (Map.Entry<String, Set<String>> change : current().changes().entrySet()) {
+            if (!change.getValue().equals(base.getOrDefault(change.getKey(), Set.of()))) {
+                return true;
+            }
+        }
+        return isChordsDirty();
+    }
+
+    private boolean isChordsDirty() {
+        for (Map.Entry<ChordKey, Set<String>> change : current().chordChanges().entrySet()) {
+            if (!change.getValue().equals(baseChords.getOrDefault(change.getKey(), Set.of()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Validates the bindings for a specific input path according to the rules:
+     * - Only one ingame or mod binding allowed
+     * - One global binding allowed, but no other bindings if global is present
+     * - The input must be supported by the interaction profile, or OpenXR rejects all of its bindings
+     */
+    public ValidationResult validate(String inputPath) {
+        return validationCache.computeIfAbsent(inputPath, input -> validateActions(input, getActions(input)));
+    }
+
+    /**
+     * Validates the actions of an input on a chord layer with the same rules as the base layer.
+     */
+    public ValidationResult validateChord(String modifier, String inputPath) {
+        return validateActions(inputPath, getChordActions(modifier, inputPath));
+    }
+
+    private ValidationResult validateActions(String inputPath, Set<String> actions) {
+        int ingameModCount = 0;
+        boolean hasGlobal = false;
+
+        for (String action : actions) {
+            if (action.startsWith("/actions/global/in/")) {
+                hasGlobal = true;
+            } else if (action.startsWith("/actions/ingame/in/") || action.startsWith("/actions/mod/in/")) {
+                ingameModCount++;
+            }
+        }
+
+        // Check validation rules
+        if (hasGlobal && (ingameModCount > 0)) {
+            return new ValidationResult(false, "Global binding cannot coexist with other bindings", hasGlobal, ingameModCount);
+        }
+
+        if (ingameModCount > 1) {
+            return new ValidationResult(false, "Only one ingame/mod binding allowed per input", hasGlobal, ingameModCount);
+        }
+
+        if (!actions.isEmpty() && !InputPathValidator.isSupported(interactionProfile, inputPath)) {
+            return new ValidationResult(false, "Input not supported by this controller, it is skipped when loading", hasGlobal, ingameModCount);
+        }
+
+        return new ValidationResult(true, null, hasGlobal, ingameModCount);
+    }
+
+    /**
+     * Flattens the current state into a binding list.
+     */
+    public List<Pair<String, String>> toBindings() {
+        List<Pair<String, String>> bindings = new ArrayList<>();
+        for (String inputPath : getInputPaths()) {
+            for (String action : getActions(inputPath)) {
+                bindings.add(Pair.of(action, inputPath));
+            }
+        }
+        return bindings;
+    }
+
+    /**
+     * Flattens the current chord layers into the profile format.
+     */
+    public DefaultBindingManager.AdvancedBindings toAdvancedBindings() {
+        Map<ChordKey, Set<String>> chords = new LinkedHashMap<>(baseChords);
+        chords.putAll(current().chordChanges());
+
+        DefaultBindingManager.AdvancedBindings advanced = new DefaultBindingManager.AdvancedBindings();
+        advanced.gestures = new ArrayList<>(baseAdvanced.gestures);
+        advanced.longPressTicks = baseAdvanced.longPressTicks;
+        advanced.doubleTapTicks = baseAdvanced.doubleTapTicks;
+        advanced.directionZones = baseAdvanced.directionZones;
+        for (Map.Entry<ChordKey, Set<String>> chord : chords.entrySet()) {
+            for (String action : chord.getValue()) {
+                advanced.chords.add(new DefaultBindingManager.ChordEntry(chord.getKey().modifier(), chord.getKey().inputPath(), action));
+            }
+        }
+        return advanced;
+    }
+
+    /**
+     * Saves all staged changes at once and reloads the OpenXR bindings a single time.
+     * The committed state becomes the new base, the undo history is cleared.
+     */
+    public void commit() {
+        if (!isDirty()) return;
+
+        List<Pair<String, String>> bindings = toBindings();
+        DefaultBindingManager.AdvancedBindings advanced = toAdvancedBindings();
+        // Unchanged chords are left as they are, so a profile keeps inheriting them from its base
+        DefaultBindingManager.getInstance().saveBindingsForProfile(profilePath, bindings, isChordsDirty() ? advanced : null);
+        reset(bindings, advanced);
+        RequestModClient.logInfo("Committed " + bindings.size() + " bindings for " + profilePath);
+
+        if (ClientDataHolderVR.getInstance().vr instanceof MCOpenXRReload reloadable) {
+            reloadable.reloadXRBindings();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package dev.therealflo.client;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.Collection;
+
+/**
+ * 64-bit content hashes for profile files and binding sets.
+ * Used as cache keys, so they only need to be stable and well distributed, not cryptographic.
+ */
+public final class BindingHash {
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private BindingHash() {}
+
+    /**
+     * Hashes a string (e.g. the JSON content of a profile file) with FNV-1a.
+     */
+    public static long of(CharSequence text) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Hashes a binding set independently of its iteration order.
+     */
+    public static long of(Collection<Pair<String, String>> bindings) {
+        long sum = 0;
+        long xor = 0;
+        for (Pair<String, String> binding : bindings) {
+            long h = mix(of(binding.getLeft()) * 31 + of(binding.getRight()));
+            sum += h;
+            xor ^= h;
+        }
+        return combine(combine(sum, xor), bindings.size());
+    }
+
+    /**
+     * Combines two hashes in order, e.g. to build a key from the hashes of several layers.
+     */
+    public static long combine(long hash, long next) {
+        return mix(hash * FNV_PRIME + next);
+    }
+
+    /**
+     * Finalizer from SplitMix64, spreads low entropy inputs over all bits.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
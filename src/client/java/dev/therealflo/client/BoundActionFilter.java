@@ -0,0 +1,79 @@
+package dev.therealflo.client;
+
+/**
+ * Per-frame filter that lets Vivecraft skip processing actions with no binding in the active profile.
+ * Keeps a bitset over {@link ActionIdTable} ids, rebuilt only when {@link BoundActionIndex} finished a new load.
+ * Must only be used from the render thread.
+ */
+public class BoundActionFilter {
+    private static volatile BoundActionFilter instance;
+    private long[] bound = new long[0];
+    private int builtSize;
+    private int builtGeneration = -1;
+
+    // Counters since the last reset, for diagnostics
+    private long processedCount;
+    private long skippedCount;
+
+    private BoundActionFilter() {}
+
+    public static BoundActionFilter getInstance() {
+        if (instance == null) {
+            synchronized (BoundActionFilter.class) {
+                if (instance == null) {
+                    instance = new BoundActionFilter();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Checks if an action with the given id should be processed this frame.
+     * Actions without an id, and everything before the first binding load, are always processed.
+     */
+    public boolean shouldProcess(int actionId) {
+        BoundActionIndex index = BoundActionIndex.getInstance();
+        if (!index.isReady() || actionId < 0) {
+            processedCount++;
+            return true;
+        }
+        if (builtGeneration != index.getGeneration()) {
+            rebuild(index);
+        }
+
+        // Actions registered after the last rebuild are unknown, process them
+        if (actionId >= builtSize || (bound[actionId >>> 6] & (1L << actionId)) != 0) {
+            processedCount++;
+            return true;
+        }
+        skippedCount++;
+        return false;
+    }
+
+    private void rebuild(BoundActionIndex index) {
+        ActionIdTable ids = ActionIdTable.getInstance();
+        int size = ids.size();
+        long[] bits = new long[(size + 63) >>> 6];
+
+        for (int id = 0; id < size; id++) {
+            String name = ids.getName(id);
+            // Global actions drive Vivecraft's own menus, never skip them
+            if (index.isBound(name) || name.startsWith("/actions/global/")) {
+                bits[id >>> 6] |= 1L << id;
+            }
+        }
+
+        this.bound = bits;
+        this.builtSize = size;
+        this.builtGeneration = index.getGeneration();
+    }
+
+    public long getProcessedCount() {
+        return processedCount;
+    }
+
+    public long getSkippedCount() {
+        return skippedCount;
+    }
+}
@@ -0,0 +1,83 @@
+package dev.therealflo.client;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Tracks which actions have a binding in the profiles handed to Vivecraft by the last binding load.
+ * Rebuilt every time MCOpenXR.loadDefaultBindings() runs.
+ */
+public class BoundActionIndex {
+    private static volatile BoundActionIndex instance;
+    private final Set<String> loading = new HashSet<>();
+    private volatile Set<String> boundActions = Set.of();
+    private volatile int generation;
+
+    private BoundActionIndex() {}
+
+    public static BoundActionIndex getInstance() {
+        if (instance == null) {
+            synchronized (BoundActionIndex.class) {
+                if (instance == null) {
+                    instance = new BoundActionIndex();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Starts collecting the bindings of a new load.
+     */
+    public synchronized void beginLoad() {
+        loading.clear();
+    }
+
+    /**
+     * Adds the bindings suggested for one interaction profile.
+     */
+    public synchronized void addBindings(Collection<Pair<String, String>> bindings) {
+        for (Pair<String, String> binding : bindings) {
+            loading.add(binding.getLeft());
+        }
+    }
+
+    /**
+     * Publishes the collected bindings, called once all profiles of a load were added.
+     */
+    public synchronized void endLoad() {
+        boundActions = Set.copyOf(loading);
+        generation++;
+    }
+
+    /**
+     * Checks if an action had a binding in any profile of the last load.
+     */
+    public boolean isBound(String actionName) {
+        return boundActions.contains(actionName);
+    }
+
+    /**
+     * Checks if a load has completed yet, before that nothing is known to be bound.
+     */
+    public boolean isReady() {
+        return generation > 0;
+    }
+
+    /**
+     * Gets the number of actions bound by the last load.
+     */
+    public int size() {
+        return boundActions.size();
+    }
+
+    /**
+     * Incremented every time a load completes.
+     */
+    public int getGeneration() {
+        return generation;
+    }
+}
@@ -14,6 +14,10 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 /**
@@ -26,30 +30,61 @@ public class DefaultBindingManager {
     private static final String BINDINGS_DIR = "interaction_profiles";
     private static final String CONFIG_DIR = "config";
     private static final String CONFIG_FILE = "rebound_settings.json";
+    private static final String LOCK_FILE = ".rebound.lock";
+    // How often the generation written by other game instances is checked at most
+    private static final long GENERATION_CHECK_INTERVAL = 1_000_000_000L;
+    // Journal appends are synced to the disk together once per interval
+    private static final long JOURNAL_SYNC_INTERVAL_MS = 1000;
+    // A journal is compacted into its profile file once it had no appends for this long
+    private static final long JOURNAL_COMPACT_DELAY = 30_000_000_000L;
+    // Edits after which the next save rewrites the profile file instead of appending
+    private static final int MAX_JOURNAL_EDITS = 64;
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
 
-    // Unified profile groups - controllers that share the same bindings
-    private static final Map<String, String> UNIFIED_PROFILES = Map.of(
-            "/interaction_profiles/oculus/touch_controller", "/interaction_profiles/oculus/touch_controller",
-            "/interaction_profiles/bytedance/pico4_controller", "/interaction_profiles/oculus/touch_controller",
-            "/interaction_profiles/bytedance/pico_neo3_controller", "/interaction_profiles/oculus/touch_controller"
-    );
-
     private static volatile DefaultBindingManager instance;
     private final Path bindingsDirectory;
     private final Path configDirectory;
     private final Object lock = new Object();
+    // Shared with other game instances using the same directory
+    private final ProfileStore store;
+    // Store generation the caches were last checked against, MIN_VALUE before the first check
+    private long seenGeneration = Long.MIN_VALUE;
+    private long lastGenerationCheck;
+    // Incremented whenever the saved bindings or the profile selection may have changed
+    private volatile int bindingsGeneration;
+    // Incremented whenever the switch rules may have changed, including by editing the config on disk
+    private int switchRulesGeneration;
+    // Loaded once on first access, kept in sync by saveConfig()
+    private ConfigData config;
+    private ProfileStore.FileStamp configStamp;
+    // Parsed profile files with their content hash, kept in sync by saveProfileToFile()
+    private final Map<Path, ProfileLayer> layerCache = new HashMap<>();
+    // Flattened profiles, valid as long as the hashes of all their layers are unchanged
+    private final Map<Path, ResolvedProfile> resolvedCache = new HashMap<>();
+    // Profile files known not to exist, so repeated lookups of missing custom profiles stay in memory
+    private final Set<Path> missingProfiles = new HashSet<>();
+    // Profile selected by a switch rule, takes precedence over the configured active profile
+    private volatile String profileOverride;
+    // Edits of profiles are appended here instead of rewriting the profile files
+    private final ProfileJournal journal = new ProfileJournal();
+    // Profile files with a journal waiting for compaction, with the time of the last append
+    private final Map<Path, Long> journaledProfiles = new HashMap<>();
+    // Syncs and compacts the journals, started with the first journal
+    private ScheduledExecutorService journalExecutor;
 
     private DefaultBindingManager() {
         this.bindingsDirectory = Paths.get(BINDINGS_DIR);
         this.configDirectory = Paths.get(CONFIG_DIR);
+        this.store = new ProfileStore(bindingsDirectory.resolve(LOCK_FILE));
     }
 
     public static DefaultBindingManager getInstance() {
         if (instance == null) {
             synchronized (DefaultBindingManager.class) {
                 if (instance == null) {
+                    long start = StartupProfiler.start();
                     instance = new DefaultBindingManager();
+                    StartupProfiler.end("binding_manager.first_access", start);
                 }
             }
         }
@@ -57,23 +92,147 @@ public class DefaultBindingManager {
     }
 
     /**
-     * Container class for a single profile's binding data
+     * Container class for a single profile's binding data.
+     * A profile either lists all its bindings, or names a base profile ("default" or another custom profile)
+     * and only stores the per-input differences to it in "overlay".
      */
     public static class ProfileBindingsData {
+        public String base;
         public List<BindingEntry> bindings = new ArrayList<>();
+        public Map<String, InputDelta> overlay;
+        // Bindings that aren't plain action/input pairs, inherited from the base profile when null
+        public AdvancedBindings advanced;
 
         public ProfileBindingsData() {}
     }
 
+    /**
+     * Layered bindings evaluated by Rebound itself instead of OpenXR.
+     */
+    public static class AdvancedBindings {
+        public List<ChordEntry> chords = new ArrayList<>();
+        public List<GestureEntry> gestures = new ArrayList<>();
+        // Client ticks an input has to be held for a long press
+        public int longPressTicks = 8;
+        // Client ticks after a release in which a second press counts as double tap
+        public int doubleTapTicks = 5;
+        // Axis input path -> thresholds of its direction inputs, axes without an entry use the defaults
+        public Map<String, DirectionZone> directionZones = new HashMap<>();
+
+        public AdvancedBindings() {}
+
+        public DirectionZone getDirectionZone(String axisPath) {
+            DirectionZone zone = directionZones != null ? directionZones.get(axisPath) : null;
+            return zone != null ? zone : new DirectionZone();
+        }
+    }
+
+    /**
+     * Thresholds for the direction inputs of one axis.
+     * A direction activates once the axis is pushed past "deadzone" and releases below "deadzone - hysteresis".
+     */
+    public static class DirectionZone {
+        public float deadzone = 0.5f;
+        public float hysteresis = 0.15f;
+        // Number of radial sectors addressed by "sector_<n>", sector 0 is centered on up, counting clockwise
+        public int sectors = 8;
+
+        public DirectionZone() {}
+    }
+
+    /**
+     * Presses "action" when "inputPath" is pressed while "modifier" is held.
+     * The actions normally bound to "inputPath" are held back for that press.
+     */
+    public static class ChordEntry {
+        public String modifier;
+        public String inputPath;
+        public String action;
+
+        public ChordEntry() {}
+
+        public ChordEntry(String modifier, String inputPath, String action) {
+            this.modifier = modifier;
+            this.inputPath = inputPath;
+            this.action = action;
+        }
+    }
+
+    /**
+     * Actions added to and removed from a single input, relative to the base profile.
+     */
+    public static class InputDelta {
+        public List<String> add = new ArrayList<>();
+        public List<String> remove = new ArrayList<>();
+
+        public InputDelta() {}
+    }
+
+    /**
+     * Presses "action" on a gesture of "inputPath": "tap", "long_press" or "double_tap".
+     * The actions normally bound to "inputPath" are then only pressed by a tap without its own tap action.
+     */
+    public static class GestureEntry {
+        public String inputPath;
+        public String gesture;
+        public String action;
+
+        public GestureEntry() {}
+
+        public GestureEntry(String inputPath, String gesture, String action) {
+            this.inputPath = inputPath;
+            this.gesture = gesture;
+            this.action = action;
+        }
+    }
+
+    /**
+     * A parsed profile file with its journal applied, together with the hash of their content.
+     * The journal stamp is null if the profile has no journal, a torn journal has to be rewritten before appending.
+     */
+    record ProfileLayer(ProfileBindingsData data, long contentHash, ProfileStore.FileStamp stamp,
+                                ProfileStore.FileStamp journalStamp, int journalEdits, boolean journalTorn) {}
+
+    /**
+     * A flattened profile and the combined hash of the layers it was built from.
+     */
+    record ResolvedProfile(long layersHash, List<Pair<String, String>> bindings, AdvancedBindings advanced) {}
+
 
     /**
      * Container class for the config file that tracks active profiles
      */
     public static class ConfigData {
+        // Normalized interaction profile -> active profile name
+        public Map<String, String> activeProfiles;
+        // Legacy single profile/active pair, migrated into activeProfiles on load
         public BindingsConfig bindings;
+        // Rules that pick a custom profile based on the current context
+        public List<SwitchRule> switchRules;
+        // Don't create OpenXR actions that have no binding in the loaded profiles
+        public boolean pruneUnboundActions = false;
 
         public ConfigData() {
-            this.bindings = new BindingsConfig();
+            this.activeProfiles = new HashMap<>();
+            this.switchRules = new ArrayList<>();
+        }
+
+        /**
+         * Activates "profile" while the trigger matches.
+         * Triggers: "screen", "dimension", "server" and "item_tag".
+         */
+        public static class SwitchRule {
+            public String trigger;
+            public String match;
+            public String profile;
+
+            public SwitchRule() {}
+
+            public SwitchRule(String trigger, String match, String profile) {
+                this.trigger = trigger;
+                this.match = match;
+                this.profile = profile;
+            }
         }
 
         public static class BindingsConfig {
@@ -131,10 +290,11 @@ public class DefaultBindingManager {
 
     /**
      * Normalizes an interaction profile path to its unified profile.
-     * Quest 2, Pico 4, and Pico Neo 3 all map to the Oculus Touch controller profile.
+     * Quest 2, Pico 4, and Pico Neo 3 all map to the Oculus Touch controller profile,
+     * see {@link ProfileAliasGraph} for the full alias table.
      */
     private String normalizeProfile(String interactionProfilePath) {
-        return UNIFIED_PROFILES.getOrDefault(interactionProfilePath, interactionProfilePath);
+        return ProfileAliasGraph.getInstance().getStorageProfile(interactionProfilePath);
     }
 
     /**
@@ -167,14 +327,15 @@ public class DefaultBindingManager {
         synchronized (lock) {
             Path configFile = getConfigFilePath();
 
-            if (!Files.exists(configFile)) {
+            configStamp = ProfileStore.FileStamp.of(configFile);
+            if (configStamp == null) {
                 return new ConfigData();
             }
 
             try {
                 String json = Files.readString(configFile);
                 ConfigData config = GSON.fromJson(json, ConfigData.class);
-                return config != null ? config : new ConfigData();
+                return config != null ? migrateConfig(config) : new ConfigData();
             } catch (IOException e) {
                 LOGGER.error("Failed to load config from file", e);
                 return new ConfigData();
@@ -182,25 +343,159 @@ public class DefaultBindingManager {
         }
     }
 
+    /**
+     * Moves the legacy single profile/active pair into the per-headset map.
+     */
+    private ConfigData migrateConfig(ConfigData config) {
+        if (config.activeProfiles == null) {
+            config.activeProfiles = new HashMap<>();
+        }
+        if (config.switchRules == null) {
+            config.switchRules = new ArrayList<>();
+        }
+
+        if (config.bindings != null) {
+            if (config.bindings.profile != null && config.bindings.active != null) {
+                config.activeProfiles.putIfAbsent(normalizeProfile(config.bindings.profile), config.bindings.active);
+            }
+            config.bindings = null;
+        }
+        return config;
+    }
+
+    /**
+     * Gets the in-memory config, loading it from file on first access.
+     */
+    private ConfigData getConfig() {
+        synchronized (lock) {
+            checkGeneration();
+            if (config == null) {
+                long start = StartupProfiler.start();
+                config = loadConfig();
+                StartupProfiler.end("binding_manager.config_load", start);
+            }
+            return config;
+        }
+    }
+
     /**
      * Saves the config data to file.
      */
     private void saveConfig(ConfigData config) {
         synchronized (lock) {
-            try {
-                Path configFile = getConfigFilePath();
-                // Create parent directories if they don't exist
-                Files.createDirectories(configFile.getParent());
-
-                String json = GSON.toJson(config);
-                Files.writeString(configFile, json);
+            this.config = config;
+            bindingsGeneration++;
+            Path configFile = getConfigFilePath();
+            ProfileStore.FileStamp stamp = writeJsonFile(configFile, config);
+            configStamp = stamp;
+            if (stamp != null) {
                 LOGGER.info("Saved config to {}", configFile.toAbsolutePath());
-            } catch (IOException e) {
-                LOGGER.error("Failed to save config to file", e);
             }
         }
     }
 
+    /**
+     * Writes an object as JSON, creating parent directories if needed.
+     * Shared by the config and profile files, returns null if the write failed.
+     */
+    private ProfileStore.FileStamp writeJsonFile(Path file, Object data) {
+        return writeFile(file, GSON.toJson(data));
+    }
+
+    /**
+     * Replaces a file while holding the store lock, so other game instances never see it half written.
+     * Returns the stamp of the written file, or null if the write failed.
+     */
+    private ProfileStore.FileStamp writeFile(Path file, String content) {
+        try {
+            ProfileStore.Result<ProfileStore.FileStamp> result = store.update(() -> {
+                ProfileStore.replace(file, content);
+                return ProfileStore.FileStamp.of(file);
+            });
+            onStoreUpdated(result.previousGeneration());
+            return result.value();
+        } catch (IOException e) {
+            LOGGER.error("Failed to write {}", file.toAbsolutePath(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Keeps the seen generation current after our own write, unless another instance wrote in between.
+     */
+    private void onStoreUpdated(long previousGeneration) {
+        if (previousGeneration == seenGeneration) {
+            seenGeneration = previousGeneration + 1;
+        }
+    }
+
+    /**
+     * Drops cached files that another game instance changed since the last check.
+     * Only the generation is read as long as nothing changed, otherwise the cached files are checked
+     * by their stamps and only the changed ones are read again on their next use.
+     */
+    private void checkGeneration() {
+        long now = System.nanoTime();
+        if (seenGeneration != Long.MIN_VALUE && now - lastGenerationCheck < GENERATION_CHECK_INTERVAL) {
+            return;
+        }
+        lastGenerationCheck = now;
+
+        long generation = store.readGeneration();
+        if (generation == seenGeneration && generation >= 0) {
+            return;
+        }
+        boolean firstCheck = seenGeneration == Long.MIN_VALUE;
+        seenGeneration = generation;
+        if (firstCheck) {
+            return;
+        }
+
+        int cached = layerCache.size();
+        int dropped = dropStaleFiles();
+        LOGGER.info("Profile store changed on disk, dropped {} of {} cached profiles", dropped, cached);
+    }
+
+    /**
+     * Checks every cached file against its stamp, so files edited or added by hand are read on their next use.
+     * Called at the start of every binding load: the store generation only changes with writes of the mod itself,
+     * so it is only enough for the lookups in between.
+     */
+    public void revalidate() {
+        synchronized (lock) {
+            lastGenerationCheck = System.nanoTime();
+            seenGeneration = store.readGeneration();
+            int dropped = dropStaleFiles();
+            if (dropped > 0) {
+                LOGGER.info("Dropped {} cached profiles changed on disk", dropped);
+            }
+        }
+    }
+
+    /**
+     * Drops the cached profiles and the config if their files changed, and forgets which profiles were missing.
+     * Returns the number of dropped profiles.
+     */
+    private int dropStaleFiles() {
+        int cached = layerCache.size();
+        layerCache.entrySet().removeIf(entry -> isStale(entry.getKey(), entry.getValue()));
+        missingProfiles.clear();
+        if (config != null && !ProfileStore.FileStamp.matches(configStamp, getConfigFilePath())) {
+            config = null;
+            switchRulesGeneration++;
+        }
+        bindingsGeneration++;
+        return cached - layerCache.size();
+    }
+
+    /**
+     * Checks if a profile file or its journal changed since the layer was read.
+     */
+    private static boolean isStale(Path profileFile, ProfileLayer layer) {
+        return !ProfileStore.FileStamp.matches(layer.stamp(), profileFile) ||
+                !Objects.equals(layer.journalStamp(), ProfileStore.FileStamp.of(ProfileJournal.fileOf(profileFile)));
+    }
+
     /**
      * Gets the currently active profile name for the given interaction profile path.
      * Returns "default" if no custom profile is set.
@@ -209,15 +504,117 @@ public class DefaultBindingManager {
         synchronized (lock) {
             // Normalize the profile first
             String normalizedProfile = normalizeProfile(interactionProfilePath);
-            
-            ConfigData config = loadConfig();
+            return getConfig().activeProfiles.getOrDefault(normalizedProfile, "default");
+        }
+    }
+
+    /**
+     * Gets the profile that should be loaded for the given interaction profile path.
+     * This is the switch rule override if one is set, otherwise the configured active profile.
+     */
+    public String getEffectiveProfile(String interactionProfilePath) {
+        String override = profileOverride;
+        return override != null ? override : getActiveProfile(interactionProfilePath);
+    }
+
+    /**
+     * Sets a profile that takes precedence over the configured active profile without saving it.
+     * Pass null to go back to the configured active profile.
+     */
+    public void setProfileOverride(String profileName) {
+        synchronized (lock) {
+            if (!Objects.equals(profileOverride, profileName)) {
+                this.profileOverride = profileName;
+                bindingsGeneration++;
+            }
+        }
+    }
+
+    /**
+     * Gets a counter that changes whenever the saved bindings or the selected profiles may have changed,
+     * including changes made by other game instances. Lets callers keep state derived from the bindings
+     * without comparing the bindings themselves.
+     */
+    public int getBindingsGeneration() {
+        synchronized (lock) {
+            checkGeneration();
+            return bindingsGeneration;
+        }
+    }
+
+    /**
+     * Gets the profile path of a custom profile for the given interaction profile path.
+     * Example: ("/interaction_profiles/bytedance/pico4_controller", "combat") -> "/interaction_profiles/oculus/touch_controller/combat"
+     */
+    public String getCustomProfilePath(String interactionProfilePath, String profileName) {
+        return normalizeProfile(interactionProfilePath) + "/" + profileName;
+    }
 
-            if (config.bindings != null &&
-                    normalizedProfile.equals(config.bindings.profile)) {
-                return config.bindings.active != null ? config.bindings.active : "default";
+    /**
+     * Gets the profile path whose bindings are loaded for the given interaction profile:
+     * the effective custom profile if it exists, the interaction profile itself otherwise.
+     */
+    public String getEffectiveProfilePath(String interactionProfilePath) {
+        synchronized (lock) {
+            String activeProfile = getEffectiveProfile(interactionProfilePath);
+            if (!"default".equals(activeProfile)) {
+                String customProfilePath = getCustomProfilePath(interactionProfilePath, activeProfile);
+                if (loadDefaultBindings(customProfilePath) != null) {
+                    return customProfilePath;
+                }
             }
+            return interactionProfilePath;
+        }
+    }
+
+    /**
+     * Checks if actions without a binding should be left out of the OpenXR action sets.
+     */
+    public boolean isPruneUnboundActions() {
+        synchronized (lock) {
+            return getConfig().pruneUnboundActions;
+        }
+    }
+
+    /**
+     * Gets the switch rules from the config.
+     */
+    public List<ConfigData.SwitchRule> getSwitchRules() {
+        synchronized (lock) {
+            return List.copyOf(getConfig().switchRules);
+        }
+    }
+
+    /**
+     * Gets a counter that changes whenever the switch rules may have changed, so they can be compiled again.
+     */
+    public int getSwitchRulesGeneration() {
+        synchronized (lock) {
+            checkGeneration();
+            return switchRulesGeneration;
+        }
+    }
 
-            return "default";
+    /**
+     * Replaces the switch rules in the config.
+     */
+    public void setSwitchRules(List<ConfigData.SwitchRule> rules) {
+        synchronized (lock) {
+            ConfigData config = getConfig();
+            config.switchRules = new ArrayList<>(rules);
+            saveConfig(config);
+            switchRulesGeneration++;
+        }
+    }
+
+    /**
+     * Loads the given profiles into memory so switching to them later needs no disk access.
+     */
+    public void preloadProfiles(Collection<String> profilePaths) {
+        synchronized (lock) {
+            for (String profilePath : profilePaths) {
+                loadDefaultBindings(profilePath);
+            }
         }
     }
 
@@ -230,8 +627,12 @@ public class DefaultBindingManager {
             // Normalize the profile first
             String normalizedProfile = normalizeProfile(interactionProfilePath);
             
-            ConfigData config = loadConfig();
-            config.bindings = new ConfigData.BindingsConfig(normalizedProfile, activeProfile);
+            ConfigData config = getConfig();
+            if ("default".equals(activeProfile)) {
+                config.activeProfiles.remove(normalizedProfile);
+            } else {
+                config.activeProfiles.put(normalizedProfile, activeProfile);
+            }
             saveConfig(config);
             LOGGER.info("Set active profile for {} (normalized to {}) to {}", 
                 interactionProfilePath, normalizedProfile, activeProfile);
@@ -239,11 +640,12 @@ public class DefaultBindingManager {
     }
 
     /**
-     * Clears the active profile configuration, resetting to default.
+     * Clears the active profile configuration of every headset, resetting to default.
      */
     public void clearActiveProfile() {
         synchronized (lock) {
-            ConfigData config = new ConfigData();
+            ConfigData config = getConfig();
+            config.activeProfiles.clear();
             saveConfig(config);
             LOGGER.info("Cleared active profile configuration");
         }
@@ -279,56 +681,414 @@ public class DefaultBindingManager {
     }
 
     /**
-     * Saves a profile's bindings to its JSON file.
+     * Saves a profile's bindings to its JSON file, replacing its journal.
      */
     private void saveProfileToFile(Path profileFile, ProfileBindingsData profileData) {
+        bindingsGeneration++;
+        String json = GSON.toJson(profileData);
+        Path journalFile = ProfileJournal.fileOf(profileFile);
+        ProfileStore.FileStamp stamp = null;
         try {
-            // Create parent directories if they don't exist
-            Files.createDirectories(profileFile.getParent());
-
-            String json = GSON.toJson(profileData);
-            Files.writeString(profileFile, json);
+            // A journal left from the old content would otherwise be applied on top of the new one
+            ProfileStore.Result<ProfileStore.FileStamp> result = store.update(() -> {
+                ProfileStore.replace(profileFile, json);
+                Files.deleteIfExists(journalFile);
+                return ProfileStore.FileStamp.of(profileFile);
+            });
+            onStoreUpdated(result.previousGeneration());
+            stamp = result.value();
+        } catch (IOException e) {
+            LOGGER.error("Failed to write {}", profileFile.toAbsolutePath(), e);
+        }
+        journaledProfiles.remove(profileFile);
+        layerCache.put(profileFile, new ProfileLayer(profileData, BindingHash.of(json), stamp, null, 0, false));
+        missingProfiles.remove(profileFile);
+        if (stamp != null) {
             LOGGER.info("Saved bindings to {}", profileFile.toAbsolutePath());
+        }
+    }
+
+    /**
+     * Saves an updated profile as an edit appended to its journal, so saving costs as much as the change
+     * instead of the whole profile. Falls back to writing the whole file if the update can't be appended.
+     */
+    private void saveProfileEdit(Path profileFile, ProfileLayer existing, ProfileBindingsData profileData) {
+        ProfileJournal.Edit edit = existing != null && existing.stamp() != null && !existing.journalTorn()
+                && existing.journalEdits() < MAX_JOURNAL_EDITS ? ProfileJournal.diff(existing.data(), profileData) : null;
+        if (edit == null) {
+            saveProfileToFile(profileFile, profileData);
+            return;
+        }
+        if (edit.isEmpty()) {
+            return;
+        }
+
+        bindingsGeneration++;
+        Path journalFile = ProfileJournal.fileOf(profileFile);
+        try {
+            ProfileStore.Result<ProfileLayer> result = store.update(() -> {
+                long lineHash = journal.append(journalFile, edit);
+                return new ProfileLayer(profileData, BindingHash.combine(existing.contentHash(), lineHash), existing.stamp(),
+                        ProfileStore.FileStamp.of(journalFile), existing.journalEdits() + 1, false);
+            });
+            onStoreUpdated(result.previousGeneration());
+            layerCache.put(profileFile, result.value());
+            journaledProfiles.put(profileFile, System.nanoTime());
+            startJournalTasks();
+        } catch (IOException e) {
+            LOGGER.error("Failed to append to {}, writing the whole profile", journalFile.toAbsolutePath(), e);
+            saveProfileToFile(profileFile, profileData);
+        }
+    }
+
+    private void startJournalTasks() {
+        if (journalExecutor != null) return;
+        journalExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Rebound profile journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        journalExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                journal.sync();
+                compactJournals(false);
+            } catch (RuntimeException e) {
+                LOGGER.error("Profile journal task failed", e);
+            }
+        }, JOURNAL_SYNC_INTERVAL_MS, JOURNAL_SYNC_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Compacts the journals without appends for {@link #JOURNAL_COMPACT_DELAY}, or all of them.
+     */
+    private void compactJournals(boolean all) {
+        synchronized (lock) {
+            if (journaledProfiles.isEmpty()) return;
+            long now = System.nanoTime();
+            List<Path> due = new ArrayList<>();
+            journaledProfiles.forEach((profileFile, lastAppend) -> {
+                if (all || now - lastAppend >= JOURNAL_COMPACT_DELAY) {
+                    due.add(profileFile);
+                }
+            });
+            for (Path profileFile : due) {
+                compactJournal(profileFile);
+            }
+        }
+    }
+
+    /**
+     * Writes a profile with its journal applied back into the profile file and deletes the journal.
+     * The profile file is synced before the journal is deleted; if the delete doesn't happen, replaying the
+     * journal over the compacted file gives the same result.
+     */
+    private void compactJournal(Path profileFile) {
+        journaledProfiles.remove(profileFile);
+        Path journalFile = ProfileJournal.fileOf(profileFile);
+        try {
+            ProfileStore.Result<ProfileLayer> result = store.update(() -> {
+                // Read again under the store lock, another game instance may have appended since
+                ProfileLayer current = readLayer(profileFile, ProfileStore.FileStamp.of(profileFile));
+                if (current == null || current.journalStamp() == null) return current;
+
+                String json = GSON.toJson(current.data());
+                ProfileStore.replace(profileFile, json, true);
+                Files.delete(journalFile);
+                return new ProfileLayer(current.data(), BindingHash.of(json), ProfileStore.FileStamp.of(profileFile),
+                        null, 0, false);
+            });
+            onStoreUpdated(result.previousGeneration());
+
+            ProfileLayer compacted = result.value();
+            if (compacted != null) {
+                // Edits appended by another instance since our last read are part of the compacted profile
+                ProfileLayer cached = layerCache.put(profileFile, compacted);
+                if (cached != null && !isSameContent(cached, compacted)) {
+                    bindingsGeneration++;
+                }
+                LOGGER.info("Compacted the journal of {}", profileFile.toAbsolutePath());
+            }
         } catch (IOException e) {
-            LOGGER.error("Failed to save bindings to file", e);
+            LOGGER.error("Failed to compact {}, retrying later", journalFile.toAbsolutePath(), e);
+            journaledProfiles.put(profileFile, System.nanoTime());
+        }
+    }
+
+    private static boolean isSameContent(ProfileLayer a, ProfileLayer b) {
+        return GSON.toJson(a.data()).equals(GSON.toJson(b.data()));
+    }
+
+    /**
+     * Syncs all profile journals and compacts them into their profile files, called when the game closes.
+     */
+    public void closeJournals() {
+        journal.sync();
+        compactJournals(true);
+    }
+
+    /**
+     * Gets the parsed content of a profile file, reading it only if it isn't cached yet.
+     * Returns null if the file doesn't exist or can't be read.
+     */
+    private ProfileLayer getLayer(Path profileFile) {
+        ProfileLayer layer = layerCache.get(profileFile);
+        if (layer != null || missingProfiles.contains(profileFile)) {
+            ReboundStats.getInstance().countLayer(true);
+            return layer;
+        }
+        ReboundStats.getInstance().countLayer(false);
+
+        // Taken before reading, a replace in between leaves a stale stamp and the file is read again later
+        ProfileStore.FileStamp stamp = ProfileStore.FileStamp.of(profileFile);
+        if (stamp == null) {
+            missingProfiles.add(profileFile);
+            return null;
+        }
+
+        layer = readLayer(profileFile, stamp);
+        if (layer != null) {
+            layerCache.put(profileFile, layer);
+            // Journals left by a crash or another instance are compacted after a while
+            if (layer.journalStamp() != null && !journaledProfiles.containsKey(profileFile)) {
+                journaledProfiles.put(profileFile, System.nanoTime());
+                startJournalTasks();
+            }
+        }
+        return layer;
+    }
+
+    /**
+     * Reads a profile file and applies its journal. Returns null if the file doesn't exist or can't be read.
+     */
+    static ProfileLayer readLayer(Path profileFile, ProfileStore.FileStamp stamp) {
+        if (stamp == null) {
+            return null;
+        }
+
+        try {
+            String json = Files.readString(profileFile);
+            Type type = new TypeToken<ProfileBindingsData>(){}.getType();
+            ProfileBindingsData profileData = GSON.fromJson(json, type);
+
+            if (profileData == null || (profileData.base == null && profileData.bindings == null)) {
+                LOGGER.error("Profile file {} contains no bindings", profileFile.toAbsolutePath());
+                return null;
+            }
+
+            Path journalFile = ProfileJournal.fileOf(profileFile);
+            ProfileJournal.Replay replay = ProfileJournal.read(journalFile, BindingHash.of(json));
+            if (replay == null) {
+                return new ProfileLayer(profileData, BindingHash.of(json), stamp, null, 0, false);
+            }
+            for (ProfileJournal.Edit edit : replay.edits()) {
+                ProfileJournal.apply(profileData, edit);
+            }
+            if (replay.torn()) {
+                LOGGER.warn("Journal {} ends in a torn edit, applied the {} edits before it",
+                        journalFile.toAbsolutePath(), replay.edits().size());
+            }
+            return new ProfileLayer(profileData, replay.hash(), stamp, replay.stamp(), replay.edits().size(), replay.torn());
+        } catch (Exception e) {
+            LOGGER.error("Failed to read profile file {}", profileFile.toAbsolutePath(), e);
+            return null;
         }
     }
 
+    /**
+     * Gets the file of the profile a layer builds on.
+     * "default" is the headset's default profile, any other name is a sibling custom profile.
+     */
+    static Path getBaseFilePath(Path profileFile, String base) {
+        Path directory = profileFile.getParent();
+        if ("default".equals(base)) {
+            return directory.resolveSibling(directory.getFileName() + ".json");
+        }
+        return directory.resolve(base + ".json");
+    }
+
+    /**
+     * Flattens a profile and all profiles it builds on into a single binding list.
+     * The result is cached and reused as long as no layer of the chain changed.
+     */
+    private ResolvedProfile resolveProfile(Path profileFile) {
+        checkGeneration();
+
+        List<ProfileLayer> chain = collectChain(profileFile, this::getLayer);
+        if (chain.isEmpty()) return null;
+        long layersHash = 0;
+        for (ProfileLayer layer : chain) {
+            layersHash = BindingHash.combine(layersHash, layer.contentHash());
+        }
+
+        ResolvedProfile resolved = resolvedCache.get(profileFile);
+        if (resolved != null && resolved.layersHash() == layersHash) {
+            ReboundStats.getInstance().countResolved(true);
+            return resolved;
+        }
+        ReboundStats.getInstance().countResolved(false);
+
+        ResolvedProfile result = flatten(layersHash, chain);
+        resolvedCache.put(profileFile, result);
+        return result;
+    }
+
+    /**
+     * Collects the layers of a profile and the profiles it builds on, starting at the profile itself.
+     * Returns an empty list if the profile doesn't exist.
+     *
+     * @param layers gets the layer of a profile file, null if it doesn't exist
+     */
+    static List<ProfileLayer> collectChain(Path profileFile, Function<Path, ProfileLayer> layers) {
+        List<ProfileLayer> chain = new ArrayList<>();
+        Set<Path> visited = new HashSet<>();
+        Path current = profileFile;
+
+        while (true) {
+            if (!visited.add(current)) {
+                LOGGER.error("Profile {} inherits from itself, ignoring its base", profileFile.toAbsolutePath());
+                break;
+            }
+
+            ProfileLayer layer = layers.apply(current);
+            if (layer == null) {
+                if (!chain.isEmpty()) {
+                    LOGGER.warn("Base profile {} not found, resolving {} without it", current.toAbsolutePath(), profileFile.toAbsolutePath());
+                }
+                break;
+            }
+
+            chain.add(layer);
+            if (layer.data().base == null) break;
+            current = getBaseFilePath(current, layer.data().base);
+        }
+        return chain;
+    }
+
+    /**
+     * Applies the layers of a chain from {@link #collectChain} starting at the root.
+     */
+    static ResolvedProfile flatten(long layersHash, List<ProfileLayer> chain) {
+        Set<Pair<String, String>> bindings = new LinkedHashSet<>();
+        AdvancedBindings advanced = null;
+        for (int i = chain.size() - 1; i >= 0; i--) {
+            ProfileBindingsData data = chain.get(i).data();
+
+            // The closest layer that defines advanced bindings wins
+            if (data.advanced != null) {
+                advanced = data.advanced;
+            }
+
+            if (data.base == null && data.bindings != null) {
+                for (BindingEntry entry : data.bindings) {
+                    bindings.add(entry.toPair());
+                }
+            }
+
+            if (data.base != null && data.overlay != null) {
+                for (Map.Entry<String, InputDelta> delta : data.overlay.entrySet()) {
+                    String inputPath = delta.getKey();
+                    if (delta.getValue().remove != null) {
+                        for (String action : delta.getValue().remove) {
+                            bindings.remove(Pair.of(action, inputPath));
+                        }
+                    }
+                    if (delta.getValue().add != null) {
+                        for (String action : delta.getValue().add) {
+                            bindings.add(Pair.of(action, inputPath));
+                        }
+                    }
+                }
+            }
+        }
+
+        return new ResolvedProfile(layersHash, List.copyOf(bindings), advanced != null ? advanced : new AdvancedBindings());
+    }
+
+    /**
+     * Builds the per-input differences between two binding sets.
+     */
+    private static Map<String, InputDelta> diffBindings(Collection<Pair<String, String>> base,
+                                                        Collection<Pair<String, String>> target) {
+        Set<Pair<String, String>> baseSet = new HashSet<>(base);
+        Set<Pair<String, String>> targetSet = new LinkedHashSet<>(target);
+        Map<String, InputDelta> overlay = new TreeMap<>();
+
+        for (Pair<String, String> binding : targetSet) {
+            if (!baseSet.contains(binding)) {
+                overlay.computeIfAbsent(binding.getRight(), k -> new InputDelta()).add.add(binding.getLeft());
+            }
+        }
+        for (Pair<String, String> binding : base) {
+            if (!targetSet.contains(binding)) {
+                overlay.computeIfAbsent(binding.getRight(), k -> new InputDelta()).remove.add(binding.getLeft());
+            }
+        }
+        return overlay;
+    }
+
     /**
      * Loads VR controller bindings from file if it exists.
      * Returns the saved bindings for the specified headset profile, or null if not found.
+     * Layered profiles are flattened; files are only read once, later calls are answered from memory.
      */
     public Collection<Pair<String, String>> loadDefaultBindings(String headsetProfile) {
         synchronized (lock) {
-        // Normalize the profile first
-        String normalizedProfile = normalizeProfile(headsetProfile);
-        Path profileFile = getProfileFilePath(normalizedProfile);
-        
-        if (!Files.exists(profileFile)) {
-            LOGGER.info("No saved VR controller bindings found for {} (normalized to {})", 
-                headsetProfile, normalizedProfile);
-            return null;
+            // Normalize the profile first
+            String normalizedProfile = normalizeProfile(headsetProfile);
+            Path profileFile = getProfileFilePath(normalizedProfile);
+
+            ResolvedProfile resolved = resolveProfile(profileFile);
+            if (resolved == null) {
+                LOGGER.info("No saved VR controller bindings found for {} (normalized to {})",
+                    headsetProfile, normalizedProfile);
+                return null;
+            }
+            return resolved.bindings();
         }
+    }
 
-            try {
-                String json = Files.readString(profileFile);
-                Type type = new TypeToken<ProfileBindingsData>(){}.getType();
-                ProfileBindingsData profileData = GSON.fromJson(json, type);
+    /**
+     * Loads the advanced bindings (chords and gestures) of a profile, including the ones inherited from its base.
+     * Returns an empty set if the profile has none or doesn't exist.
+     */
+    public AdvancedBindings loadAdvancedBindings(String headsetProfile) {
+        synchronized (lock) {
+            ResolvedProfile resolved = resolveProfile(getProfileFilePath(normalizeProfile(headsetProfile)));
+            return resolved != null ? resolved.advanced() : new AdvancedBindings();
+        }
+    }
 
-                if (profileData != null && profileData.bindings != null) {
-                    LOGGER.info("Loading {} saved VR controller bindings for {}", 
-                        profileData.bindings.size(), headsetProfile, normalizedProfile);
-                
-                return profileData.bindings.stream().map(BindingEntry::toPair).toList();
-            }
-        } catch (IOException e) {
-            LOGGER.error("Failed to load bindings from file for {} (normalized to {})", 
-                headsetProfile, normalizedProfile, e);
+    /**
+     * Gets a hash of the saved bindings of a profile, including all profiles it builds on.
+     * Returns 0 if the profile has no saved bindings.
+     */
+    public long getProfileHash(String headsetProfile) {
+        synchronized (lock) {
+            Collection<Pair<String, String>> bindings = loadDefaultBindings(headsetProfile);
+            return bindings != null ? BindingHash.of(bindings) : 0;
+        }
+    }
+
+    /**
+     * Gets a hash of the advanced bindings of a profile, including the ones inherited from its base.
+     * Returns 0 if the profile has no saved bindings.
+     */
+    public long getAdvancedBindingsHash(String headsetProfile) {
+        synchronized (lock) {
+            ResolvedProfile resolved = resolveProfile(getProfileFilePath(normalizeProfile(headsetProfile)));
+            if (resolved == null) return 0;
+
+            AdvancedBindings advanced = resolved.advanced();
+            AdvancedBindings sorted = new AdvancedBindings();
+            sorted.chords = advanced.chords;
+            sorted.gestures = advanced.gestures;
+            sorted.longPressTicks = advanced.longPressTicks;
+            sorted.doubleTapTicks = advanced.doubleTapTicks;
+            // Sorted, equal zones in hash maps of different sizes can iterate in a different order
+            sorted.directionZones = advanced.directionZones != null ? new TreeMap<>(advanced.directionZones) : null;
+            return BindingHash.of(GSON.toJson(sorted));
         }
-        
-        return null;
     }
-}
 
 /**
  * Checks if we have saved VR controller bindings for the given headset profile.
@@ -342,12 +1102,46 @@ public boolean hasSavedBindings(String headsetProfile) {
     }
 }
 
+    /**
+     * Sizes of the in-memory profile caches.
+     *
+     * @param resolvedBindings bindings held by all resolved profiles together
+     */
+    public record CacheSizes(int layers, int resolvedProfiles, int resolvedBindings, int journals) {}
+
+    public CacheSizes getCacheSizes() {
+        synchronized (lock) {
+            int bindings = 0;
+            for (ResolvedProfile resolved : resolvedCache.values()) {
+                bindings += resolved.bindings().size();
+            }
+            return new CacheSizes(layerCache.size(), resolvedCache.size(), bindings, journaledProfiles.size());
+        }
+    }
+
     /**
      * Gets all available VR controller binding profiles.
      */
     public Set<String> getAvailableProfiles() {
+        Set<String> profiles = new HashSet<>();
+        for (ProfileFile profile : listProfileFiles()) {
+            profiles.add(profile.profilePath());
+        }
+        return profiles;
+    }
+
+    /**
+     * A saved profile and its file.
+     */
+    record ProfileFile(String profilePath, Path file) {}
+
+    /**
+     * Lists the files of all saved profiles of OpenXR interaction profiles.
+     * The entries saved for OpenVR controller types, e.g. "/oculus_touch", aren't profiles and are left out.
+     */
+    List<ProfileFile> listProfileFiles() {
         synchronized (lock) {
-            Set<String> profiles = new HashSet<>();
+            List<ProfileFile> profiles = new ArrayList<>();
 
             if (!Files.exists(bindingsDirectory)) {
                 return profiles;
@@ -356,10 +1150,9 @@ public boolean hasSavedBindings(String headsetProfile) {
             try (Stream<Path> paths = Files.walk(bindingsDirectory)) {
                 paths.filter(Files::isRegularFile)
                      .filter(path -> path.toString().endsWith(".json"))
-                     .forEach(path -> {
-                         String profilePath = filePathToProfilePath(path);
-                         profiles.add(profilePath);
-                     });
+                     .map(path -> new ProfileFile(filePathToProfilePath(path), path))
+                     .filter(profile -> profile.profilePath().startsWith("/interaction_profiles/"))
+                     .forEach(profiles::add);
             } catch (IOException e) {
                 LOGGER.error("Failed to list available profiles", e);
             }
@@ -368,24 +1161,117 @@ public boolean hasSavedBindings(String headsetProfile) {
         }
     }
 
+    /**
+     * Copies a profile into a new custom profile of the same interaction profile.
+     * A profile that builds on a base is copied as it is stored, so the copy builds on the same base
+     * and keeps following its changes. Pass "default" as profile name to copy the headset's default bindings.
+     * Returns the path of the copy, or null if the profile doesn't exist, the new name is invalid or taken.
+     */
+    public String duplicateProfile(String interactionProfilePath, String profileName, String newName) {
+        synchronized (lock) {
+            checkGeneration();
+            String profilePath = "default".equals(profileName) ? interactionProfilePath :
+                    getCustomProfilePath(interactionProfilePath, profileName);
+            String copyPath = getCustomProfilePath(interactionProfilePath, newName);
+            Path profileFile = getProfileFilePath(profilePath);
+            Path copyFile = getProfileFilePath(copyPath);
+            ProfileLayer layer = getLayer(profileFile);
+            if (!isValidProfileName(newName) || layer == null || resolveProfile(profileFile) == null
+                    || Files.exists(copyFile)) {
+                LOGGER.warn("Can't copy profile {} to {}", profilePath, copyPath);
+                return null;
+            }
+
+            // Deep copy, the layer's data is shared with the cache
+            ProfileBindingsData profileData = GSON.fromJson(GSON.toJson(layer.data()), ProfileBindingsData.class);
+            if (profileData.base != null) {
+                profileData.bindings = null;
+            }
+            saveProfileToFile(copyFile, profileData);
+            LOGGER.info("Copied profile {} to {}", profilePath, copyPath);
+            return copyPath;
+        }
+    }
+
+    /**
+     * Deletes a custom profile and its journal. If it was active, the headset goes back to its default profile.
+     * Profiles that build on it are kept from losing their base: the profile isn't deleted while they exist.
+     * Returns false if the profile wasn't deleted.
+     */
+    public boolean deleteProfile(String interactionProfilePath, String profileName) {
+        if ("default".equals(profileName)) return false;
+
+        synchronized (lock) {
+            checkGeneration();
+            Path profileFile = getProfileFilePath(getCustomProfilePath(interactionProfilePath, profileName));
+            try (Stream<Path> siblings = Files.list(profileFile.getParent())) {
+                for (Path sibling : (Iterable<Path>) siblings::iterator) {
+                    if (sibling.equals(profileFile) || !sibling.toString().endsWith(".json")) continue;
+                    ProfileLayer layer = getLayer(sibling);
+                    if (layer != null && profileName.equals(layer.data().base)) {
+                        LOGGER.warn("Can't delete profile {}, {} builds on it", profileName, sibling.getFileName());
+                        return false;
+                    }
+                }
+            } catch (IOException e) {
+                LOGGER.error("Failed to delete profile {} of {}", profileName, interactionProfilePath, e);
+                return false;
+            }
+
+            Path journalFile = ProfileJournal.fileOf(profileFile);
+            try {
+                ProfileStore.Result<Boolean> result = store.update(() -> {
+                    Files.deleteIfExists(journalFile);
+                    return Files.deleteIfExists(profileFile);
+                });
+                onStoreUpdated(result.previousGeneration());
+                if (!result.value()) return false;
+            } catch (IOException e) {
+                LOGGER.error("Failed to delete {}", profileFile.toAbsolutePath(), e);
+                return false;
+            }
+
+            bindingsGeneration++;
+            layerCache.remove(profileFile);
+            resolvedCache.remove(profileFile);
+            journaledProfiles.remove(profileFile);
+            missingProfiles.add(profileFile);
+            if (profileName.equals(getActiveProfile(interactionProfilePath))) {
+                setActiveProfile(interactionProfilePath, "default");
+            }
+            LOGGER.info("Deleted profile {} of {}", profileName, interactionProfilePath);
+            return true;
+        }
+    }
+
     /**
      * Clears all saved bindings.
      */
     public void clearSavedBindings() {
         synchronized (lock) {
+            layerCache.clear();
+            resolvedCache.clear();
+            missingProfiles.clear();
+            journaledProfiles.clear();
             try {
                 if (Files.exists(bindingsDirectory)) {
-                    // Delete all files in the directory recursively
-                    try (Stream<Path> paths = Files.walk(bindingsDirectory)) {
-                        paths.sorted(Comparator.reverseOrder())
-                             .forEach(path -> {
-                                 try {
-                                     Files.delete(path);
-                                 } catch (IOException e) {
-                                     LOGGER.error("Failed to delete {}", path, e);
-                                 }
-                             });
-                    }
+                    // Delete all files in the directory recursively, except the lock file and the directory holding it
+                    ProfileStore.Result<Void> result = store.update(() -> {
+                        try (Stream<Path> paths = Files.walk(bindingsDirectory)) {
+                            paths.sorted(Comparator.reverseOrder())
+                                 .filter(path -> !store.isLockFile(path) && !path.equals(bindingsDirectory))
+                                 .forEach(path -> {
+                                     try {
+                                         Files.delete(path);
+                                     } catch (IOException e) {
+                                         LOGGER.error("Failed to delete {}", path, e);
+                                     }
+                                 });
+                        }
+                        return null;
+                    });
+                    onStoreUpdated(result.previousGeneration());
+                    bindingsGeneration++;
                     LOGGER.info("Cleared all saved bindings");
                 }
             } catch (IOException e) {
@@ -396,21 +1282,168 @@ public boolean hasSavedBindings(String headsetProfile) {
 
     /**
      * Saves VR controller bindings for a specific profile.
+     * Profiles that build on a base profile are saved as differences to it.
      */
     public void saveBindingsForProfile(String headsetProfile, Collection<Pair<String, String>> bindings) {
+        saveBindingsForProfile(headsetProfile, bindings, null);
+    }
+
+    /**
+     * Saves VR controller bindings and advanced bindings for a specific profile.
+     * Pass null as advanced to keep the ones the profile already has.
+     */
+    public void saveBindingsForProfile(String headsetProfile, Collection<Pair<String, String>> bindings,
+                                       AdvancedBindings advanced) {
         synchronized (lock) {
             // Normalize the profile first
             String normalizedProfile = normalizeProfile(headsetProfile);
             Path profileFile = getProfileFilePath(normalizedProfile);
 
+            checkGeneration();
             ProfileBindingsData profileData = new ProfileBindingsData();
-            for (Pair<String, String> binding : bindings) {
-                profileData.bindings.add(BindingEntry.fromPair(binding));
+            ProfileLayer existing = getLayer(profileFile);
+            ResolvedProfile baseProfile = existing != null && existing.data().base != null ?
+                resolveProfile(getBaseFilePath(profileFile, existing.data().base)) : null;
+            List<Pair<String, String>> baseBindings = baseProfile != null ? baseProfile.bindings() : null;
+            profileData.advanced = advanced != null ? advanced : existing != null ? existing.data().advanced : null;
+
+            if (baseBindings != null) {
+                profileData.base = existing.data().base;
+                profileData.bindings = null;
+                profileData.overlay = diffBindings(baseBindings, bindings);
+            } else {
+                for (Pair<String, String> binding : bindings) {
+                    profileData.bindings.add(BindingEntry.fromPair(binding));
+                }
             }
             
-            saveProfileToFile(profileFile, profileData);
+            saveProfileEdit(profileFile, existing, profileData);
             LOGGER.info("Saved {} VR controller bindings for {} (normalized to {})", 
-                profileData.bindings.size(), headsetProfile, normalizedProfile);
+                bindings.size(), headsetProfile, normalizedProfile);
+        }
+    }
+
+    /**
+     * Checks if a name can be used for a custom profile: letters, digits, '_' and '-', at most 64 characters.
+     * Keeps names from reaching outside the profile directory and from clashing with "default".
+     */
+    public static boolean isValidProfileName(String profileName) {
+        return profileName != null && !"default".equals(profileName) && profileName.matches("[A-Za-z0-9_-]{1,64}");
+    }
+
+    /**
+     * Checks if a path from outside the mod, e.g. a share code, names an interaction profile:
+     * one Vivecraft supports, or "/interaction_profiles/vendor/device" with plain segments.
+     */
+    public static boolean isValidInteractionProfile(String interactionProfilePath) {
+        return interactionProfilePath != null && (XRBindings.supportedHeadsets().contains(interactionProfilePath)
+                || interactionProfilePath.matches("/interaction_profiles/[A-Za-z0-9_-]+/[A-Za-z0-9_-]+"));
+    }
+
+    /**
+     * Creates an empty custom profile that inherits everything from a base profile.
+     * Pass "default" as base to build on the headset's default bindings.
+     * Returns false if the name is invalid or taken.
+     */
+    public boolean createCustomProfile(String interactionProfilePath, String profileName, String base) {
+        synchronized (lock) {
+            Path profileFile = getProfileFilePath(getCustomProfilePath(interactionProfilePath, profileName));
+            if (!isValidProfileName(profileName) || Files.exists(profileFile)) {
+                LOGGER.warn("Can't create profile {} for {}", profileName, interactionProfilePath);
+                return false;
+            }
+
+            ProfileBindingsData profileData = new ProfileBindingsData();
+            profileData.base = base;
+            profileData.bindings = null;
+            profileData.overlay = new TreeMap<>();
+
+            saveProfileToFile(profileFile, profileData);
+            LOGGER.info("Created custom profile {} for {} based on {}", profileName, interactionProfilePath, base);
+            return true;
+        }
+    }
+
+    /**
+     * Creates a custom profile on top of the profile currently loaded for the interaction profile and activates it.
+     * It only stores the changes made to it later, everything else is inherited.
+     * The profile is named "profile" followed by the first free number. Returns its name.
+     */
+    public String createProfileFromEffective(String interactionProfilePath) {
+        synchronized (lock) {
+            String effectivePath = getEffectiveProfilePath(interactionProfilePath);
+            String base = effectivePath.equals(interactionProfilePath) ? "default" :
+                    effectivePath.substring(effectivePath.lastIndexOf('/') + 1);
+
+            int number = 1;
+            while (Files.exists(getProfileFilePath(getCustomProfilePath(interactionProfilePath, "profile" + number)))) {
+                number++;
+            }
+            String profileName = "profile" + number;
+            createCustomProfile(interactionProfilePath, profileName, base);
+            setActiveProfile(interactionProfilePath, profileName);
+            return profileName;
+        }
+    }
+
+    /**
+     * Encodes a profile into a share code, see {@link ProfileShareCode}.
+     * Pass "default" as profile name to share the headset's default bindings.
+     * Returns null if the profile doesn't exist.
+     */
+    public String exportProfile(String interactionProfilePath, String profileName) {
+        synchronized (lock) {
+            String profilePath = "default".equals(profileName) ? interactionProfilePath :
+                    getCustomProfilePath(interactionProfilePath, profileName);
+            ResolvedProfile resolved = resolveProfile(getProfileFilePath(profilePath));
+            if (resolved == null) {
+                LOGGER.warn("Can't export missing profile {}", profilePath);
+                return null;
+            }
+            return ProfileShareCode.encode(normalizeProfile(interactionProfilePath), resolved.bindings(), resolved.advanced());
+        }
+    }
+
+    /**
+     * Imports a share code as a custom profile of the interaction profile it was made for.
+     * Returns the path of the created profile, or null if the code or the name is invalid or the name is taken.
+     */
+    public String importProfile(String code, String profileName) {
+        ProfileShareCode.Decoded decoded;
+        try {
+            decoded = ProfileShareCode.decode(code);
+        } catch (IllegalArgumentException e) {
+            LOGGER.error("Failed to import share code: {}", e.getMessage());
+            return null;
+        }
+        if (!isValidInteractionProfile(decoded.interactionProfile()) || !isValidProfileName(profileName)) {
+            LOGGER.error("Can't import share code for {} as profile {}", decoded.interactionProfile(), profileName);
+            return null;
+        }
+
+        synchronized (lock) {
+            String profilePath = getCustomProfilePath(decoded.interactionProfile(), profileName);
+            Path profileFile = getProfileFilePath(profilePath);
+            // The checks above should already keep the file in the bindings directory, don't rely on the alias table
+            if (!profileFile.normalize().startsWith(bindingsDirectory.normalize())) {
+                LOGGER.error("Can't import share code, {} is outside the bindings directory", profileFile);
+                return null;
+            }
+            if (Files.exists(profileFile)) {
+                LOGGER.warn("Can't import share code, profile {} already exists", profilePath);
+                return null;
+            }
+
+            ProfileBindingsData profileData = new ProfileBindingsData();
+            for (Pair<String, String> binding : decoded.bindings()) {
+                profileData.bindings.add(BindingEntry.fromPair(binding));
+            }
+            profileData.advanced = decoded.advanced();
+
+            saveProfileToFile(profileFile, profileData);
+            LOGGER.info("Imported {} bindings as profile {} for {}", decoded.bindings().size(), profileName,
+                    decoded.interactionProfile());
+            return profilePath;
         }
     }
 
@@ -426,7 +1459,6 @@ public boolean hasSavedBindings(String headsetProfile) {
      * Checks if the given interaction profile is part of a unified group.
      */
     public boolean isUnifiedProfile(String interactionProfilePath) {
-        return UNIFIED_PROFILES.containsKey(interactionProfilePath) &&
-           !interactionProfilePath.equals(UNIFIED_PROFILES.get(interactionProfilePath));
+        return ProfileAliasGraph.getInstance().isShared(interactionProfilePath);
     }
 }
\ No newline at end of file
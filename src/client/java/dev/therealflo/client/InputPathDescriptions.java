@@ -1,6 +1,8 @@
 package dev.therealflo.client;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -26,6 +28,12 @@ public class InputPathDescriptions {
         }
     }
     
+    // Virtual inputs for the directions of an axis, e.g. "/user/hand/right/input/thumbstick/dir/up".
+    // They are evaluated by Rebound and never suggested to OpenXR.
+    public static final String DIRECTION_SEGMENT = "/dir/";
+    public static final List<String> CARDINAL_DIRECTIONS = List.of("up", "down", "left", "right");
+    public static final String SECTOR_PREFIX = "sector_";
+
     // Quest 2 / Pico 4 / Pico Neo 3 (Oculus Touch Controller) input paths
     private static final Map<String, InputDescription> QUEST_INPUTS = new LinkedHashMap<>();
     
@@ -143,6 +151,17 @@ public class InputPathDescriptions {
      */
     public static InputDescription getDescription(String interactionProfilePath, String inputPath) {
         Map<String, InputDescription> inputs = getInputsForProfile(interactionProfilePath);
+        if (isDirectionInput(inputPath)) {
+            InputDescription axis = inputs.get(getAxisPath(inputPath));
+            if (axis != null) {
+                String direction = getDirection(inputPath);
+                String name = direction.startsWith(SECTOR_PREFIX) ?
+                        "Sector " + direction.substring(SECTOR_PREFIX.length()) :
+                        Character.toUpperCase(direction.charAt(0)) + direction.substring(1);
+                return new InputDescription(inputPath, axis.hand, axis.displayName + " " + name,
+                        axis.description + ", pushed " + direction.replace('_', ' '));
+            }
+        }
         return inputs.getOrDefault(inputPath, 
             new InputDescription(inputPath, "Unknown", inputPath, "Unknown input"));
     }
@@ -165,9 +184,42 @@ public class InputPathDescriptions {
      * Checks if an input path is an axis (thumbstick/trackpad) vs a button
      */
     public static boolean isAxisInput(String inputPath) {
+        if (isDirectionInput(inputPath)) return false;
         return inputPath.contains("/thumbstick") && !inputPath.contains("/click") ||
                inputPath.contains("/trackpad") && !inputPath.contains("/click");
     }
+
+    /**
+     * Checks if an input path is a virtual direction of an axis
+     */
+    public static boolean isDirectionInput(String inputPath) {
+        return inputPath.contains(DIRECTION_SEGMENT);
+    }
+
+    /**
+     * Gets the axis a direction input belongs to, e.g. ".../thumbstick/dir/up" -> ".../thumbstick"
+     */
+    public static String getAxisPath(String directionPath) {
+        return directionPath.substring(0, directionPath.indexOf(DIRECTION_SEGMENT));
+    }
+
+    /**
+     * Gets the direction of a direction input: "up", "down", "left", "right" or "sector_&lt;n&gt;"
+     */
+    public static String getDirection(String directionPath) {
+        return directionPath.substring(directionPath.indexOf(DIRECTION_SEGMENT) + DIRECTION_SEGMENT.length());
+    }
+
+    /**
+     * Gets the up/down/left/right direction inputs of an axis
+     */
+    public static List<String> getCardinalDirectionInputs(String axisPath) {
+        List<String> inputs = new ArrayList<>(CARDINAL_DIRECTIONS.size());
+        for (String direction : CARDINAL_DIRECTIONS) {
+            inputs.add(axisPath + DIRECTION_SEGMENT + direction);
+        }
+        return inputs;
+    }
     
     /**
      * Gets all inputs grouped by hand
@@ -0,0 +1,154 @@
+package dev.therealflo.client;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks input paths against the paths the OpenXR spec allows for an interaction profile, so a profile with
+ * an input of another controller doesn't make the whole suggest call for its headset fail.
+ * All known paths are interned into ids once and every profile is a bitset of its ids,
+ * so a check is a map lookup and a bit test.
+ */
+public final class InputPathValidator {
+    public enum Status {
+        VALID,
+        // The path is an input of another controller
+        UNSUPPORTED,
+        // Not in any table, e.g. an input of an OpenXR extension, passed to OpenXR as it is
+        UNKNOWN
+    }
+
+    private static final String[] POSES = {"grip/pose", "aim/pose"};
+
+    private static final Map<String, Integer> PATH_IDS = new HashMap<>();
+    private static final Map<String, long[]> VALID_PATHS = new HashMap<>();
+
+    static {
+        Map<String, List<String>> tables = new HashMap<>();
+        table(tables, "/interaction_profiles/khr/simple_controller",
+                new String[0], new String[0],
+                new String[]{"select/click", "menu/click"});
+        table(tables, "/interaction_profiles/oculus/touch_controller",
+                new String[]{"x/click", "x/touch", "y/click", "y/touch", "menu/click"},
+                new String[]{"a/click", "a/touch", "b/click", "b/touch", "system/click"},
+                new String[]{"squeeze/value", "trigger/value", "trigger/touch", "thumbstick/x", "thumbstick/y",
+                        "thumbstick/click", "thumbstick/touch", "thumbrest/touch"});
+        table(tables, "/interaction_profiles/htc/vive_controller",
+                new String[0], new String[0],
+                new String[]{"system/click", "squeeze/click", "menu/click", "trigger/click", "trigger/value",
+                        "trackpad/x", "trackpad/y", "trackpad/click", "trackpad/touch"});
+        table(tables, "/interaction_profiles/htc/vive_cosmos_controller",
+                new String[]{"x/click", "y/click", "menu/click"},
+                new String[]{"a/click", "b/click", "system/click"},
+                new String[]{"shoulder/click", "squeeze/click", "trigger/click", "trigger/value", "thumbstick/x",
+                        "thumbstick/y", "thumbstick/click", "thumbstick/touch"});
+        table(tables, "/interaction_profiles/valve/index_controller",
+                new String[0], new String[0],
+                new String[]{"system/click", "system/touch", "a/click", "a/touch", "b/click", "b/touch",
+                        "squeeze/value", "squeeze/force", "trigger/click", "trigger/value", "trigger/touch",
+                        "thumbstick/x", "thumbstick/y", "thumbstick/click", "thumbstick/touch",
+                        "trackpad/x", "trackpad/y", "trackpad/force", "trackpad/touch"});
+        String[] windowsMixedReality = {"menu/click", "squeeze/click", "trigger/value", "thumbstick/x", "thumbstick/y",
+                "thumbstick/click", "trackpad/x", "trackpad/y", "trackpad/click", "trackpad/touch"};
+        table(tables, "/interaction_profiles/microsoft/motion_controller",
+                new String[0], new String[0], windowsMixedReality);
+        table(tables, "/interaction_profiles/samsung/odyssey_controller",
+                new String[0], new String[0], windowsMixedReality);
+        String[] picoLeft = {"x/click", "x/touch", "y/click", "y/touch", "menu/click"};
+        String[] picoRight = {"a/click", "a/touch", "b/click", "b/touch"};
+        String[] pico = {"system/click", "trigger/click", "trigger/value", "trigger/touch", "thumbstick/x",
+                "thumbstick/y", "thumbstick/click", "thumbstick/touch", "squeeze/click", "squeeze/value"};
+        table(tables, "/interaction_profiles/bytedance/pico4_controller", picoLeft, picoRight, pico);
+        table(tables, "/interaction_profiles/bytedance/pico_neo3_controller", picoLeft, picoRight, pico);
+
+        // Both hands of every input are known, so e.g. an X button on the right hand is unsupported rather than unknown
+        for (List<String> paths : tables.values()) {
+            for (String path : paths) {
+                PATH_IDS.putIfAbsent(path, PATH_IDS.size());
+                String mirrored = path.startsWith("/user/hand/left/") ?
+                        "/user/hand/right/" + path.substring("/user/hand/left/".length()) :
+                        "/user/hand/left/" + path.substring("/user/hand/right/".length());
+                PATH_IDS.putIfAbsent(mirrored, PATH_IDS.size());
+            }
+        }
+        for (Map.Entry<String, List<String>> table : tables.entrySet()) {
+            long[] bits = new long[(PATH_IDS.size() + 63) >>> 6];
+            for (String path : table.getValue()) {
+                int id = PATH_IDS.get(path);
+                bits[id >>> 6] |= 1L << id;
+            }
+            VALID_PATHS.put(table.getKey(), bits);
+        }
+    }
+
+    private InputPathValidator() {}
+
+    /**
+     * Adds the paths of an interaction profile: every input with and without its component, the poses and the haptics.
+     */
+    private static void table(Map<String, List<String>> tables, String interactionProfile,
+                              String[] left, String[] right, String[] both) {
+        List<String> paths = new ArrayList<>();
+        for (String hand : new String[]{"left", "right"}) {
+            String prefix = "/user/hand/" + hand;
+            for (String[] inputs : new String[][]{hand.equals("left") ? left : right, both, POSES}) {
+                for (String input : inputs) {
+                    paths.add(prefix + "/input/" + input.substring(0, input.indexOf('/')));
+                    paths.add(prefix + "/input/" + input);
+                }
+            }
+            paths.add(prefix + "/output/haptic");
+        }
+        tables.put(interactionProfile, paths);
+    }
+
+    /**
+     * Checks if there is a table for an interaction profile, the inputs of other profiles aren't checked.
+     */
+    public static boolean isKnownProfile(String interactionProfile) {
+        return VALID_PATHS.containsKey(interactionProfile);
+    }
+
+    /**
+     * Checks an input path of an interaction profile. Direction inputs are checked by their axis.
+     * Returns {@link Status#VALID} for profiles without a table.
+     */
+    public static Status check(String interactionProfile, String inputPath) {
+        long[] valid = VALID_PATHS.get(interactionProfile);
+        if (valid == null) return Status.VALID;
+
+        String path = InputPathDescriptions.isDirectionInput(inputPath) ? InputPathDescriptions.getAxisPath(inputPath) : inputPath;
+        Integer id = PATH_IDS.get(path);
+        if (id == null) return Status.UNKNOWN;
+        return (valid[id >>> 6] & 1L << id) != 0 ? Status.VALID : Status.UNSUPPORTED;
+    }
+
+    public static boolean isSupported(String interactionProfile, String inputPath) {
+        return check(interactionProfile, inputPath) != Status.UNSUPPORTED;
+    }
+
+    /**
+     * Removes the bindings to inputs the interaction profile doesn't support.
+     *
+     * @return the removed bindings
+     */
+    public static List<Pair<String, String>> removeUnsupported(String interactionProfile, Collection<Pair<String, String>> bindings) {
+        List<Pair<String, String>> removed = new ArrayList<>();
+        if (!isKnownProfile(interactionProfile)) return removed;
+
+        for (Iterator<Pair<String, String>> iterator = bindings.iterator(); iterator.hasNext(); ) {
+            Pair<String, String> binding = iterator.next();
+            if (check(interactionProfile, binding.getRight()) == Status.UNSUPPORTED) {
+                iterator.remove();
+                removed.add(binding);
+            }
+        }
+        return removed;
+    }
+}
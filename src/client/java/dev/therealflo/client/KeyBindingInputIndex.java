@@ -0,0 +1,152 @@
+package dev.therealflo.client;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.vivecraft.client_vr.provider.control.VRInputAction;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Maps the translation key of a key binding to a short description of the VR inputs bound to its action,
+ * like "L Trigger, R A Button", for the key binds list.
+ * Keeps the bindings suggested for every headset by the last binding load and labels the ones of the interaction
+ * profile the runtime uses. Rebuilt once per binding load or profile change, so the list only does a map lookup per row.
+ */
+public class KeyBindingInputIndex {
+    // Inputs named in a label, further ones are only counted
+    private static final int MAX_INPUTS = 2;
+    // Time between two checks of the runtime's interaction profile while the key binds list is shown
+    private static final long PROFILE_CHECK_INTERVAL = 1_000_000_000L;
+
+    private static volatile KeyBindingInputIndex instance;
+    private final Map<String, List<Pair<String, String>>> loading = new HashMap<>();
+    private Map<String, List<Pair<String, String>>> suggested = Map.of();
+    private Map<String, VRInputAction> actionsByKeyBinding = Map.of();
+    // Gets the interaction profile the runtime uses, null while it hasn't picked one
+    private Supplier<String> profileSource;
+    private String interactionProfile;
+    private long lastProfileCheck;
+    private volatile Map<String, String> labels = Map.of();
+    private volatile int generation;
+
+    private KeyBindingInputIndex() {}
+
+    public static KeyBindingInputIndex getInstance() {
+        if (instance == null) {
+            synchronized (KeyBindingInputIndex.class) {
+                if (instance == null) {
+                    instance = new KeyBindingInputIndex();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Starts collecting the bindings of a new load.
+     */
+    public synchronized void beginLoad() {
+        loading.clear();
+    }
+
+    /**
+     * Adds the bindings suggested for one interaction profile.
+     */
+    public synchronized void addProfile(String interactionProfilePath, Collection<Pair<String, String>> bindings) {
+        loading.put(interactionProfilePath, List.copyOf(bindings));
+    }
+
+    /**
+     * Publishes the collected bindings and labels the ones of the runtime's interaction profile.
+     *
+     * @param actionsByKeyBinding the actions of key bindings by translation key
+     * @param profileSource       gets the interaction profile the runtime uses, null while it hasn't picked one
+     */
+    public synchronized void endLoad(Map<String, VRInputAction> actionsByKeyBinding, Supplier<String> profileSource) {
+        this.suggested = Map.copyOf(loading);
+        this.actionsByKeyBinding = actionsByKeyBinding;
+        this.profileSource = profileSource;
+        String current = profileSource.get();
+        if (current != null) {
+            interactionProfile = current;
+        }
+        lastProfileCheck = System.nanoTime();
+        rebuild();
+    }
+
+    /**
+     * Relabels if the runtime switched to another interaction profile, e.g. once it picked one after the session
+     * started. Checks at most once a second, called by the rows of the key binds list.
+     */
+    public synchronized void updateInteractionProfile() {
+        long now = System.nanoTime();
+        if (profileSource == null || now - lastProfileCheck < PROFILE_CHECK_INTERVAL) return;
+        lastProfileCheck = now;
+
+        String current = profileSource.get();
+        if (current != null && !current.equals(interactionProfile)) {
+            interactionProfile = current;
+            rebuild();
+        }
+    }
+
+    private void rebuild() {
+        List<Pair<String, String>> bindings = interactionProfile != null ? suggested.get(interactionProfile) : null;
+        Map<String, Set<String>> inputsByAction = new HashMap<>();
+        for (Pair<String, String> binding : bindings != null ? bindings : List.<Pair<String, String>>of()) {
+            inputsByAction.computeIfAbsent(binding.getLeft(), k -> new LinkedHashSet<>()).add(binding.getRight());
+        }
+
+        Map<String, String> built = new HashMap<>();
+        for (Map.Entry<String, VRInputAction> entry : actionsByKeyBinding.entrySet()) {
+            Set<String> inputs = inputsByAction.get(entry.getValue().name);
+            if (inputs != null) {
+                built.put(entry.getKey(), describe(interactionProfile, inputs));
+            }
+        }
+
+        labels = Map.copyOf(built);
+        generation++;
+    }
+
+    private static String describe(String interactionProfilePath, Set<String> inputs) {
+        List<String> names = new ArrayList<>();
+        for (String input : inputs) {
+            if (names.size() == MAX_INPUTS) {
+                names.add("+" + (inputs.size() - MAX_INPUTS));
+                break;
+            }
+            InputPathDescriptions.InputDescription description = InputPathDescriptions.getDescription(interactionProfilePath, input);
+            String hand = "Left".equals(description.hand) ? "L " : "Right".equals(description.hand) ? "R " : "";
+            names.add(hand + description.displayName);
+        }
+        return String.join(", ", names);
+    }
+
+    /**
+     * Gets the description of the VR inputs of a key binding, null if it has none.
+     */
+    public String getLabel(String translationKey) {
+        return labels.get(translationKey);
+    }
+
+    /**
+     * Gets the number of key bindings with a label.
+     */
+    public int size() {
+        return labels.size();
+    }
+
+    /**
+     * Incremented on every rebuild, lets rows cache their label until the next one.
+     */
+    public int getGeneration() {
+        return generation;
+    }
+}
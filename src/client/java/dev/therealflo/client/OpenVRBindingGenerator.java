@@ -0,0 +1,280 @@
+package dev.therealflo.client;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonWriter;
+import org.apache.commons.lang3.tuple.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vivecraft.client_vr.provider.openxr.XRBindings;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * Generates SteamVR binding files for OpenVR controllers from the Rebound profile of the matching OpenXR interaction profile.
+ * Files are streamed to openvr/input/rebound_&lt;controller&gt;.json and only rewritten when the profile hash changed.
+ * Poses, haptics and skeleton entries are copied from Vivecraft's own binding file for the controller.
+ * If the interaction profile was never saved, e.g. because the game only ran on SteamVR so far,
+ * Vivecraft's OpenXR defaults for it are saved first.
+ */
+public class OpenVRBindingGenerator {
+    private static final Logger LOGGER = LoggerFactory.getLogger("request");
+    private static final Path OUTPUT_DIR = Paths.get("openvr", "input");
+    private static final Path STATE_FILE = Paths.get("config", "rebound_cache", "openvr_bindings.json");
+    // Vivecraft's binding files in its jar, used until it extracted them to OUTPUT_DIR
+    private static final String VIVECRAFT_ASSETS = "/assets/vivecraft/input/";
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    // OpenVR controller type -> OpenXR interaction profile its bindings are generated from
+    private static final Map<String, String> CONTROLLER_PROFILES = Map.of(
+            "oculus_touch", "/interaction_profiles/oculus/touch_controller",
+            "vive_controller", "/interaction_profiles/htc/vive_controller",
+            "knuckles", "/interaction_profiles/valve/index_controller",
+            "holographic_controller", "/interaction_profiles/microsoft/motion_controller",
+            "vive_cosmos_controller", "/interaction_profiles/htc/vive_cosmos_controller"
+    );
+
+    // OpenXR input identifiers whose OpenVR name differs
+    private static final Map<String, String> COMPONENT_NAMES = Map.of(
+            "squeeze", "grip",
+            "thumbstick", "joystick",
+            "menu", "application_menu"
+    );
+
+    private static volatile OpenVRBindingGenerator instance;
+    private Map<String, Long> generatedHashes;
+
+    private OpenVRBindingGenerator() {}
+
+    public static OpenVRBindingGenerator getInstance() {
+        if (instance == null) {
+            synchronized (OpenVRBindingGenerator.class) {
+                if (instance == null) {
+                    instance = new OpenVRBindingGenerator();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Gets the OpenXR interaction profile the bindings of an OpenVR controller type are generated from.
+     */
+    public static String getInteractionProfile(String controllerType) {
+        return CONTROLLER_PROFILES.get(controllerType);
+    }
+
+    /**
+     * Gets the hash of the profile a controller's binding file is generated from, 0 if there is none.
+     */
+    public long getSourceHash(String controllerType) {
+        String interactionProfile = CONTROLLER_PROFILES.get(controllerType);
+        if (interactionProfile == null) return 0;
+
+        DefaultBindingManager manager = DefaultBindingManager.getInstance();
+        return manager.getProfileHash(manager.getEffectiveProfilePath(interactionProfile));
+    }
+
+    /**
+     * Generates the binding file for a controller type if its profile changed since the last run.
+     *
+     * @param controllerType  OpenVR controller type, e.g. "oculus_touch"
+     * @param vivecraftFile   name of Vivecraft's binding file for that controller, used for poses and haptics
+     * @param actionTypes     action name -> action type ("boolean", "vector1", "vector2")
+     * @return the binding_url to use, or null if there is no Rebound profile for this controller
+     */
+    public synchronized String generate(String controllerType, String vivecraftFile, Map<String, String> actionTypes) {
+        String interactionProfile = CONTROLLER_PROFILES.get(controllerType);
+        if (interactionProfile == null) return null;
+
+        DefaultBindingManager manager = DefaultBindingManager.getInstance();
+        JsonObject vivecraftBindings = readVivecraftBindings(vivecraftFile);
+        if (!manager.hasSavedBindings(interactionProfile)) {
+            // Saved the same way the first OpenXR launch would, so it doesn't matter which runtime came first
+            Collection<Pair<String, String>> defaults = XRBindings.getBinding(interactionProfile);
+            if (!defaults.isEmpty()) {
+                manager.saveDefaultBindingsIfNeeded(interactionProfile, defaults);
+            }
+        }
+        Collection<Pair<String, String>> bindings = manager.loadDefaultBindings(manager.getEffectiveProfilePath(interactionProfile));
+        if (bindings == null || bindings.isEmpty()) return null;
+
+        String fileName = "rebound_" + controllerType + ".json";
+        Path outputFile = OUTPUT_DIR.resolve(fileName);
+        long hash = BindingHash.combine(BindingHash.of(bindings), BindingHash.of(new TreeMap<>(actionTypes).toString()));
+
+        Map<String, Long> hashes = getGeneratedHashes();
+        Long previous = hashes.get(controllerType);
+        if (previous != null && previous == hash && Files.exists(outputFile)) {
+            return fileName;
+        }
+
+        try {
+            writeBindingFile(outputFile, controllerType, bindings, actionTypes, vivecraftBindings);
+        } catch (IOException e) {
+            LOGGER.error("Failed to generate OpenVR bindings for {}", controllerType, e);
+            return null;
+        }
+
+        hashes.put(controllerType, hash);
+        saveGeneratedHashes(hashes);
+        LOGGER.info("Generated OpenVR bindings for {} from {}", controllerType, interactionProfile);
+        return fileName;
+    }
+
+    /**
+     * Reads the "bindings" object of Vivecraft's binding file, or returns an empty object if it can't be read.
+     * Falls back to the file in Vivecraft's jar if it wasn't extracted yet.
+     */
+    private JsonObject readVivecraftBindings(String vivecraftFile) {
+        Path file = OUTPUT_DIR.resolve(vivecraftFile);
+        try {
+            String content;
+            if (Files.exists(file)) {
+                content = Files.readString(file);
+            } else {
+                try (InputStream stream = OpenVRBindingGenerator.class.getResourceAsStream(VIVECRAFT_ASSETS + vivecraftFile)) {
+                    if (stream == null) return new JsonObject();
+                    content = new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+                }
+            }
+            JsonObject root = JsonParser.parseString(content).getAsJsonObject();
+            return root.has("bindings") ? root.getAsJsonObject("bindings") : new JsonObject();
+        } catch (Exception e) {
+            LOGGER.warn("Failed to read Vivecraft bindings from {}, poses and haptics won't be copied", file, e);
+            return new JsonObject();
+        }
+    }
+
+    private void writeBindingFile(Path outputFile, String controllerType, Collection<Pair<String, String>> bindings,
+                                  Map<String, String> actionTypes, JsonObject vivecraftBindings) throws IOException {
+        // Group the bindings by action set
+        Map<String, List<Pair<String, String>>> bySet = new TreeMap<>();
+        for (Pair<String, String> binding : bindings) {
+            String action = binding.getLeft();
+            int setEnd = action.indexOf("/in/");
+            if (setEnd < 0 || !binding.getRight().contains("/input/") || binding.getRight().endsWith("/pose")
+                    || InputPathDescriptions.isDirectionInput(binding.getRight())) continue;
+            bySet.computeIfAbsent(action.substring(0, setEnd), k -> new ArrayList<>()).add(binding);
+        }
+        Set<String> actionSets = new TreeSet<>(bySet.keySet());
+        actionSets.addAll(vivecraftBindings.keySet());
+
+        Files.createDirectories(outputFile.getParent());
+        Path tempFile = outputFile.resolveSibling(outputFile.getFileName() + ".tmp");
+
+        try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8);
+             JsonWriter json = new JsonWriter(writer)) {
+            json.setIndent("  ");
+            json.beginObject();
+            json.name("action_manifest_version").value(0);
+            json.name("controller_type").value(controllerType);
+            json.name("name").value("Quest: Rebound " + controllerType);
+            json.name("description").value("Generated by Quest: Rebound");
+
+            json.name("bindings").beginObject();
+            for (String actionSet : actionSets) {
+                json.name(actionSet).beginObject();
+
+                json.name("sources").beginArray();
+                for (Pair<String, String> binding : bySet.getOrDefault(actionSet, List.of())) {
+                    writeSource(json, binding.getLeft(), binding.getRight(), actionTypes.getOrDefault(binding.getLeft(), "boolean"));
+                }
+                json.endArray();
+
+                // Poses, haptics and skeleton aren't part of Rebound profiles, keep Vivecraft's
+                JsonElement original = vivecraftBindings.get(actionSet);
+                if (original != null && original.isJsonObject()) {
+                    for (String key : List.of("poses", "haptics", "skeleton")) {
+                        if (original.getAsJsonObject().has(key)) {
+                            json.name(key);
+                            GSON.toJson(original.getAsJsonObject().get(key), json);
+                        }
+                    }
+                }
+                json.endObject();
+            }
+            json.endObject();
+            json.endObject();
+        }
+
+        Files.move(tempFile, outputFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Writes a single source entry, e.g. "/user/hand/right/input/a/click" -> path "/user/hand/right/input/a", mode "button", input "click".
+     */
+    private void writeSource(JsonWriter json, String action, String inputPath, String actionType) throws IOException {
+        int inputIndex = inputPath.indexOf("/input/");
+        String prefix = inputPath.substring(0, inputIndex + "/input/".length());
+        String[] parts = inputPath.substring(prefix.length()).split("/");
+        String component = COMPONENT_NAMES.getOrDefault(parts[0], parts[0]);
+        String subPath = parts.length > 1 ? parts[1] : "";
+
+        String mode;
+        String input;
+        switch (actionType) {
+            case "vector2" -> {
+                mode = component.equals("trackpad") ? "trackpad" : "joystick";
+                input = "position";
+            }
+            case "vector1" -> {
+                mode = "trigger";
+                input = "pull";
+            }
+            default -> {
+                mode = "button";
+                input = subPath.equals("touch") ? "touch" : "click";
+            }
+        }
+
+        json.beginObject();
+        json.name("path").value(prefix + component);
+        json.name("mode").value(mode);
+        json.name("inputs").beginObject();
+        json.name(input).beginObject();
+        json.name("output").value(action);
+        json.endObject();
+        json.endObject();
+        json.endObject();
+    }
+
+    private Map<String, Long> getGeneratedHashes() {
+        if (generatedHashes == null) {
+            generatedHashes = new HashMap<>();
+            if (Files.exists(STATE_FILE)) {
+                try {
+                    Map<String, Long> loaded = GSON.fromJson(Files.readString(STATE_FILE),
+                            new TypeToken<Map<String, Long>>(){}.getType());
+                    if (loaded != null) {
+                        generatedHashes.putAll(loaded);
+                    }
+                } catch (Exception e) {
+                    LOGGER.error("Failed to load generated OpenVR binding hashes", e);
+                }
+            }
+        }
+        return generatedHashes;
+    }
+
+    private void saveGeneratedHashes(Map<String, Long> hashes) {
+        try {
+            Files.createDirectories(STATE_FILE.getParent());
+            Files.writeString(STATE_FILE, GSON.toJson(hashes));
+        } catch (IOException e) {
+            LOGGER.error("Failed to save generated OpenVR binding hashes", e);
+        }
+    }
+}
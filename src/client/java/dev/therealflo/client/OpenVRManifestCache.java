@@ -0,0 +1,140 @@
+package dev.therealflo.client;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.resource.language.I18n;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vivecraft.client_vr.provider.control.VRInputAction;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Remembers the OpenVR default binding list and whether the action manifest on disk is up to date.
+ * Both are keyed by a hash of the registered actions, their localized names and the saved OpenVR bindings,
+ * so generateActionManifest can be skipped entirely when nothing changed since the last launch.
+ */
+public class OpenVRManifestCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger("request");
+    private static final Path CACHE_FILE = Paths.get("config", "rebound_cache", "openvr_manifest.json");
+    // Written by Vivecraft's MCOpenVR.generateActionManifest()
+    private static final Path MANIFEST_FILE = Paths.get("openvr", "input", "action_manifest.json");
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private static volatile OpenVRManifestCache instance;
+    private CacheData data;
+
+    private OpenVRManifestCache() {}
+
+    public static OpenVRManifestCache getInstance() {
+        if (instance == null) {
+            synchronized (OpenVRManifestCache.class) {
+                if (instance == null) {
+                    instance = new OpenVRManifestCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Container class for the cache file
+     */
+    public static class CacheData {
+        public long key;
+        public List<Map<String, Object>> defaults;
+
+        public CacheData() {}
+
+        public CacheData(long key, List<Map<String, Object>> defaults) {
+            this.key = key;
+            this.defaults = defaults;
+        }
+    }
+
+    /**
+     * Computes the cache key from the registered actions and the saved bindings of the given controller types,
+     * including the Rebound profiles their binding files are generated from.
+     * The manifest holds the action names in the game language, so the language and the names are part of the key.
+     */
+    public long computeKey(Collection<VRInputAction> actions, String[] controllerTypes) {
+        List<String> actionKeys = new ArrayList<>(actions.size());
+        for (VRInputAction action : actions) {
+            actionKeys.add(action.name + '|' + action.type + '|' + action.requirement + '|'
+                    + I18n.translate(action.keyBinding.getTranslationKey()));
+        }
+        // Map iteration order isn't stable between launches
+        Collections.sort(actionKeys);
+
+        long key = BindingHash.of(MinecraftClient.getInstance().getLanguageManager().getLanguage());
+        for (String actionKey : actionKeys) {
+            key = BindingHash.combine(key, BindingHash.of(actionKey));
+        }
+
+        DefaultBindingManager manager = DefaultBindingManager.getInstance();
+        for (String controllerType : controllerTypes) {
+            key = BindingHash.combine(key, manager.getProfileHash(controllerType));
+            key = BindingHash.combine(key, OpenVRBindingGenerator.getInstance().getSourceHash(controllerType));
+        }
+        return key;
+    }
+
+    private CacheData getData() {
+        synchronized (this) {
+            if (data == null) {
+                data = load();
+            }
+            return data;
+        }
+    }
+
+    private CacheData load() {
+        if (!Files.exists(CACHE_FILE)) {
+            return new CacheData();
+        }
+
+        try {
+            CacheData loaded = GSON.fromJson(Files.readString(CACHE_FILE), CacheData.class);
+            return loaded != null ? loaded : new CacheData();
+        } catch (Exception e) {
+            LOGGER.error("Failed to load OpenVR manifest cache", e);
+            return new CacheData();
+        }
+    }
+
+    /**
+     * Checks if the action manifest on disk was generated for the given key.
+     */
+    public boolean isManifestFresh(long key) {
+        CacheData cached = getData();
+        return cached.defaults != null && cached.key == key && Files.exists(MANIFEST_FILE);
+    }
+
+    /**
+     * Gets the cached default binding list for the given key, or null if it isn't cached.
+     */
+    public List<Map<String, Object>> getDefaults(long key) {
+        CacheData cached = getData();
+        return cached.defaults != null && cached.key == key ? cached.defaults : null;
+    }
+
+    /**
+     * Stores the default binding list after a manifest was generated with it.
+     */
+    public void store(long key, List<Map<String, Object>> defaults) {
+        synchronized (this) {
+            data = new CacheData(key, new ArrayList<>(defaults));
+            try {
+                Files.createDirectories(CACHE_FILE.getParent());
+                Files.writeString(CACHE_FILE, GSON.toJson(data));
+            } catch (IOException e) {
+                LOGGER.error("Failed to save OpenVR manifest cache", e);
+            }
+        }
+    }
+}
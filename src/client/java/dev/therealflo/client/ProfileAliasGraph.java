@@ -0,0 +1,318 @@
+package dev.therealflo.client;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.apache.commons.lang3.tuple.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Describes which interaction profiles emulate other interaction profiles.
+ * The graph is read once from config/rebound_aliases.json (written with the built-in defaults on first launch)
+ * and compiled into a flat lookup table, so every alias lookup is a single map probe.
+ * Adding a new headset is a data change in that file.
+ */
+public class ProfileAliasGraph {
+    private static final Logger LOGGER = LoggerFactory.getLogger("request");
+    private static final String CONFIG_DIR = "config";
+    private static final String ALIAS_FILE = "rebound_aliases.json";
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private static volatile ProfileAliasGraph instance;
+    private final Path aliasFile;
+    private final Map<String, CompiledAlias> compiled;
+    private final Map<String, HashSet<Pair<String, String>>> translatedBindings = new ConcurrentHashMap<>();
+
+    private ProfileAliasGraph() {
+        this.aliasFile = Paths.get(CONFIG_DIR).resolve(ALIAS_FILE);
+        this.compiled = compile(loadAliases());
+    }
+
+    public static ProfileAliasGraph getInstance() {
+        if (instance == null) {
+            synchronized (ProfileAliasGraph.class) {
+                if (instance == null) {
+                    instance = new ProfileAliasGraph();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Container class for the alias file
+     */
+    public static class AliasData {
+        public List<AliasEntry> aliases = new ArrayList<>();
+
+        public AliasData() {}
+    }
+
+    /**
+     * A single edge of the graph: "profile" emulates "emulates".
+     */
+    public static class AliasEntry {
+        public String profile;
+        public String emulates;
+        // Store bindings in the same file as the emulated profile
+        public boolean shareBindings = true;
+        // Use the (translated) Vivecraft defaults of the emulated profile instead of this profile's own
+        public boolean replaceDefaults = false;
+        // Add this profile to Vivecraft's supported headsets so bindings get suggested for it
+        public boolean suggest = false;
+        public List<PathRule> rules = new ArrayList<>();
+
+        public AliasEntry() {}
+
+        public AliasEntry(String profile, String emulates, boolean shareBindings, boolean replaceDefaults, boolean suggest) {
+            this.profile = profile;
+            this.emulates = emulates;
+            this.shareBindings = shareBindings;
+            this.replaceDefaults = replaceDefaults;
+            this.suggest = suggest;
+        }
+    }
+
+    /**
+     * Rewrites input paths of the emulated profile that start with "from" into "to".
+     * An empty "to" drops the binding.
+     */
+    public static class PathRule {
+        public String from;
+        public String to;
+
+        public PathRule() {}
+
+        public PathRule(String from, String to) {
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    /**
+     * Flattened form of an alias chain.
+     */
+    private static final class CompiledAlias {
+        final String storageProfile;
+        final String bindingSource;
+        final boolean replaceDefaults;
+        final boolean suggest;
+        // Rules in application order, starting at the binding source
+        final String[] ruleFrom;
+        final String[] ruleTo;
+        // Index of the first rule of each hop, ruleStart[hops] == ruleFrom.length
+        final int[] ruleStart;
+
+        CompiledAlias(String storageProfile, String bindingSource, boolean replaceDefaults, boolean suggest,
+                      String[] ruleFrom, String[] ruleTo, int[] ruleStart) {
+            this.storageProfile = storageProfile;
+            this.bindingSource = bindingSource;
+            this.replaceDefaults = replaceDefaults;
+            this.suggest = suggest;
+            this.ruleFrom = ruleFrom;
+            this.ruleTo = ruleTo;
+            this.ruleStart = ruleStart;
+        }
+    }
+
+    /**
+     * The aliases shipped with the mod.
+     * Quest 2, Pico 4 and Pico Neo 3 share the Oculus Touch controller bindings,
+     * Samsung Odyssey uses the Quest 2 layout as its defaults.
+     */
+    private static AliasData defaultAliases() {
+        AliasData data = new AliasData();
+        data.aliases.add(new AliasEntry("/interaction_profiles/bytedance/pico4_controller",
+                "/interaction_profiles/oculus/touch_controller", true, false, false));
+        data.aliases.add(new AliasEntry("/interaction_profiles/bytedance/pico_neo3_controller",
+                "/interaction_profiles/oculus/touch_controller", true, false, false));
+        data.aliases.add(new AliasEntry("/interaction_profiles/samsung/odyssey_controller",
+                "/interaction_profiles/oculus/touch_controller", false, true, true));
+        return data;
+    }
+
+    /**
+     * Loads the alias file, writing the defaults if it doesn't exist yet.
+     */
+    private AliasData loadAliases() {
+        if (!Files.exists(aliasFile)) {
+            AliasData defaults = defaultAliases();
+            try {
+                Files.createDirectories(aliasFile.getParent());
+                Files.writeString(aliasFile, GSON.toJson(defaults));
+                LOGGER.info("Saved default profile aliases to {}", aliasFile.toAbsolutePath());
+            } catch (IOException e) {
+                LOGGER.error("Failed to save default profile aliases", e);
+            }
+            return defaults;
+        }
+
+        try {
+            AliasData data = GSON.fromJson(Files.readString(aliasFile), AliasData.class);
+            if (data != null && data.aliases != null) {
+                return data;
+            }
+        } catch (Exception e) {
+            LOGGER.error("Failed to load profile aliases from {}, using defaults", aliasFile.toAbsolutePath(), e);
+        }
+        return defaultAliases();
+    }
+
+    /**
+     * Flattens every alias chain into a single table entry.
+     * Cycles and dangling entries are reported and skipped.
+     */
+    private static Map<String, CompiledAlias> compile(AliasData data) {
+        Map<String, AliasEntry> edges = new HashMap<>();
+        for (AliasEntry entry : data.aliases) {
+            if (entry == null || entry.profile == null || entry.emulates == null || entry.profile.equals(entry.emulates)) {
+                LOGGER.warn("Ignoring invalid profile alias entry");
+                continue;
+            }
+            edges.put(entry.profile, entry);
+        }
+
+        Map<String, CompiledAlias> table = new HashMap<>();
+        for (String profile : edges.keySet()) {
+            List<AliasEntry> chain = new ArrayList<>();
+            Set<String> visited = new HashSet<>();
+            String current = profile;
+            boolean cyclic = false;
+
+            while (edges.containsKey(current)) {
+                if (!visited.add(current)) {
+                    cyclic = true;
+                    break;
+                }
+                AliasEntry edge = edges.get(current);
+                chain.add(edge);
+                current = edge.emulates;
+            }
+
+            if (cyclic) {
+                LOGGER.error("Profile alias cycle detected starting at {}, ignoring it", profile);
+                continue;
+            }
+
+            // Bindings are stored with the first profile that is not shared further down the chain
+            String storage = profile;
+            for (AliasEntry edge : chain) {
+                if (!edge.shareBindings) break;
+                storage = edge.emulates;
+            }
+
+            // Rules are applied starting at the binding source, so walk the chain backwards
+            List<String> from = new ArrayList<>();
+            List<String> to = new ArrayList<>();
+            int[] ruleStart = new int[chain.size() + 1];
+            for (int hop = 0; hop < chain.size(); hop++) {
+                ruleStart[hop] = from.size();
+                AliasEntry edge = chain.get(chain.size() - 1 - hop);
+                if (edge.rules == null) continue;
+                for (PathRule rule : edge.rules) {
+                    if (rule == null || rule.from == null) continue;
+                    from.add(rule.from);
+                    to.add(rule.to == null ? "" : rule.to);
+                }
+            }
+            ruleStart[chain.size()] = from.size();
+
+            AliasEntry first = chain.getFirst();
+            table.put(profile, new CompiledAlias(storage, current, first.replaceDefaults, first.suggest,
+                    from.toArray(new String[0]), to.toArray(new String[0]), ruleStart));
+        }
+
+        LOGGER.info("Compiled {} profile aliases", table.size());
+        return Map.copyOf(table);
+    }
+
+    /**
+     * Gets the profile whose binding file is used for the given interaction profile.
+     */
+    public String getStorageProfile(String interactionProfilePath) {
+        CompiledAlias alias = compiled.get(interactionProfilePath);
+        return alias != null ? alias.storageProfile : interactionProfilePath;
+    }
+
+    /**
+     * Checks if the given interaction profile stores its bindings with another profile.
+     */
+    public boolean isShared(String interactionProfilePath) {
+        CompiledAlias alias = compiled.get(interactionProfilePath);
+        return alias != null && !alias.storageProfile.equals(interactionProfilePath);
+    }
+
+    /**
+     * Checks if the given interaction profile takes its defaults from the profile it emulates.
+     */
+    public boolean replacesDefaults(String interactionProfilePath) {
+        CompiledAlias alias = compiled.get(interactionProfilePath);
+        return alias != null && alias.replaceDefaults;
+    }
+
+    /**
+     * Gets all profiles that should be added to Vivecraft's supported headsets.
+     */
+    public Set<String> getSuggestedProfiles() {
+        Set<String> profiles = new HashSet<>();
+        for (Map.Entry<String, CompiledAlias> entry : compiled.entrySet()) {
+            if (entry.getValue().suggest) {
+                profiles.add(entry.getKey());
+            }
+        }
+        return profiles;
+    }
+
+    /**
+     * Gets the default bindings for an aliased profile, translated into its own input paths.
+     * The translated set is built once per profile; callers get their own copy since Vivecraft may modify it.
+     */
+    public HashSet<Pair<String, String>> getTranslatedDefaults(String interactionProfilePath,
+                                                                Function<String, HashSet<Pair<String, String>>> sourceDefaults) {
+        CompiledAlias alias = compiled.get(interactionProfilePath);
+        if (alias == null) {
+            return sourceDefaults.apply(interactionProfilePath);
+        }
+
+        HashSet<Pair<String, String>> translated = translatedBindings.computeIfAbsent(interactionProfilePath,
+                profile -> translate(alias, sourceDefaults.apply(alias.bindingSource)));
+        return new HashSet<>(translated);
+    }
+
+    /**
+     * Applies the compiled path rules of an alias chain to a binding set.
+     */
+    private static HashSet<Pair<String, String>> translate(CompiledAlias alias, Collection<Pair<String, String>> bindings) {
+        HashSet<Pair<String, String>> result = new HashSet<>();
+        if (bindings == null) {
+            return result;
+        }
+
+        for (Pair<String, String> binding : bindings) {
+            String inputPath = binding.getRight();
+
+            for (int hop = 0; hop + 1 < alias.ruleStart.length && inputPath != null; hop++) {
+                for (int i = alias.ruleStart[hop]; i < alias.ruleStart[hop + 1]; i++) {
+                    if (inputPath.startsWith(alias.ruleFrom[i])) {
+                        String to = alias.ruleTo[i];
+                        inputPath = to.isEmpty() ? null : to + inputPath.substring(alias.ruleFrom[i].length());
+                        break;
+                    }
+                }
+            }
+
+            if (inputPath != null) {
+                result.add(inputPath.equals(binding.getRight()) ? binding : Pair.of(binding.getLeft(), inputPath));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,284 @@
+package dev.therealflo.client;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import org.apache.commons.lang3.tuple.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of the edits to a profile file, kept next to it as "&lt;profile&gt;.journal".
+ * An edit appends one line "&lt;crc32&gt; &lt;json&gt;" instead of rewriting the whole profile, and loading applies
+ * the journal on top of the profile file. Appends are written right away but only synced by {@link #sync},
+ * which the caller runs in batches.
+ * <p>
+ * Edits only set state: a binding is present or absent, an input's delta or the advanced bindings are replaced.
+ * Replaying a journal over a profile file that already contains some of its edits therefore gives the same result,
+ * so compaction can write the profile file before deleting the journal without a crash in between doubling edits.
+ * A line torn by a crash fails its checksum and ends the replay, the edits before it are kept.
+ * Appends and compaction must run within {@link ProfileStore#update}.
+ */
+final class ProfileJournal {
+    private static final Logger LOGGER = LoggerFactory.getLogger("request");
+    static final String EXTENSION = ".journal";
+    private static final Gson GSON = new Gson();
+
+    // Journals appended to since the last sync
+    private final Set<Path> unsynced = new HashSet<>();
+
+    /**
+     * One edit of a profile, null fields are unchanged.
+     */
+    static final class Edit {
+        List<DefaultBindingManager.BindingEntry> add;
+        List<DefaultBindingManager.BindingEntry> remove;
+        // Replaced deltas of overlay profiles, an empty delta removes the input
+        Map<String, DefaultBindingManager.InputDelta> overlay;
+        DefaultBindingManager.AdvancedBindings advanced;
+
+        boolean isEmpty() {
+            return add == null && remove == null && overlay == null && advanced == null;
+        }
+    }
+
+    /**
+     * Edits read from a journal, with the stamp of the journal taken before reading it.
+     * Torn is set if the journal ends in a line that isn't complete or fails its checksum.
+     */
+    record Replay(List<Edit> edits, long hash, ProfileStore.FileStamp stamp, boolean torn) {}
+
+    /**
+     * Gets the journal of a profile file.
+     */
+    static Path fileOf(Path profileFile) {
+        String name = profileFile.getFileName().toString();
+        if (name.endsWith(".json")) {
+            name = name.substring(0, name.length() - ".json".length());
+        }
+        return profileFile.resolveSibling(name + EXTENSION);
+    }
+
+    /**
+     * Appends an edit to a journal, returns the hash of the written line.
+     */
+    long append(Path journal, Edit edit) throws IOException {
+        String line = encode(edit);
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        try (FileChannel channel = FileChannel.open(journal,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        synchronized (unsynced) {
+            unsynced.add(journal);
+        }
+        return BindingHash.of(line);
+    }
+
+    /**
+     * Syncs all journals appended to since the last sync to the disk, with one sync per journal.
+     * Journals deleted in the meantime were compacted and are skipped.
+     */
+    void sync() {
+        List<Path> journals;
+        synchronized (unsynced) {
+            if (unsynced.isEmpty()) return;
+            journals = new ArrayList<>(unsynced);
+            unsynced.clear();
+        }
+        for (Path journal : journals) {
+            try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+                channel.force(false);
+            } catch (NoSuchFileException e) {
+                // Compacted since the append
+            } catch (IOException e) {
+                LOGGER.error("Failed to sync {}", journal.toAbsolutePath(), e);
+            }
+        }
+    }
+
+    /**
+     * Reads the edits of a journal, returns null if there is none.
+     * The hash of the replay continues the given hash of the profile file with every read line.
+     */
+    static Replay read(Path journal, long hash) throws IOException {
+        ProfileStore.FileStamp stamp = ProfileStore.FileStamp.of(journal);
+        if (stamp == null) return null;
+
+        String content;
+        try {
+            content = Files.readString(journal);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+
+        List<Edit> edits = new ArrayList<>();
+        int start = 0;
+        while (start < content.length()) {
+            int end = content.indexOf('\n', start);
+            if (end < 0) {
+                return new Replay(edits, hash, stamp, true);
+            }
+            String line = content.substring(start, end + 1);
+            Edit edit = decode(line);
+            if (edit == null) {
+                return new Replay(edits, hash, stamp, true);
+            }
+            edits.add(edit);
+            hash = BindingHash.combine(hash, BindingHash.of(line));
+            start = end + 1;
+        }
+        return new Replay(edits, hash, stamp, false);
+    }
+
+    private static String encode(Edit edit) {
+        String json = GSON.toJson(edit);
+        return String.format("%08x %s\n", checksum(json), json);
+    }
+
+    /**
+     * Decodes a journal line including its line break, returns null if it is torn or corrupt.
+     */
+    private static Edit decode(String line) {
+        int space = line.indexOf(' ');
+        if (space != 8) return null;
+        String json = line.substring(space + 1, line.length() - 1);
+        try {
+            if (Long.parseLong(line.substring(0, space), 16) != checksum(json)) return null;
+            return GSON.fromJson(json, Edit.class);
+        } catch (NumberFormatException | JsonParseException e) {
+            return null;
+        }
+    }
+
+    private static long checksum(String json) {
+        CRC32 crc = new CRC32();
+        crc.update(json.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    /**
+     * Builds the edit that turns a profile into an updated version of it.
+     * Returns null if the update changes the kind of profile or its base, it has to be written as a whole then.
+     */
+    static Edit diff(DefaultBindingManager.ProfileBindingsData current, DefaultBindingManager.ProfileBindingsData updated) {
+        if (!Objects.equals(current.base, updated.base)) return null;
+        Edit edit = new Edit();
+
+        if (current.base == null) {
+            if (current.bindings == null || updated.bindings == null) return null;
+            Set<Pair<String, String>> before = toPairs(current.bindings);
+            Set<Pair<String, String>> after = toPairs(updated.bindings);
+            for (Pair<String, String> binding : after) {
+                if (!before.contains(binding)) {
+                    if (edit.add == null) edit.add = new ArrayList<>();
+                    edit.add.add(DefaultBindingManager.BindingEntry.fromPair(binding));
+                }
+            }
+            for (Pair<String, String> binding : before) {
+                if (!after.contains(binding)) {
+                    if (edit.remove == null) edit.remove = new ArrayList<>();
+                    edit.remove.add(DefaultBindingManager.BindingEntry.fromPair(binding));
+                }
+            }
+        } else {
+            Map<String, DefaultBindingManager.InputDelta> before = current.overlay != null ? current.overlay : Map.of();
+            Map<String, DefaultBindingManager.InputDelta> after = updated.overlay != null ? updated.overlay : Map.of();
+            Set<String> inputs = new LinkedHashSet<>(before.keySet());
+            inputs.addAll(after.keySet());
+            for (String input : inputs) {
+                DefaultBindingManager.InputDelta delta = after.get(input);
+                if (!sameDelta(before.get(input), delta)) {
+                    if (edit.overlay == null) edit.overlay = new TreeMap<>();
+                    edit.overlay.put(input, delta != null ? delta : new DefaultBindingManager.InputDelta());
+                }
+            }
+        }
+
+        // Advanced bindings are small, an edit replaces them as a whole
+        if (!Objects.equals(GSON.toJson(current.advanced), GSON.toJson(updated.advanced))) {
+            edit.advanced = updated.advanced != null ? updated.advanced : new DefaultBindingManager.AdvancedBindings();
+        }
+        return edit;
+    }
+
+    /**
+     * Applies an edit to a profile.
+     */
+    static void apply(DefaultBindingManager.ProfileBindingsData data, Edit edit) {
+        if ((edit.add != null || edit.remove != null) && data.base == null) {
+            Set<Pair<String, String>> bindings = data.bindings != null ? toPairs(data.bindings) : new LinkedHashSet<>();
+            if (edit.remove != null) {
+                for (DefaultBindingManager.BindingEntry entry : edit.remove) {
+                    bindings.remove(entry.toPair());
+                }
+            }
+            if (edit.add != null) {
+                for (DefaultBindingManager.BindingEntry entry : edit.add) {
+                    bindings.add(entry.toPair());
+                }
+            }
+            data.bindings = new ArrayList<>();
+            for (Pair<String, String> binding : bindings) {
+                data.bindings.add(DefaultBindingManager.BindingEntry.fromPair(binding));
+            }
+        }
+
+        if (edit.overlay != null && data.base != null) {
+            if (data.overlay == null) {
+                data.overlay = new TreeMap<>();
+            }
+            for (Map.Entry<String, DefaultBindingManager.InputDelta> entry : edit.overlay.entrySet()) {
+                DefaultBindingManager.InputDelta delta = entry.getValue();
+                if (delta == null || isEmpty(delta)) {
+                    data.overlay.remove(entry.getKey());
+                } else {
+                    data.overlay.put(entry.getKey(), delta);
+                }
+            }
+        }
+
+        if (edit.advanced != null) {
+            data.advanced = edit.advanced;
+        }
+    }
+
+    private static Set<Pair<String, String>> toPairs(List<DefaultBindingManager.BindingEntry> entries) {
+        Set<Pair<String, String>> pairs = new LinkedHashSet<>();
+        for (DefaultBindingManager.BindingEntry entry : entries) {
+            pairs.add(entry.toPair());
+        }
+        return pairs;
+    }
+
+    private static boolean isEmpty(DefaultBindingManager.InputDelta delta) {
+        return (delta.add == null || delta.add.isEmpty()) && (delta.remove == null || delta.remove.isEmpty());
+    }
+
+    private static boolean sameDelta(DefaultBindingManager.InputDelta a, DefaultBindingManager.InputDelta b) {
+        if (a == null || isEmpty(a)) return b == null || isEmpty(b);
+        if (b == null) return false;
+        return Objects.equals(a.add != null ? Set.copyOf(a.add) : Set.of(), b.add != null ? Set.copyOf(b.add) : Set.of())
+                && Objects.equals(a.remove != null ? Set.copyOf(a.remove) : Set.of(), b.remove != null ? Set.copyOf(b.remove) : Set.of());
+    }
+}
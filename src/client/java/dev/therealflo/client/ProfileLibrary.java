@@ -0,0 +1,225 @@
+package dev.therealflo.client;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Metadata of every saved profile for the profile library screen.
+ * The profile files are read and the profiles summarized in parallel on the common fork-join pool.
+ * Parsed files are kept per file stamp, so only files that changed are read again, and the whole list is kept
+ * until the bindings generation changes, so opening the library again costs nothing.
+ */
+public class ProfileLibrary {
+    // Profiles handled by one fork-join task before it stops splitting
+    private static final int SPLIT_THRESHOLD = 4;
+
+    private static volatile ProfileLibrary instance;
+
+    /**
+     * A profile in the library.
+     *
+     * @param interactionProfile the interaction profile the profile targets
+     * @param name               "default" for the headset's default profile, the custom profile name otherwise
+     * @param base               the profile it builds on, null if it has its own bindings
+     * @param unsupportedInputs  bindings to inputs the interaction profile doesn't have
+     * @param unknownActions     bindings to actions that aren't registered in this session
+     * @param contentHash        hash of the flattened bindings, equal for profiles with the same bindings
+     * @param lastModified       last change of the profile file or its journal, in epoch milliseconds
+     * @param error              why the profile can't be loaded, null if it can
+     */
+    public record ProfileInfo(String profilePath, String interactionProfile, String name, String base, int bindingCount,
+                              int unsupportedInputs, int unknownActions, long contentHash, long lastModified,
+                              boolean active, String error) {
+        public boolean isValid() {
+            return error == null && unsupportedInputs == 0;
+        }
+    }
+
+    /**
+     * A parsed profile file, valid while the stamps of the file and its journal are unchanged.
+     */
+    private record CachedLayer(ProfileStore.FileStamp stamp, ProfileStore.FileStamp journalStamp,
+                               DefaultBindingManager.ProfileLayer layer) {}
+
+    /**
+     * Runs an action for every index of a range, splitting the range between the workers of the pool.
+     */
+    private static final class RangeTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final IntConsumer action;
+
+        RangeTask(int from, int to, IntConsumer action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    action.accept(i);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RangeTask(from, middle, action), new RangeTask(middle, to, action));
+        }
+    }
+
+    private final Map<Path, CachedLayer> layers = new ConcurrentHashMap<>();
+    private final Object indexLock = new Object();
+    private volatile List<ProfileInfo> profiles;
+    private volatile int profilesGeneration;
+
+    private ProfileLibrary() {}
+
+    public static ProfileLibrary getInstance() {
+        if (instance == null) {
+            synchronized (ProfileLibrary.class) {
+                if (instance == null) {
+                    instance = new ProfileLibrary();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Gets all saved profiles sorted by interaction profile and name, indexing them again
+     * only if the bindings changed since the last call.
+     */
+    public List<ProfileInfo> getProfiles() {
+        int generation = DefaultBindingManager.getInstance().getBindingsGeneration();
+        List<ProfileInfo> current = profiles;
+        if (current != null && profilesGeneration == generation) {
+            return current;
+        }
+        return refresh();
+    }
+
+    /**
+     * Indexes all saved profiles again, e.g. after profiles were copied into the folder by hand.
+     * Unchanged files are still answered from memory.
+     */
+    public List<ProfileInfo> refresh() {
+        synchronized (indexLock) {
+            DefaultBindingManager manager = DefaultBindingManager.getInstance();
+            int generation = manager.getBindingsGeneration();
+            List<DefaultBindingManager.ProfileFile> files = manager.listProfileFiles();
+
+            long start = System.nanoTime();
+            // Read the changed files first, summarizing a profile needs the files of its bases too
+            ForkJoinPool.commonPool().invoke(new RangeTask(0, files.size(), i -> readFile(files.get(i).file())));
+            Set<Path> listed = new HashSet<>();
+            for (DefaultBindingManager.ProfileFile file : files) {
+                listed.add(file.file());
+            }
+            layers.keySet().retainAll(listed);
+
+            Map<String, String> activeProfiles = new HashMap<>();
+            for (DefaultBindingManager.ProfileFile file : files) {
+                String interactionProfile = getInteractionProfile(file.profilePath());
+                activeProfiles.computeIfAbsent(interactionProfile, manager::getActiveProfile);
+            }
+
+            ProfileInfo[] infos = new ProfileInfo[files.size()];
+            ForkJoinPool.commonPool().invoke(new RangeTask(0, files.size(),
+                    i -> infos[i] = summarize(files.get(i), activeProfiles)));
+
+            List<ProfileInfo> indexed = new ArrayList<>(List.of(infos));
+            indexed.sort(Comparator.comparing(ProfileInfo::interactionProfile)
+                    .thenComparing(info -> !"default".equals(info.name()))
+                    .thenComparing(ProfileInfo::name));
+            profiles = List.copyOf(indexed);
+            profilesGeneration = generation;
+            RequestModClient.LOGGER.debug("[ReQuest] Indexed {} profiles in {} us", infos.length, (System.nanoTime() - start) / 1000);
+            return profiles;
+        }
+    }
+
+    /**
+     * Reads a profile file unless the cached one is still current.
+     */
+    private void readFile(Path file) {
+        ProfileStore.FileStamp stamp = ProfileStore.FileStamp.of(file);
+        ProfileStore.FileStamp journalStamp = ProfileStore.FileStamp.of(ProfileJournal.fileOf(file));
+        CachedLayer cached = layers.get(file);
+        if (cached != null && Objects.equals(cached.stamp(), stamp) && Objects.equals(cached.journalStamp(), journalStamp)) {
+            return;
+        }
+        layers.put(file, new CachedLayer(stamp, journalStamp, DefaultBindingManager.readLayer(file, stamp)));
+    }
+
+    private DefaultBindingManager.ProfileLayer getLayer(Path file) {
+        CachedLayer cached = layers.get(file);
+        return cached != null ? cached.layer() : null;
+    }
+
+    private ProfileInfo summarize(DefaultBindingManager.ProfileFile file, Map<String, String> activeProfiles) {
+        String interactionProfile = getInteractionProfile(file.profilePath());
+        String name = file.profilePath().equals(interactionProfile) ? "default" :
+                file.profilePath().substring(interactionProfile.length() + 1);
+        boolean active = name.equals(activeProfiles.get(interactionProfile));
+        CachedLayer cached = layers.get(file.file());
+        long lastModified = cached != null ? getLastModified(cached) : 0;
+
+        List<DefaultBindingManager.ProfileLayer> chain = DefaultBindingManager.collectChain(file.file(), this::getLayer);
+        if (chain.isEmpty()) {
+            return new ProfileInfo(file.profilePath(), interactionProfile, name, null, 0, 0, 0, 0, lastModified, active,
+                    "Can't be read");
+        }
+        String base = chain.getFirst().data().base;
+        // The chain ends at a profile with its own bindings, unless a base is missing or inherits from itself
+        String error = chain.getLast().data().base != null ? "Base profile missing" : null;
+
+        List<Pair<String, String>> bindings = DefaultBindingManager.flatten(0, chain).bindings();
+        ActionIdTable ids = ActionIdTable.getInstance();
+        boolean actionsKnown = ids.size() > 0;
+        int unsupportedInputs = 0;
+        int unknownActions = 0;
+        for (Pair<String, String> binding : bindings) {
+            if (!InputPathValidator.isSupported(interactionProfile, binding.getRight())) {
+                unsupportedInputs++;
+            }
+            if (actionsKnown && ids.getId(binding.getLeft()) < 0) {
+                unknownActions++;
+            }
+        }
+        return new ProfileInfo(file.profilePath(), interactionProfile, name, base, bindings.size(), unsupportedInputs,
+                unknownActions, BindingHash.of(bindings), lastModified, active, error);
+    }
+
+    private static long getLastModified(CachedLayer cached) {
+        long modified = cached.stamp() != null ? cached.stamp().modified() : 0;
+        return cached.journalStamp() != null ? Math.max(modified, cached.journalStamp().modified()) : modified;
+    }
+
+    /**
+     * Gets the interaction profile of a profile path: default profiles are "/interaction_profiles/vendor/device",
+     * custom profiles have their name appended.
+     */
+    private static String getInteractionProfile(String profilePath) {
+        int slashes = 0;
+        for (int i = 0; i < profilePath.length(); i++) {
+            if (profilePath.charAt(i) == '/' && ++slashes == 4) {
+                return profilePath.substring(0, i);
+            }
+        }
+        return profilePath;
+    }
+}
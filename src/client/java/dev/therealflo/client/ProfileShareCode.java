@@ -0,0 +1,392 @@
+package dev.therealflo.client;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Encodes a binding profile into a short text code and back, for sharing profiles without files.
+ * Every action and input path is split into a prefix (up to "/in/" or "/input/") and a rest, and each part
+ * is written as an index into a versioned dictionary of names known to the mod, or into a literal table
+ * of the code for everything else. The varint-packed result is checksummed, deflated and base64url encoded.
+ * Dictionaries are append only: new names go into a new version, existing indices never change.
+ */
+public final class ProfileShareCode {
+    public static final String PREFIX = "RB";
+    private static final int VERSION = 1;
+    // Upper bound for the inflated size, profiles are a few kilobytes at most
+    private static final int MAX_PAYLOAD = 1 << 16;
+
+    // Version 1 dictionary, never reorder or remove entries
+    private static final List<String> DICTIONARY_V1 = List.of(
+            "",
+            // Action set prefixes
+            "/actions/global/in/", "/actions/ingame/in/", "/actions/contextual/in/", "/actions/gui/in/",
+            "/actions/keyboard/in/", "/actions/mod/in/", "/actions/technical/in/",
+            // Input prefixes
+            "/user/hand/left/input/", "/user/hand/right/input/",
+            // Inputs
+            "trigger", "trigger/value", "trigger/click", "trigger/touch", "squeeze", "squeeze/value", "squeeze/click",
+            "thumbstick", "thumbstick/click", "thumbstick/touch", "trackpad", "trackpad/click", "trackpad/touch",
+            "a/click", "b/click", "x/click", "y/click", "a/touch", "b/touch", "x/touch", "y/touch",
+            "menu/click", "system/click", "thumbrest/touch",
+            "thumbstick/dir/up", "thumbstick/dir/down", "thumbstick/dir/left", "thumbstick/dir/right",
+            "trackpad/dir/up", "trackpad/dir/down", "trackpad/dir/left", "trackpad/dir/right",
+            // Gestures
+            "tap", "long_press", "double_tap",
+            // Vanilla keys
+            "key.attack", "key.use", "key.forward", "key.back", "key.left", "key.right", "key.jump", "key.sneak",
+            "key.sprint", "key.inventory", "key.swapOffhand", "key.drop", "key.chat", "key.playerlist",
+            "key.pickItem", "key.command", "key.screenshot", "key.togglePerspective", "key.advancements",
+            "key.socialInteractions", "key.hotbar.1", "key.hotbar.2", "key.hotbar.3", "key.hotbar.4", "key.hotbar.5",
+            "key.hotbar.6", "key.hotbar.7", "key.hotbar.8", "key.hotbar.9",
+            // Vivecraft keys
+            "vivecraft.key.hotbarNext", "vivecraft.key.hotbarPrev", "vivecraft.key.hotbarScroll",
+            "vivecraft.key.hotbarSwipeX", "vivecraft.key.hotbarSwipeY", "vivecraft.key.ingameMenuButton",
+            "vivecraft.key.menuButton", "vivecraft.key.teleport", "vivecraft.key.teleportFallback",
+            "vivecraft.key.rotateLeft", "vivecraft.key.rotateRight", "vivecraft.key.rotateAxis",
+            "vivecraft.key.rotateFreeYaw", "vivecraft.key.freeMoveRotate", "vivecraft.key.freeMoveStrafe",
+            "vivecraft.key.walkabout", "vivecraft.key.quickTorch", "vivecraft.key.radialMenu",
+            "vivecraft.key.swapMirrorView", "vivecraft.key.toggleKeyboard", "vivecraft.key.guiLeftClick",
+            "vivecraft.key.guiRightClick", "vivecraft.key.guiMiddleClick", "vivecraft.key.guiShift",
+            "vivecraft.key.guiScrollUp", "vivecraft.key.guiScrollDown", "vivecraft.key.guiScrollAxis",
+            "vivecraft.key.vrInteract", "vivecraft.key.climbeyGrab", "vivecraft.key.climbeyJump",
+            "vivecraft.key.moveThirdPersonCam", "vivecraft.key.togglePlayerList", "vivecraft.key.toggleHandheldCam",
+            "vivecraft.key.quickHandheldCam", "vivecraft.key.trackpadTouch", "vivecraft.key.keyboardClick",
+            "vivecraft.key.keyboardShift",
+            // Interaction profiles
+            "/interaction_profiles/oculus/touch_controller", "/interaction_profiles/htc/vive_controller",
+            "/interaction_profiles/htc/vive_cosmos_controller", "/interaction_profiles/valve/index_controller",
+            "/interaction_profiles/microsoft/motion_controller", "/interaction_profiles/bytedance/pico4_controller",
+            "/interaction_profiles/bytedance/pico_neo3_controller", "/interaction_profiles/samsung/odyssey_controller"
+    );
+
+    private static final List<List<String>> DICTIONARIES = List.of(DICTIONARY_V1);
+
+    private ProfileShareCode() {}
+
+    /**
+     * A decoded share code.
+     */
+    public record Decoded(String interactionProfile, List<Pair<String, String>> bindings,
+                          DefaultBindingManager.AdvancedBindings advanced) {}
+
+    /**
+     * Encodes a profile with the current dictionary version.
+     */
+    public static String encode(String interactionProfile, Collection<Pair<String, String>> bindings,
+                                DefaultBindingManager.AdvancedBindings advanced) {
+        Writer writer = new Writer(DICTIONARIES.get(VERSION - 1));
+
+        writer.string(interactionProfile);
+        writer.varint(bindings.size());
+        for (Pair<String, String> binding : bindings) {
+            writer.string(binding.getLeft());
+            writer.string(binding.getRight());
+        }
+
+        writer.varint(advanced.chords.size());
+        for (DefaultBindingManager.ChordEntry chord : advanced.chords) {
+            writer.string(chord.modifier);
+            writer.string(chord.inputPath);
+            writer.string(chord.action);
+        }
+        writer.varint(advanced.gestures.size());
+        for (DefaultBindingManager.GestureEntry gesture : advanced.gestures) {
+            writer.string(gesture.inputPath);
+            writer.string(gesture.gesture);
+            writer.string(gesture.action);
+        }
+        writer.varint(advanced.longPressTicks);
+        writer.varint(advanced.doubleTapTicks);
+
+        Map<String, DefaultBindingManager.DirectionZone> zones = advanced.directionZones != null ?
+                new TreeMap<>(advanced.directionZones) : Map.of();
+        writer.varint(zones.size());
+        for (Map.Entry<String, DefaultBindingManager.DirectionZone> zone : zones.entrySet()) {
+            writer.string(zone.getKey());
+            writer.varint(Math.round(zone.getValue().deadzone * 1000));
+            writer.varint(Math.round(zone.getValue().hysteresis * 1000));
+            writer.varint(zone.getValue().sectors);
+        }
+
+        byte[] payload = writer.finish(VERSION);
+        return PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(deflate(payload));
+    }
+
+    /**
+     * Decodes and validates a share code.
+     *
+     * @throws IllegalArgumentException if the code is malformed, corrupted or from an unknown version
+     */
+    public static Decoded decode(String code) {
+        String trimmed = code.strip();
+        if (!trimmed.startsWith(PREFIX)) {
+            throw new IllegalArgumentException("Not a Rebound share code");
+        }
+
+        byte[] compressed;
+        try {
+            compressed = Base64.getUrlDecoder().decode(trimmed.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Share code contains invalid characters");
+        }
+        byte[] payload = inflate(compressed);
+
+        // Payload: version, literal table, content, CRC32 of everything before it
+        if (payload.length < 5) {
+            throw new IllegalArgumentException("Share code is truncated");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length - 4);
+        int expected = (payload[payload.length - 4] & 0xFF) << 24 | (payload[payload.length - 3] & 0xFF) << 16
+                | (payload[payload.length - 2] & 0xFF) << 8 | (payload[payload.length - 1] & 0xFF);
+        if ((int) crc.getValue() != expected) {
+            throw new IllegalArgumentException("Share code is corrupted");
+        }
+
+        Reader reader = new Reader(payload, payload.length - 4);
+        int version = reader.varint();
+        if (version < 1 || version > DICTIONARIES.size()) {
+            throw new IllegalArgumentException("Share code was made by a newer version of the mod");
+        }
+        reader.readLiterals(DICTIONARIES.get(version - 1));
+
+        String interactionProfile = reader.path();
+        if (!DefaultBindingManager.isValidInteractionProfile(interactionProfile)) {
+            throw new IllegalArgumentException("Share code is for an unknown interaction profile: " + interactionProfile);
+        }
+        List<Pair<String, String>> bindings = new ArrayList<>();
+        int bindingCount = reader.count();
+        for (int i = 0; i < bindingCount; i++) {
+            bindings.add(Pair.of(reader.path(), reader.path()));
+        }
+
+        DefaultBindingManager.AdvancedBindings advanced = new DefaultBindingManager.AdvancedBindings();
+        int chordCount = reader.count();
+        for (int i = 0; i < chordCount; i++) {
+            advanced.chords.add(new DefaultBindingManager.ChordEntry(reader.path(), reader.path(), reader.path()));
+        }
+        int gestureCount = reader.count();
+        for (int i = 0; i < gestureCount; i++) {
+            advanced.gestures.add(new DefaultBindingManager.GestureEntry(reader.path(), reader.string(), reader.path()));
+        }
+        advanced.longPressTicks = reader.varint();
+        advanced.doubleTapTicks = reader.varint();
+
+        int zoneCount = reader.count();
+        for (int i = 0; i < zoneCount; i++) {
+            String axis = reader.path();
+            DefaultBindingManager.DirectionZone zone = new DefaultBindingManager.DirectionZone();
+            zone.deadzone = reader.varint() / 1000f;
+            zone.hysteresis = reader.varint() / 1000f;
+            zone.sectors = reader.varint();
+            advanced.directionZones.put(axis, zone);
+        }
+
+        if (!reader.isAtEnd()) {
+            throw new IllegalArgumentException("Share code has trailing data");
+        }
+        return new Decoded(interactionProfile, bindings, advanced);
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        deflater.setInput(data);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length);
+        byte[] buffer = new byte[1024];
+        while (!deflater.finished()) {
+            out.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+        return out.toByteArray();
+    }
+
+    private static byte[] inflate(byte[] data) {
+        Inflater inflater = new Inflater(true);
+        inflater.setInput(data);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+        byte[] buffer = new byte[1024];
+        try {
+            while (!inflater.finished()) {
+                int read = inflater.inflate(buffer);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Share code is truncated");
+                }
+                out.write(buffer, 0, read);
+                if (out.size() > MAX_PAYLOAD) {
+                    throw new IllegalArgumentException("Share code is too large");
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Share code is corrupted");
+        } finally {
+            inflater.end();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Splits a path into the dictionary prefix and the rest.
+     */
+    private static int splitIndex(String path) {
+        int in = path.lastIndexOf("/in/");
+        if (in >= 0) return in + "/in/".length();
+        int input = path.lastIndexOf("/input/");
+        if (input >= 0) return input + "/input/".length();
+        return 0;
+    }
+
+    /**
+     * Collects strings into the literal table and writes tokens: 2 * index for dictionary entries,
+     * 2 * index + 1 for literals.
+     */
+    private static final class Writer {
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private final Map<String, Integer> literals = new LinkedHashMap<>();
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+        Writer(List<String> dictionary) {
+            for (int i = 0; i < dictionary.size(); i++) {
+                this.dictionary.put(dictionary.get(i), i);
+            }
+        }
+
+        void varint(int value) {
+            varint(content, value);
+        }
+
+        static void varint(ByteArrayOutputStream out, int value) {
+            while ((value & ~0x7F) != 0) {
+                out.write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.write(value);
+        }
+
+        void token(String part) {
+            Integer index = dictionary.get(part);
+            if (index != null) {
+                varint(index << 1);
+            } else {
+                varint(literals.computeIfAbsent(part, k -> literals.size()) << 1 | 1);
+            }
+        }
+
+        void string(String path) {
+            int split = splitIndex(path);
+            token(path.substring(0, split));
+            token(path.substring(split));
+        }
+
+        byte[] finish(int version) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            varint(out, version);
+            varint(out, literals.size());
+            for (String literal : literals.keySet()) {
+                byte[] bytes = literal.getBytes(StandardCharsets.UTF_8);
+                varint(out, bytes.length);
+                out.writeBytes(bytes);
+            }
+            out.writeBytes(content.toByteArray());
+
+            CRC32 crc = new CRC32();
+            byte[] body = out.toByteArray();
+            crc.update(body);
+            int value = (int) crc.getValue();
+            out.write(value >>> 24);
+            out.write(value >>> 16);
+            out.write(value >>> 8);
+            out.write(value);
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * Reads the payload with bounds checks on every step.
+     */
+    private static final class Reader {
+        private final byte[] data;
+        private final int end;
+        private int position;
+        private List<String> dictionary;
+        private String[] literals;
+
+        Reader(byte[] data, int end) {
+            this.data = data;
+            this.end = end;
+        }
+
+        int varint() {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                if (position >= end) {
+                    throw new IllegalArgumentException("Share code is truncated");
+                }
+                int b = data[position++];
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            throw new IllegalArgumentException("Share code is corrupted");
+        }
+
+        /**
+         * Reads a count, which can't exceed the remaining bytes since every entry takes at least one.
+         */
+        int count() {
+            int count = varint();
+            if (count < 0 || count > end - position) {
+                throw new IllegalArgumentException("Share code is corrupted");
+            }
+            return count;
+        }
+
+        void readLiterals(List<String> dictionary) {
+            this.dictionary = dictionary;
+            this.literals = new String[count()];
+            for (int i = 0; i < literals.length; i++) {
+                int length = count();
+                literals[i] = new String(data, position, length, StandardCharsets.UTF_8);
+                position += length;
+            }
+        }
+
+        String token() {
+            int token = varint();
+            int index = token >>> 1;
+            if ((token & 1) == 0) {
+                if (index >= dictionary.size()) throw new IllegalArgumentException("Share code is corrupted");
+                return dictionary.get(index);
+            }
+            if (index >= literals.length) throw new IllegalArgumentException("Share code is corrupted");
+            return literals[index];
+        }
+
+        String string() {
+            return token() + token();
+        }
+
+        /**
+         * Reads an action or input path, which must be absolute and can't have empty or ".." segments.
+         */
+        String path() {
+            String path = string();
+            if (!path.startsWith("/") || path.endsWith("/") || path.contains("//") || path.contains("/../")
+                    || path.endsWith("/..")) {
+                throw new IllegalArgumentException("Share code contains an invalid path: " + path);
+            }
+            return path;
+        }
+
+        boolean isAtEnd() {
+            return position == end;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package dev.therealflo.client;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+
+/**
+ * Coordinates writes to the profile and config files between game instances sharing the same directory.
+ * Every write holds an exclusive lock on the store's lock file, replaces the target by an atomic rename
+ * so readers never see half-written files, and bumps a generation stamp kept in the lock file itself.
+ * Other instances compare the stamp with the last one they saw to find out whether anything changed
+ * with a single 8 byte read, and only then check their cached files.
+ * Threads of the same process have to be serialized by the caller, file locks are held per process.
+ */
+final class ProfileStore {
+    // The generation lives at the start of the lock file, the lock covers a byte behind it.
+    // Windows locks are mandatory, so locking the whole file would also block unlocked generation reads.
+    private static final long LOCK_POSITION = Long.BYTES;
+
+    private final Path lockFile;
+
+    ProfileStore(Path lockFile) {
+        this.lockFile = lockFile;
+    }
+
+    /**
+     * A change to the store, run while the lock is held.
+     */
+    @FunctionalInterface
+    interface Update<T> {
+        T run() throws IOException;
+    }
+
+    /**
+     * Identifies one version of a file without reading it.
+     * Atomic replaces create a new file, so the file key changes even if time and size don't.
+     */
+    record FileStamp(long modified, long size, Object fileKey) {
+        /**
+         * Gets the stamp of a file, null if it doesn't exist.
+         */
+        static FileStamp of(Path file) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                return new FileStamp(attributes.lastModifiedTime().toMillis(), attributes.size(), attributes.fileKey());
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Checks if a file is still the version this stamp was taken of.
+         */
+        static boolean matches(FileStamp stamp, Path file) {
+            return stamp != null && stamp.equals(of(file));
+        }
+    }
+
+    /**
+     * Result of an update together with the generation the store had before it.
+     */
+    record Result<T>(T value, long previousGeneration) {}
+
+    /**
+     * Reads the current generation without locking.
+     * Returns 0 if nothing was written yet, -1 if the lock file can't be read.
+     */
+    long readGeneration() {
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.READ)) {
+            return readGeneration(channel);
+        } catch (NoSuchFileException e) {
+            return 0;
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static long readGeneration(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) {
+                return 0;
+            }
+        }
+        return buffer.getLong(0);
+    }
+
+    /**
+     * Runs an update while holding the store lock and bumps the generation afterwards.
+     * The generation is bumped even if the update fails, it may have changed files before failing.
+     */
+    <T> Result<T> update(Update<T> update) throws IOException {
+        Files.createDirectories(lockFile.toAbsolutePath().getParent());
+        try (FileChannel channel = FileChannel.open(lockFile,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock(LOCK_POSITION, 1, false)) {
+            long generation = readGeneration(channel);
+            try {
+                return new Result<>(update.run(), generation);
+            } finally {
+                ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES).putLong(0, generation + 1);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer, buffer.position());
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces a file with new content through a temporary file in the same directory and a rename.
+     * Must be called from within {@link #update}.
+     */
+    static void replace(Path file, String content) throws IOException {
+        replace(file, content, false);
+    }
+
+    /**
+     * Replaces a file like {@link #replace(Path, String)}, optionally syncing the content to the disk before the rename.
+     */
+    static void replace(Path file, String content, boolean sync) throws IOException {
+        Path directory = Objects.requireNonNull(file.toAbsolutePath().getParent());
+        Files.createDirectories(directory);
+
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            if (sync) {
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    ByteBuffer buffer = StandardCharsets.UTF_8.encode(content);
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    channel.force(true);
+                }
+            } else {
+                Files.writeString(temp, content);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Checks if a path is the store's own lock file.
+     */
+    boolean isLockFile(Path path) {
+        return path.toAbsolutePath().normalize().equals(lockFile.toAbsolutePath().normalize());
+    }
+}
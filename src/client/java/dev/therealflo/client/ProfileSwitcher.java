@@ -0,0 +1,243 @@
+package dev.therealflo.client;
+
+import dev.therealflo.client.api.MCOpenXRReload;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gui.screen.ChatScreen;
+import net.minecraft.client.gui.screen.GameMenuScreen;
+import net.minecraft.client.gui.screen.Screen;
+import net.minecraft.client.gui.screen.TitleScreen;
+import net.minecraft.client.gui.screen.ingame.CreativeInventoryScreen;
+import net.minecraft.client.gui.screen.ingame.HandledScreen;
+import net.minecraft.client.gui.screen.ingame.InventoryScreen;
+import net.minecraft.client.network.ServerInfo;
+import net.minecraft.item.Item;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.tag.TagKey;
+import net.minecraft.util.Identifier;
+import org.vivecraft.api_beta.client.VivecraftClientAPI;
+import org.vivecraft.client_vr.ClientDataHolderVR;
+import org.vivecraft.client_vr.provider.openxr.XRBindings;
+
+import java.util.*;
+
+/**
+ * Switches to a custom profile automatically based on the current context.
+ * Rules come from the "switchRules" list in rebound_settings.json and are compiled once;
+ * every profile they reference is preloaded, so a switch is applied from memory.
+ * A rule has to match for {@link #SWITCH_DELAY_TICKS} before it is applied, so briefly opened screens
+ * don't rebuild the OpenXR action sets twice.
+ */
+public class ProfileSwitcher {
+    private static final int TRIGGER_SCREEN = 0;
+    private static final int TRIGGER_DIMENSION = 1;
+    private static final int TRIGGER_SERVER = 2;
+    private static final int TRIGGER_ITEM_TAG = 3;
+    // Ticks a new target profile has to stay the same before the bindings are reloaded
+    private static final int SWITCH_DELAY_TICKS = 10;
+
+    // Screen categories usable instead of a class name, since vanilla class names are obfuscated at runtime
+    private static final Map<String, Class<?>> SCREEN_CATEGORIES = Map.of(
+            "handled", HandledScreen.class,
+            "inventory", InventoryScreen.class,
+            "creative", CreativeInventoryScreen.class,
+            "chat", ChatScreen.class,
+            "pause", GameMenuScreen.class,
+            "title", TitleScreen.class,
+            "any", Screen.class
+    );
+
+    private static volatile ProfileSwitcher instance;
+    private List<CompiledRule> rules = List.of();
+    private boolean compiled = false;
+    // Switch rules generation of the manager the rules were compiled at
+    private int rulesGeneration;
+    // Profile name currently applied by a rule, null when the configured active profile is used
+    private String appliedProfile;
+    // Target of the matching rules that isn't applied yet, and for how many ticks it has been the target
+    private String pendingProfile;
+    private int pendingTicks;
+
+    private ProfileSwitcher() {}
+
+    public static ProfileSwitcher getInstance() {
+        if (instance == null) {
+            synchronized (ProfileSwitcher.class) {
+                if (instance == null) {
+                    instance = new ProfileSwitcher();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * A switch rule with its match value resolved into the type the trigger compares against.
+     */
+    private static final class CompiledRule {
+        final int trigger;
+        final String profile;
+        final String text;
+        final Class<?> screenClass;
+        final Identifier dimension;
+        final TagKey<Item> itemTag;
+
+        CompiledRule(int trigger, String profile, String text, Class<?> screenClass, Identifier dimension, TagKey<Item> itemTag) {
+            this.trigger = trigger;
+            this.profile = profile;
+            this.text = text;
+            this.screenClass = screenClass;
+            this.dimension = dimension;
+            this.itemTag = itemTag;
+        }
+    }
+
+    /**
+     * Recompiles the rules from the config and preloads every profile they can switch to.
+     */
+    public void reload() {
+        DefaultBindingManager manager = DefaultBindingManager.getInstance();
+        rulesGeneration = manager.getSwitchRulesGeneration();
+        List<CompiledRule> compiledRules = new ArrayList<>();
+        Set<String> profileNames = new HashSet<>();
+
+        for (DefaultBindingManager.ConfigData.SwitchRule rule : manager.getSwitchRules()) {
+            CompiledRule compiledRule = compileRule(rule);
+            if (compiledRule != null) {
+                compiledRules.add(compiledRule);
+                profileNames.add(compiledRule.profile);
+            }
+        }
+
+        // Preload the candidate profiles for every headset Vivecraft might ask for
+        Set<String> profilePaths = new HashSet<>();
+        for (String headset : XRBindings.supportedHeadsets()) {
+            for (String profileName : profileNames) {
+                profilePaths.add(manager.getCustomProfilePath(headset, profileName));
+            }
+        }
+        manager.preloadProfiles(profilePaths);
+
+        this.rules = List.copyOf(compiledRules);
+        this.compiled = true;
+        RequestModClient.logInfo("Compiled " + rules.size() + " profile switch rules, preloaded " + profilePaths.size() + " profiles");
+    }
+
+    private CompiledRule compileRule(DefaultBindingManager.ConfigData.SwitchRule rule) {
+        if (rule == null || rule.trigger == null || rule.match == null || rule.profile == null) {
+            RequestModClient.logWarn("Ignoring incomplete profile switch rule");
+            return null;
+        }
+
+        switch (rule.trigger) {
+            case "screen" -> {
+                Class<?> category = SCREEN_CATEGORIES.get(rule.match);
+                return new CompiledRule(TRIGGER_SCREEN, rule.profile, rule.match, category, null, null);
+            }
+            case "dimension" -> {
+                Identifier dimension = Identifier.tryParse(rule.match);
+                if (dimension != null) {
+                    return new CompiledRule(TRIGGER_DIMENSION, rule.profile, rule.match, null, dimension, null);
+                }
+            }
+            case "server" -> {
+                return new CompiledRule(TRIGGER_SERVER, rule.profile, rule.match, null, null, null);
+            }
+            case "item_tag" -> {
+                Identifier tag = Identifier.tryParse(rule.match.startsWith("#") ? rule.match.substring(1) : rule.match);
+                if (tag != null) {
+                    return new CompiledRule(TRIGGER_ITEM_TAG, rule.profile, rule.match, null, null, TagKey.of(RegistryKeys.ITEM, tag));
+                }
+            }
+            default -> {
+                RequestModClient.logWarn("Unknown profile switch trigger: " + rule.trigger);
+                return null;
+            }
+        }
+
+        RequestModClient.logWarn("Invalid match '" + rule.match + "' for profile switch trigger " + rule.trigger);
+        return null;
+    }
+
+    /**
+     * Evaluates the rules and applies the first matching profile.
+     * Called once per client tick.
+     */
+    public void tick(MinecraftClient client) {
+        // Recompile when the rules were changed through the API or in the config file
+        if (!compiled || rulesGeneration != DefaultBindingManager.getInstance().getSwitchRulesGeneration()) {
+            reload();
+        }
+        if (rules.isEmpty() && appliedProfile == null) return;
+
+        String target = null;
+        for (CompiledRule rule : rules) {
+            if (matches(rule, client)) {
+                target = rule.profile;
+                break;
+            }
+        }
+
+        if (Objects.equals(target, appliedProfile)) {
+            pendingTicks = 0;
+            return;
+        }
+        if (!Objects.equals(target, pendingProfile)) {
+            pendingProfile = target;
+            pendingTicks = 0;
+        }
+        if (++pendingTicks < SWITCH_DELAY_TICKS) return;
+        if (!VivecraftClientAPI.getInstance().isVrActive()) return;
+        if (!(ClientDataHolderVR.getInstance().vr instanceof MCOpenXRReload reloadable)) return;
+
+        DefaultBindingManager manager = DefaultBindingManager.getInstance();
+        long previousHash = getEffectiveHash(manager);
+        appliedProfile = target;
+        pendingTicks = 0;
+        manager.setProfileOverride(target);
+
+        // A profile that doesn't exist for the headset falls back to the same bindings, nothing to reload then
+        if (getEffectiveHash(manager) == previousHash) {
+            RequestModClient.logInfo("Switched to profile " + (target != null ? target : "(active)") + " without changed bindings");
+            return;
+        }
+        RequestModClient.logInfo("Switching to profile " + (target != null ? target : "(active)"));
+        reloadable.reloadXRBindings();
+    }
+
+    /**
+     * Combined hash of the bindings and advanced bindings that would be loaded for every headset,
+     * from the preloaded profiles.
+     */
+    private static long getEffectiveHash(DefaultBindingManager manager) {
+        long hash = 0;
+        for (String headset : XRBindings.supportedHeadsets()) {
+            String profilePath = manager.getEffectiveProfilePath(headset);
+            hash = BindingHash.combine(hash, manager.getProfileHash(profilePath));
+            hash = BindingHash.combine(hash, manager.getAdvancedBindingsHash(profilePath));
+        }
+        return hash;
+    }
+
+    private boolean matches(CompiledRule rule, MinecraftClient client) {
+        switch (rule.trigger) {
+            case TRIGGER_SCREEN -> {
+                Screen screen = client.currentScreen;
+                if (screen == null) return false;
+                return rule.screenClass != null ? rule.screenClass.isInstance(screen) : screen.getClass().getName().equals(rule.text);
+            }
+            case TRIGGER_DIMENSION -> {
+                return client.world != null && client.world.getRegistryKey().getValue().equals(rule.dimension);
+            }
+            case TRIGGER_SERVER -> {
+                ServerInfo server = client.getCurrentServerEntry();
+                return server != null && server.address.equalsIgnoreCase(rule.text);
+            }
+            case TRIGGER_ITEM_TAG -> {
+                return client.player != null && client.player.getMainHandStack().isIn(rule.itemTag);
+            }
+            default -> {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package dev.therealflo.client;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free counters of the mod's own cost, shown by {@link StatsOverlay}.
+ * Cache lookups are always counted; tick and frame costs are only measured while the overlay is shown,
+ * so they cost nothing otherwise.
+ */
+public class ReboundStats {
+    private static volatile ReboundStats instance;
+
+    /**
+     * Durations of the phases of the last binding load, in nanoseconds.
+     *
+     * @param resolveNanos   resolving the profiles of all interaction profiles
+     * @param bindingsNanos  all of MCOpenXR.loadDefaultBindings(), including resolving
+     * @param handlesNanos   MCOpenXR.loadActionHandles()
+     */
+    public record ReloadTiming(long resolveNanos, long bindingsNanos, long handlesNanos) {
+        public long totalNanos() {
+            return bindingsNanos + handlesNanos;
+        }
+    }
+
+    /**
+     * Cost of a measured piece of code: counts and sums, plus the maximum since the last {@link #takeMax()}.
+     */
+    public static final class Cost {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+        void add(long duration, long allocated) {
+            count.increment();
+            nanos.add(duration);
+            if (allocated > 0) {
+                allocatedBytes.add(allocated);
+            }
+            maxNanos.accumulate(duration);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getNanos() {
+            return nanos.sum();
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes.sum();
+        }
+
+        public long takeMax() {
+            return maxNanos.getThenReset();
+        }
+    }
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final boolean allocationSupported;
+    private volatile boolean measuring;
+
+    private final Cost tick = new Cost();
+    private final Cost frame = new Cost();
+    // Start of the running measurement, only touched on the client thread
+    private long tickStart;
+    private long tickAllocationStart;
+    private long frameStart;
+
+    private final LongAdder layerHits = new LongAdder();
+    private final LongAdder layerMisses = new LongAdder();
+    private final LongAdder resolvedHits = new LongAdder();
+    private final LongAdder resolvedMisses = new LongAdder();
+
+    private volatile ReloadTiming lastReload;
+
+    private ReboundStats() {
+        this.allocationSupported = threads instanceof com.sun.management.ThreadMXBean sunThreads
+                && sunThreads.isThreadAllocatedMemorySupported() && sunThreads.isThreadAllocatedMemoryEnabled();
+    }
+
+    public static ReboundStats getInstance() {
+        if (instance == null) {
+            synchronized (ReboundStats.class) {
+                if (instance == null) {
+                    instance = new ReboundStats();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Turns measuring the tick and frame costs on or off.
+     */
+    public void setMeasuring(boolean measuring) {
+        this.measuring = measuring;
+    }
+
+    public boolean isMeasuring() {
+        return measuring;
+    }
+
+    public boolean isAllocationSupported() {
+        return allocationSupported;
+    }
+
+    private long allocatedBytes() {
+        return allocationSupported ? ((com.sun.management.ThreadMXBean) threads).getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    /**
+     * Starts measuring the client tick handler, called on the client thread.
+     */
+    public void beginTick() {
+        if (!measuring) return;
+        tickAllocationStart = allocatedBytes();
+        tickStart = System.nanoTime();
+    }
+
+    public void endTick() {
+        if (!measuring || tickStart == 0) return;
+        long duration = System.nanoTime() - tickStart;
+        tick.add(duration, allocatedBytes() - tickAllocationStart);
+        tickStart = 0;
+    }
+
+    /**
+     * Starts measuring the per-frame input evaluation, called on the client thread.
+     */
+    public void beginFrame() {
+        if (!measuring) return;
+        frameStart = System.nanoTime();
+    }
+
+    public void endFrame() {
+        if (!measuring || frameStart == 0) return;
+        frame.add(System.nanoTime() - frameStart, 0);
+        frameStart = 0;
+    }
+
+    public void countLayer(boolean hit) {
+        (hit ? layerHits : layerMisses).increment();
+    }
+
+    public void countResolved(boolean hit) {
+        (hit ? resolvedHits : resolvedMisses).increment();
+    }
+
+    public void setLastReload(ReloadTiming timing) {
+        lastReload = timing;
+    }
+
+    public Cost getTick() {
+        return tick;
+    }
+
+    public Cost getFrame() {
+        return frame;
+    }
+
+    public long getLayerHits() {
+        return layerHits.sum();
+    }
+
+    public long getLayerMisses() {
+        return layerMisses.sum();
+    }
+
+    public long getResolvedHits() {
+        return resolvedHits.sum();
+    }
+
+    public long getResolvedMisses() {
+        return resolvedMisses.sum();
+    }
+
+    /**
+     * Gets the timing of the last binding load, null before the first one.
+     */
+    public ReloadTiming getLastReload() {
+        return lastReload;
+    }
+}
@@ -1,11 +1,15 @@
 package dev.therealflo.client;
 
-import dev.therealflo.client.screens.ChangeBindingScreen;
-import dev.therealflo.client.screens.ReloadBindingsScreen;
+import dev.therealflo.client.input.InputRuntime;
+import dev.therealflo.client.screens.ScreenCache;
 import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.client.keybinding.v1.KeyBindingHelper;
+import net.fabricmc.fabric.api.client.rendering.v1.HudLayerRegistrationCallback;
+import net.fabricmc.fabric.api.client.rendering.v1.IdentifiedLayer;
 import net.fabricmc.fabric.api.client.screen.v1.ScreenEvents;
+import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.screen.option.ControlsOptionsScreen;
 import net.minecraft.client.gui.widget.ButtonWidget;
 import net.minecraft.client.option.KeyBinding;
@@ -20,6 +24,10 @@ import org.vivecraft.client_vr.ClientDataHolderVR;
 import org.vivecraft.client_vr.provider.MCVR;
 import org.vivecraft.client_vr.provider.control.VRInputAction;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -30,8 +38,11 @@ public class RequestModClient implements ClientModInitializer {
     public static final Logger LOGGER = LoggerFactory.getLogger(MOD_ID);
 
     private static final String CATEGORY = "key.categories.request";
+    private static final String RECORDINGS_DIR = "rebound_recordings";
     public static KeyBinding openReloadScreenKey;
     public static KeyBinding openBindingScreenKey;
+    public static KeyBinding toggleRecordingKey;
+    public static KeyBinding toggleStatsKey;
 
     public static void logInfo(String s) {
         LOGGER.info("[ReQuest] {}", s);
@@ -82,6 +93,7 @@ public class RequestModClient implements ClientModInitializer {
 
     @Override
     public void onInitializeClient() {
+        long start = StartupProfiler.start();
         logInfo("ReQuest has been loaded");
 
         openReloadScreenKey = KeyBindingHelper.registerKeyBinding(new KeyBinding(
@@ -98,27 +110,82 @@ public class RequestModClient implements ClientModInitializer {
                 CATEGORY                // Category translation key
         ));
 
+        toggleRecordingKey = KeyBindingHelper.registerKeyBinding(new KeyBinding(
+                "key.request.toggle_recording", // Translation key for the keybinding name
+                InputUtil.Type.KEYSYM,
+                GLFW.GLFW_KEY_UNKNOWN,  // Default key
+                CATEGORY                // Category translation key
+        ));
+
+        toggleStatsKey = KeyBindingHelper.registerKeyBinding(new KeyBinding(
+                "key.request.toggle_stats", // Translation key for the keybinding name
+                InputUtil.Type.KEYSYM,
+                GLFW.GLFW_KEY_UNKNOWN,  // Default key
+                CATEGORY                // Category translation key
+        ));
+
+        // Don't lose the buffered end of a recording or unsynced profile edits when the game is closed
+        ClientLifecycleEvents.CLIENT_STOPPING.register(client -> {
+            InputRuntime.getInstance().stopRecording();
+            DefaultBindingManager.getInstance().closeJournals();
+            StartupProfiler.writeReport();
+        });
+        ClientLifecycleEvents.CLIENT_STARTED.register(client -> StartupProfiler.writeReport());
+
         ClientTickEvents.END_CLIENT_TICK.register(client -> {
-            if (openReloadScreenKey.wasPressed()) {
-                client.execute(() -> client.setScreen(new ReloadBindingsScreen()));
-            }
+            ReboundStats stats = ReboundStats.getInstance();
+            stats.beginTick();
+            onEndTick(client);
+            stats.endTick();
+        });
 
-            if (openBindingScreenKey.wasPressed()) {
-                client.execute(() -> client.setScreen(new ChangeBindingScreen()));
+        HudLayerRegistrationCallback.EVENT.register(layers -> layers.addLayer(
+                IdentifiedLayer.of(Identifier.of(MOD_ID, "stats_overlay"), StatsOverlay.getInstance()::render)));
+
+        StartupProfiler.end("client.init", start);
+    }
+
+    private void onEndTick(MinecraftClient client) {
+        if (openReloadScreenKey.wasPressed()) {
+            client.execute(() -> client.setScreen(ScreenCache.getInstance().getReloadScreen()));
+        }
+
+        if (openBindingScreenKey.wasPressed()) {
+            client.execute(() -> client.setScreen(ScreenCache.getInstance().getBindingScreen()));
+        }
+
+        if (toggleRecordingKey.wasPressed()) {
+            InputRuntime runtime = InputRuntime.getInstance();
+            if (runtime.isRecording()) {
+                runtime.stopRecording();
+                client.inGameHud.setOverlayMessage(Text.literal("Input recording saved"), false);
+            } else {
+                String name = "input-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".rbrec";
+                Path file = Paths.get(RECORDINGS_DIR, name);
+                runtime.startRecording(file);
+                client.inGameHud.setOverlayMessage(Text.literal("Recording inputs to " + file), false);
             }
+        }
 
-            if (registered) return;
+        if (toggleStatsKey.wasPressed()) {
+            StatsOverlay.getInstance().toggle();
+        }
 
-            if (!VivecraftClientAPI.getInstance().isVrInitialized()) return;
-            if (!VivecraftClientAPI.getInstance().isVrActive()) return;
+        ProfileSwitcher.getInstance().tick(client);
+        ScreenCache.getInstance().tick(client);
+        InputRuntime.getInstance().tick();
 
-            MCVR vr = ClientDataHolderVR.getInstance().vr;
-            if (vr == null || vr.getInputActions().isEmpty()) return;
+        if (registered) return;
 
-            registerRemap(vr);
-            registered = true;
-            logInfo("Controller remap installed");
-        });
+        if (!VivecraftClientAPI.getInstance().isVrInitialized()) return;
+        if (!VivecraftClientAPI.getInstance().isVrActive()) return;
+
+        MCVR vr = ClientDataHolderVR.getInstance().vr;
+        if (vr == null || vr.getInputActions().isEmpty()) return;
+
+        registerRemap(vr);
+        registered = true;
+        logInfo("Controller remap installed");
     }
 
     private void registerRemap(MCVR vr) {
@@ -0,0 +1,139 @@
+package dev.therealflo.client;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures what the mod adds to game launch and VR initialization.
+ * Only active when the game is started with -Drebound.startupReport=&lt;file&gt;; the report is a JSON file
+ * with the count, first, total and max duration of every measured section, rewritten whenever a phase completes.
+ * Disabled, every call is a single static final check.
+ * Must not touch Minecraft classes, it is also used by the mixin plugin and {@code StartupBenchmark}.
+ */
+public final class StartupProfiler {
+    private static final Logger LOGGER = LoggerFactory.getLogger("request");
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final String REPORT_PROPERTY = "rebound.startupReport";
+
+    private static final String REPORT_FILE = System.getProperty(REPORT_PROPERTY);
+    public static final boolean ENABLED = REPORT_FILE != null && !REPORT_FILE.isBlank();
+
+    private static final Map<String, Section> SECTIONS = new LinkedHashMap<>();
+    private static String mode = "game";
+
+    /**
+     * Durations of one measured section, in nanoseconds.
+     */
+    public static final class Section {
+        public final String name;
+        public int count;
+        public long firstNanos;
+        public long totalNanos;
+        public long maxNanos;
+
+        Section(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Layout of the JSON report.
+     */
+    public static final class Report {
+        public String mode;
+        public String javaVersion;
+        public long createdAt;
+        public List<Section> sections;
+    }
+
+    private StartupProfiler() {}
+
+    /**
+     * Starts measuring a section, pass the result to {@link #end}.
+     */
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Finishes measuring a section started with {@link #start}.
+     */
+    public static void end(String section, long start) {
+        if (!ENABLED) return;
+        record(section, System.nanoTime() - start);
+    }
+
+    /**
+     * Adds a measured duration to a section.
+     */
+    public static void record(String section, long nanos) {
+        synchronized (SECTIONS) {
+            Section entry = SECTIONS.computeIfAbsent(section, Section::new);
+            if (entry.count == 0) {
+                entry.firstNanos = nanos;
+            }
+            entry.count++;
+            entry.totalNanos += nanos;
+            entry.maxNanos = Math.max(entry.maxNanos, nanos);
+        }
+    }
+
+    /**
+     * Sets the mode written into the report, "game" unless set by a benchmark.
+     */
+    public static void setMode(String reportMode) {
+        mode = reportMode;
+    }
+
+    public static Report createReport() {
+        Report report = new Report();
+        report.mode = mode;
+        report.javaVersion = System.getProperty("java.version");
+        report.createdAt = System.currentTimeMillis();
+        synchronized (SECTIONS) {
+            report.sections = new ArrayList<>(SECTIONS.values().size());
+            for (Section section : SECTIONS.values()) {
+                Section copy = new Section(section.name);
+                copy.count = section.count;
+                copy.firstNanos = section.firstNanos;
+                copy.totalNanos = section.totalNanos;
+                copy.maxNanos = section.maxNanos;
+                report.sections.add(copy);
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Writes the sections measured so far into the report file, if measuring is enabled.
+     */
+    public static void writeReport() {
+        if (ENABLED) {
+            writeReport(Paths.get(REPORT_FILE));
+        }
+    }
+
+    public static void writeReport(Path file) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.writeString(file, GSON.toJson(createReport()));
+            LOGGER.info("[ReQuest] Wrote startup report to {}", file.toAbsolutePath());
+        } catch (IOException e) {
+            LOGGER.error("[ReQuest] Failed to write startup report {}", file.toAbsolutePath(), e);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package dev.therealflo.client;
+
+import dev.therealflo.client.input.InputRuntime;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.font.TextRenderer;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.render.RenderTickCounter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * HUD overlay with the mod's own cost, toggled by a key binding, meant to be screenshotted for bug reports.
+ * The text is rebuilt from {@link ReboundStats} once per second; a frame draws one background rectangle and the lines.
+ */
+public class StatsOverlay {
+    private static final long REFRESH_INTERVAL = 1_000_000_000L;
+    private static final int PADDING = 3;
+    private static final int BACKGROUND_COLOR = 0x90000000;
+    private static final int TITLE_COLOR = 0xFF8FB8FF;
+    private static final int TEXT_COLOR = 0xFFE0E0E0;
+
+    private static volatile StatsOverlay instance;
+
+    // Only touched on the client thread
+    private boolean visible;
+    private long lastRefresh;
+    private String[] lines = new String[0];
+    private int width;
+    // Counter sums at the last refresh, the overlay shows what happened since then
+    private long lastTickCount;
+    private long lastTickNanos;
+    private long lastTickAllocated;
+    private long lastFrameCount;
+    private long lastFrameNanos;
+
+    private StatsOverlay() {}
+
+    public static StatsOverlay getInstance() {
+        if (instance == null) {
+            synchronized (StatsOverlay.class) {
+                if (instance == null) {
+                    instance = new StatsOverlay();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public void toggle() {
+        visible = !visible;
+        ReboundStats.getInstance().setMeasuring(visible);
+        lastRefresh = 0;
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    public void render(DrawContext context, RenderTickCounter tickCounter) {
+        if (!visible) return;
+        MinecraftClient client = MinecraftClient.getInstance();
+        if (client.options.hudHidden) return;
+        TextRenderer textRenderer = client.textRenderer;
+
+        long now = System.nanoTime();
+        if (lastRefresh == 0 || now - lastRefresh >= REFRESH_INTERVAL) {
+            refresh(now);
+            width = 0;
+            for (String line : lines) {
+                width = Math.max(width, textRenderer.getWidth(line));
+            }
+        }
+
+        int lineHeight = textRenderer.fontHeight + 1;
+        int x = PADDING * 2;
+        int y = PADDING * 2;
+        context.fill(x - PADDING, y - PADDING, x + width + PADDING, y + lines.length * lineHeight + PADDING - 1, BACKGROUND_COLOR);
+        for (int i = 0; i < lines.length; i++) {
+            context.drawText(textRenderer, lines[i], x, y + i * lineHeight, i == 0 ? TITLE_COLOR : TEXT_COLOR, false);
+        }
+    }
+
+    /**
+     * Builds the lines from the counters, as rates over the time since the last refresh.
+     */
+    private void refresh(long now) {
+        ReboundStats stats = ReboundStats.getInstance();
+        List<String> text = new ArrayList<>();
+        text.add("Rebound");
+
+        ReboundStats.Cost tick = stats.getTick();
+        long ticks = tick.getCount() - lastTickCount;
+        long tickNanos = tick.getNanos() - lastTickNanos;
+        long tickAllocated = tick.getAllocatedBytes() - lastTickAllocated;
+        long tickMax = tick.takeMax();
+        boolean firstRefresh = lastRefresh == 0;
+        lastTickCount += ticks;
+        lastTickNanos += tickNanos;
+        lastTickAllocated += tickAllocated;
+        if (firstRefresh || ticks == 0) {
+            text.add("Tick: measuring...");
+        } else {
+            String allocation = stats.isAllocationSupported() ? ", " + formatBytes(tickAllocated / ticks) + "/tick" : "";
+            text.add(String.format(Locale.ROOT, "Tick: %s avg, %s max%s", formatMillis(tickNanos / ticks), formatMillis(tickMax), allocation));
+        }
+
+        ReboundStats.Cost frame = stats.getFrame();
+        long frames = frame.getCount() - lastFrameCount;
+        long frameNanos = frame.getNanos() - lastFrameNanos;
+        long frameMax = frame.takeMax();
+        lastFrameCount += frames;
+        lastFrameNanos += frameNanos;
+        if (firstRefresh) {
+            text.add("Input frame: measuring...");
+        } else if (frames > 0) {
+            text.add(String.format(Locale.ROOT, "Input frame: %s avg, %s max, %d fps",
+                    formatMillis(frameNanos / frames), formatMillis(frameMax), frames * REFRESH_INTERVAL / Math.max(1, now - lastRefresh)));
+        } else {
+            text.add("Input frame: not in VR");
+        }
+
+        ReboundStats.ReloadTiming reload = stats.getLastReload();
+        if (reload != null) {
+            text.add(String.format(Locale.ROOT, "Last reload: %s (profiles %s, bindings %s, action handles %s)",
+                    formatMillis(reload.totalNanos()), formatMillis(reload.resolveNanos()),
+                    formatMillis(reload.bindingsNanos() - reload.resolveNanos()), formatMillis(reload.handlesNanos())));
+        } else {
+            text.add("Last reload: none yet");
+        }
+
+        text.add("Cache hits: files " + formatRate(stats.getLayerHits(), stats.getLayerMisses())
+                + ", profiles " + formatRate(stats.getResolvedHits(), stats.getResolvedMisses()));
+
+        DefaultBindingManager.CacheSizes sizes = DefaultBindingManager.getInstance().getCacheSizes();
+        text.add(String.format(Locale.ROOT, "In memory: %d files, %d profiles (%d bindings), %d journals",
+                sizes.layers(), sizes.resolvedProfiles(), sizes.resolvedBindings(), sizes.journals()));
+        text.add(String.format(Locale.ROOT, "Actions: %d ids, %d bound, %d key labels%s",
+                ActionIdTable.getInstance().size(), BoundActionIndex.getInstance().size(),
+                KeyBindingInputIndex.getInstance().size(), InputRuntime.getInstance().isRecording() ? ", recording" : ""));
+
+        lines = text.toArray(new String[0]);
+        lastRefresh = now;
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f ms", nanos / 1_000_000.0);
+    }
+
+    private static String formatBytes(long bytes) {
+        return bytes < 1024 ? bytes + " B" : String.format(Locale.ROOT, "%.1f KB", bytes / 1024.0);
+    }
+
+    private static String formatRate(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? "-" : String.format(Locale.ROOT, "%.1f%% of %d", hits * 100.0 / total, total);
+    }
+}
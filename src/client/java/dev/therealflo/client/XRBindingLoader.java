@@ -0,0 +1,119 @@
+package dev.therealflo.client;
+
+import dev.therealflo.client.input.InputRuntime;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Picks the bindings OpenXR gets for a headset in MCOpenXR.loadDefaultBindings().
+ * Kept out of the mixin so {@code StartupBenchmark} can run it without a VR runtime.
+ */
+public final class XRBindingLoader {
+    private XRBindingLoader() {}
+
+    /**
+     * Loads the bindings for a headset and registers them with the binding index and the input runtime.
+     *
+     * @param defaults Vivecraft's default bindings of a headset, saved on first use
+     * @return the bindings to suggest to OpenXR, without the direction inputs evaluated by Rebound
+     */
+    public static HashSet<Pair<String, String>> load(String headset, Function<String, HashSet<Pair<String, String>>> defaults) {
+        HashSet<Pair<String, String>> bindings = loadBindings(headset, defaults);
+        pruneDeadBindings(headset, bindings);
+        removeUnsupportedInputs(headset, bindings);
+        BoundActionIndex.getInstance().addBindings(bindings);
+        KeyBindingInputIndex.getInstance().addProfile(headset, bindings);
+        InputRuntime.getInstance().addProfile(DefaultBindingManager.getInstance().getEffectiveProfilePath(headset), bindings);
+
+        // Direction inputs are evaluated by Rebound, OpenXR would reject their paths
+        bindings.removeIf(binding -> InputPathDescriptions.isDirectionInput(binding.getRight()));
+        return bindings;
+    }
+
+    /**
+     * Drops bindings to actions Vivecraft didn't register in this session, like the actions of removed mods,
+     * so they aren't suggested to OpenXR. They stay in the profile files and are used again once the action is back.
+     */
+    private static void pruneDeadBindings(String headset, HashSet<Pair<String, String>> bindings) {
+        ActionIdTable ids = ActionIdTable.getInstance();
+        // Before Vivecraft populated its actions nothing is known to be dead
+        if (ids.size() == 0) return;
+
+        Set<String> deadActions = null;
+        for (Iterator<Pair<String, String>> iterator = bindings.iterator(); iterator.hasNext(); ) {
+            String action = iterator.next().getLeft();
+            if (ids.getId(action) < 0) {
+                iterator.remove();
+                if (deadActions == null) deadActions = new TreeSet<>();
+                deadActions.add(action);
+            }
+        }
+
+        if (deadActions != null) {
+            RequestModClient.LOGGER.info("[ReQuest] Not suggesting bindings of {} unregistered actions for {}, they are kept in the profile: {}",
+                    deadActions.size(), headset, deadActions);
+        }
+    }
+
+    /**
+     * Drops bindings to inputs the headset's interaction profile doesn't have, OpenXR would reject
+     * the suggested bindings of the whole profile because of one of them.
+     */
+    private static void removeUnsupportedInputs(String headset, HashSet<Pair<String, String>> bindings) {
+        List<Pair<String, String>> removed = InputPathValidator.removeUnsupported(headset, bindings);
+        if (!removed.isEmpty()) {
+            Set<String> inputs = new TreeSet<>();
+            for (Pair<String, String> binding : removed) {
+                inputs.add(binding.getRight());
+            }
+            RequestModClient.LOGGER.warn("[ReQuest] Skipping {} bindings to inputs {} doesn't support: {}",
+                    removed.size(), headset, inputs);
+        }
+    }
+
+    /**
+     * Loads the bindings for a headset: the active custom profile, the saved defaults, or Vivecraft's defaults.
+     */
+    private static HashSet<Pair<String, String>> loadBindings(String headset, Function<String, HashSet<Pair<String, String>>> defaults) {
+        DefaultBindingManager manager = DefaultBindingManager.getInstance();
+
+        // Check if there's an active custom profile set in the config or by a switch rule
+        String activeProfile = manager.getEffectiveProfile(headset);
+
+        // If active profile is not "default", try to load the custom profile
+        if (!"default".equals(activeProfile)) {
+            // Build the custom profile path
+            String customProfilePath = manager.getCustomProfilePath(headset, activeProfile);
+            Collection<Pair<String, String>> customBindings = manager.loadDefaultBindings(customProfilePath);
+
+            if (customBindings != null) {
+                RequestModClient.LOGGER.info("[ReQuest] Loading custom profile '{}' for {}", activeProfile, headset);
+                return new HashSet<>(customBindings);
+            } else {
+                RequestModClient.LOGGER.warn("[ReQuest] Custom profile '{}' not found for {}, falling back to default",
+                    activeProfile, headset);
+            }
+        }
+
+        // Try to load saved default bindings
+        Collection<Pair<String, String>> savedBindings = manager.loadDefaultBindings(headset);
+
+        if (savedBindings != null) {
+            // Return saved default bindings
+            return new HashSet<>(savedBindings);
+        }
+
+        // If no saved bindings exist, get the default ones and save them
+        HashSet<Pair<String, String>> defaultBindings = defaults.apply(headset);
+        manager.saveDefaultBindingsIfNeeded(headset, defaultBindings);
+
+        return defaultBindings;
+    }
+}
@@ -0,0 +1,10 @@
+package dev.therealflo.client.api;
+
+public interface IndexedInputAction {
+    /**
+     * Gets the id of this action in the {@link dev.therealflo.client.ActionIdTable}, or -1 if it has none yet.
+     */
+    int getReboundId();
+
+    void setReboundId(int id);
+}
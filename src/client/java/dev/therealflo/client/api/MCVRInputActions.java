@@ -0,0 +1,17 @@
+package dev.therealflo.client.api;
+
+import org.vivecraft.client_vr.provider.control.VRInputAction;
+
+import java.util.Map;
+
+public interface MCVRInputActions {
+    /**
+     * Gets the live name -> action map of MCVR, changes to it affect which actions Vivecraft sets up.
+     */
+    Map<String, VRInputAction> getInputActionMap();
+
+    /**
+     * Gets the actions of key bindings by the translation key of the key binding.
+     */
+    Map<String, VRInputAction> getInputActionsByKeyBinding();
+}
@@ -0,0 +1,11 @@
+package dev.therealflo.client.input;
+
+/**
+ * Receives the presses and releases produced by the input evaluators.
+ * Targets are identified by the index they were compiled with, so emitting an event never allocates.
+ */
+public interface ActionSink {
+    void press(int target);
+
+    void release(int target);
+}
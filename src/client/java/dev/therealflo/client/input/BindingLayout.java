@@ -0,0 +1,27 @@
+package dev.therealflo.client.input;
+
+/**
+ * The advanced bindings of one binding load compiled into index arrays, everything the evaluators are built from.
+ * Inputs, axes and targets are only referred to by index, so a layout doesn't depend on Minecraft or Vivecraft
+ * and can be written into an input recording and evaluated again outside the game.
+ *
+ * @param inputCount       number of sampled button inputs
+ * @param axisCount        number of sampled axes
+ * @param targetCount      number of targets of the {@link ActionSink}
+ * @param actionIdCount    number of action ids, see {@link dev.therealflo.client.ActionIdTable}
+ * @param inputBaseActions action ids bound to each input
+ * @param gestureTargets   targets of each gesture input and kind, at [gesture * 3 + kind]
+ */
+public record BindingLayout(int inputCount, int axisCount, int targetCount, int actionIdCount, int[][] inputBaseActions,
+                            int[] chordModifier, int[] chordInput, int[] chordTarget,
+                            int[] gestureInputs, int[][] gestureTargets, int longPressTicks, int doubleTapTicks,
+                            int[] directionAxis, float[] directionX, float[] directionY, float[] directionHalfAngle,
+                            float[] directionDeadzone, float[] directionHysteresis, int[] directionTarget) {
+    public static final BindingLayout EMPTY = new BindingLayout(0, 0, 0, 0, new int[0][],
+            new int[0], new int[0], new int[0], new int[0], new int[0][], 1, 1,
+            new int[0], new float[0], new float[0], new float[0], new float[0], new float[0], new int[0]);
+
+    public boolean isEmpty() {
+        return chordInput.length == 0 && gestureInputs.length == 0 && directionAxis.length == 0;
+    }
+}
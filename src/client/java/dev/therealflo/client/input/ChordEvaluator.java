@@ -0,0 +1,127 @@
+package dev.therealflo.client.input;
+
+import java.util.Arrays;
+
+/**
+ * Per-frame state machine for chord bindings.
+ * A chord fires on the press of its input while its modifier is held and stays pressed until the input is released.
+ * While a chord holds an input, the actions normally bound to that input are held back.
+ * Everything is compiled into index arrays, so evaluating a frame allocates nothing and does no lookups.
+ */
+public final class ChordEvaluator {
+    private final int[] chordModifier;
+    private final int[] chordInput;
+    private final int[] chordTarget;
+    private final boolean[] chordActive;
+    // Action ids bound to each input, held back while a chord claims the input
+    private final int[][] inputBaseActions;
+    private final boolean[] previous;
+    // Modifier that claimed each input with its last press, -1 if none
+    private final int[] claimedBy;
+    // Number of claimed inputs holding back each action id
+    private final int[] heldBack;
+
+    /**
+     * @param inputCount       number of inputs referenced by the chords
+     * @param chordModifier    modifier input index of each chord
+     * @param chordInput       input index of each chord
+     * @param chordTarget      target index passed to the {@link ActionSink} for each chord
+     * @param inputBaseActions action ids bound to each input
+     * @param actionIdCount    number of action ids, see {@link dev.therealflo.client.ActionIdTable}
+     */
+    public ChordEvaluator(int inputCount, int[] chordModifier, int[] chordInput, int[] chordTarget, int[][] inputBaseActions, int actionIdCount) {
+        this.chordModifier = chordModifier;
+        this.chordInput = chordInput;
+        this.chordTarget = chordTarget;
+        this.chordActive = new boolean[chordInput.length];
+        this.inputBaseActions = inputBaseActions;
+        this.previous = new boolean[inputCount];
+        this.claimedBy = new int[inputCount];
+        this.heldBack = new int[actionIdCount];
+        Arrays.fill(claimedBy, -1);
+    }
+
+    /**
+     * Advances one frame.
+     *
+     * @param down pressed state of every input this frame
+     * @param sink receives the targets to press and release
+     */
+    public void evaluate(boolean[] down, ActionSink sink) {
+        for (int c = 0; c < chordInput.length; c++) {
+            int input = chordInput[c];
+            if (chordActive[c]) {
+                if (!down[input]) {
+                    chordActive[c] = false;
+                    sink.release(chordTarget[c]);
+                }
+                continue;
+            }
+
+            int modifier = chordModifier[c];
+            boolean pressed = down[input] && !previous[input];
+            // Several chords may share a modifier and input, they all fire together
+            if (pressed && down[modifier] && (claimedBy[input] < 0 || claimedBy[input] == modifier)) {
+                if (claimedBy[input] < 0) {
+                    claimedBy[input] = modifier;
+                    holdBack(input, 1);
+                }
+                chordActive[c] = true;
+                sink.press(chordTarget[c]);
+            }
+        }
+
+        for (int i = 0; i < previous.length; i++) {
+            if (!down[i] && claimedBy[i] >= 0) {
+                claimedBy[i] = -1;
+                holdBack(i, -1);
+            }
+            previous[i] = down[i];
+        }
+    }
+
+    private void holdBack(int input, int delta) {
+        for (int actionId : inputBaseActions[input]) {
+            if (actionId >= 0 && actionId < heldBack.length) {
+                heldBack[actionId] += delta;
+            }
+        }
+    }
+
+    /**
+     * Checks if an action is held back because a chord claimed the input it is bound to.
+     */
+    public boolean isHeldBack(int actionId) {
+        return actionId >= 0 && actionId < heldBack.length && heldBack[actionId] > 0;
+    }
+
+    /**
+     * Releases every active chord, e.g. before the evaluator is replaced.
+     */
+    public void releaseAll(ActionSink sink) {
+        for (int c = 0; c < chordActive.length; c++) {
+            if (chordActive[c]) {
+                chordActive[c] = false;
+                sink.release(chordTarget[c]);
+            }
+        }
+        for (int i = 0; i < claimedBy.length; i++) {
+            if (claimedBy[i] >= 0) {
+                claimedBy[i] = -1;
+                holdBack(i, -1);
+            }
+            previous[i] = false;
+        }
+    }
+
+    /**
+     * Checks if a chord currently holds an input.
+     */
+    public boolean isClaimed(int input) {
+        return claimedBy[input] >= 0;
+    }
+
+    public int getChordCount() {
+        return chordInput.length;
+    }
+}
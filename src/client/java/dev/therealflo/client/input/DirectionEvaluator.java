@@ -0,0 +1,102 @@
+package dev.therealflo.client.input;
+
+/**
+ * Per-frame evaluation of direction inputs: an axis pushed into a sector presses the direction's actions.
+ * Every direction is a sector around a unit vector; up/down/left/right are wide sectors that overlap on the diagonals.
+ * A direction activates past its enter radius and inside its enter angle, and only releases once the axis
+ * drops below the exit radius or leaves the wider exit angle, so it doesn't flicker at the edges.
+ * The test is a dot product against precomputed thresholds, one square root per axis and no allocation.
+ */
+public final class DirectionEvaluator {
+    // Half width of up/down/left/right, wider than 45 degrees so diagonals press both neighbours
+    public static final float CARDINAL_HALF_ANGLE = (float) Math.toRadians(67.5);
+
+    private final int[] axis;
+    private final float[] unitX;
+    private final float[] unitY;
+    private final float[] enterRadius;
+    private final float[] exitRadius;
+    private final float[] enterCos;
+    private final float[] exitCos;
+    private final int[] target;
+    private final boolean[] active;
+    private final float[] radius;
+
+    /**
+     * @param axisCount number of sampled axes
+     * @param axis      axis index of each direction
+     * @param unitX     x of the unit vector each direction is centered on
+     * @param unitY     y of the unit vector each direction is centered on
+     * @param halfAngle half width of each direction's sector, in radians
+     * @param deadzone  radius each direction activates at
+     * @param hysteresis how far below the deadzone a direction stays active, also widens the sector by the same fraction
+     * @param target    target index passed to the {@link ActionSink} for each direction
+     */
+    public DirectionEvaluator(int axisCount, int[] axis, float[] unitX, float[] unitY, float[] halfAngle,
+                              float[] deadzone, float[] hysteresis, int[] target) {
+        int count = axis.length;
+        this.axis = axis;
+        this.unitX = unitX;
+        this.unitY = unitY;
+        this.target = target;
+        this.active = new boolean[count];
+        this.radius = new float[axisCount];
+        this.enterRadius = new float[count];
+        this.exitRadius = new float[count];
+        this.enterCos = new float[count];
+        this.exitCos = new float[count];
+
+        for (int d = 0; d < count; d++) {
+            enterRadius[d] = deadzone[d];
+            exitRadius[d] = Math.max(0, deadzone[d] - hysteresis[d]);
+            enterCos[d] = (float) Math.cos(halfAngle[d]);
+            exitCos[d] = (float) Math.cos(Math.min(Math.PI, halfAngle[d] * (1 + hysteresis[d])));
+        }
+    }
+
+    /**
+     * Advances one frame.
+     *
+     * @param x    x of every axis this frame, right is positive
+     * @param y    y of every axis this frame, up is positive
+     * @param sink receives the targets to press and release
+     */
+    public void evaluate(float[] x, float[] y, ActionSink sink) {
+        for (int a = 0; a < radius.length; a++) {
+            radius[a] = (float) Math.sqrt(x[a] * x[a] + y[a] * y[a]);
+        }
+
+        for (int d = 0; d < axis.length; d++) {
+            int a = axis[d];
+            float r = radius[a];
+            float dot = x[a] * unitX[d] + y[a] * unitY[d];
+            boolean wasActive = active[d];
+
+            // Pick the enter or exit thresholds without branching on them
+            float minRadius = wasActive ? exitRadius[d] : enterRadius[d];
+            float minCos = wasActive ? exitCos[d] : enterCos[d];
+            boolean inside = r > minRadius & dot >= r * minCos;
+
+            if (inside != wasActive) {
+                active[d] = inside;
+                if (inside) {
+                    sink.press(target[d]);
+                } else {
+                    sink.release(target[d]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Releases every active direction, e.g. before the evaluator is replaced.
+     */
+    public void releaseAll(ActionSink sink) {
+        for (int d = 0; d < active.length; d++) {
+            if (active[d]) {
+                active[d] = false;
+                sink.release(target[d]);
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package dev.therealflo.client.input;
+
+/**
+ * Runs the chord, gesture and direction evaluators of a {@link BindingLayout} in the order the game does.
+ * Shared by {@link InputRuntime} and {@link InputReplay}, so a replayed recording takes exactly the live path.
+ */
+public final class FrameEvaluator {
+    private final ChordEvaluator chords;
+    private final GestureEvaluator gestures;
+    private final DirectionEvaluator directions;
+
+    public FrameEvaluator(BindingLayout layout) {
+        this.chords = layout.chordInput().length == 0 ? null : new ChordEvaluator(layout.inputCount(),
+                layout.chordModifier(), layout.chordInput(), layout.chordTarget(),
+                layout.inputBaseActions(), layout.actionIdCount());
+        this.gestures = layout.gestureInputs().length == 0 ? null : new GestureEvaluator(layout.gestureInputs(),
+                layout.gestureTargets(), layout.targetCount(), layout.longPressTicks(), layout.doubleTapTicks(),
+                layout.inputBaseActions(), layout.actionIdCount());
+        this.directions = layout.directionAxis().length == 0 ? null : new DirectionEvaluator(layout.axisCount(),
+                layout.directionAxis(), layout.directionX(), layout.directionY(), layout.directionHalfAngle(),
+                layout.directionDeadzone(), layout.directionHysteresis(), layout.directionTarget());
+    }
+
+    /**
+     * Advances the chords and directions by one frame and latches input changes for the gestures.
+     *
+     * @param down  pressed state of every input, inputs claimed by a chord are cleared
+     * @param axisX x of every axis, right is positive
+     * @param axisY y of every axis, up is positive
+     */
+    public void frame(boolean[] down, float[] axisX, float[] axisY, ActionSink sink) {
+        if (chords != null) {
+            chords.evaluate(down, sink);
+            // A press that fired a chord is not a gesture
+            for (int i = 0; i < down.length; i++) {
+                if (chords.isClaimed(i)) down[i] = false;
+            }
+        }
+        if (gestures != null) {
+            gestures.sample(down);
+        }
+        if (directions != null) {
+            directions.evaluate(axisX, axisY, sink);
+        }
+    }
+
+    /**
+     * Advances the gesture timers by one client tick.
+     */
+    public void tick(ActionSink sink) {
+        if (gestures != null) {
+            gestures.tick(sink);
+        }
+    }
+
+    /**
+     * Checks if an action is held back because an advanced binding took over its input.
+     */
+    public boolean isHeldBack(int actionId) {
+        return (chords != null && chords.isHeldBack(actionId)) || (gestures != null && gestures.isHeldBack(actionId));
+    }
+
+    /**
+     * Releases everything that is currently pressed, e.g. before the evaluator is replaced.
+     */
+    public void releaseAll(ActionSink sink) {
+        if (chords != null) {
+            chords.releaseAll(sink);
+        }
+        if (gestures != null) {
+            gestures.releaseAll(sink);
+        }
+        if (directions != null) {
+            directions.releaseAll(sink);
+        }
+    }
+}
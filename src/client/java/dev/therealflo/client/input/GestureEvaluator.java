@@ -0,0 +1,237 @@
+package dev.therealflo.client.input;
+
+/**
+ * Detects tap, long press and double tap on inputs and turns them into action presses.
+ * Input changes are latched every frame into a fixed-size event queue, and the state machines
+ * only run on client ticks, driven by a {@link TimerWheel}: a tick costs the number of input changes
+ * and expiring timers, not the number of configured gestures.
+ * Taps and double taps press their actions for a few ticks, a long press holds them until the input is released.
+ * The actions normally bound to an input with gestures are always held back.
+ */
+public final class GestureEvaluator implements TimerWheel.Expiry {
+    public static final int TAP = 0;
+    public static final int LONG_PRESS = 1;
+    public static final int DOUBLE_TAP = 2;
+    private static final int KINDS = 3;
+
+    // How long a tap or double tap keeps its actions pressed, long enough for a tick to see them
+    private static final int PULSE_TICKS = 2;
+    private static final int WHEEL_SLOTS = 32;
+    private static final int EVENT_CAPACITY = 64;
+
+    private static final byte IDLE = 0;
+    private static final byte DOWN = 1;
+    private static final byte HELD = 2;
+    private static final byte WAIT_SECOND = 3;
+    private static final byte SECOND_DOWN = 4;
+
+    // Runtime input index of every gesture input
+    private final int[] gestureInputs;
+    // Targets of each gesture input and kind, at [gesture * KINDS + kind]
+    private final int[][] targets;
+    private final int targetCount;
+    private final int longPressTicks;
+    private final int doubleTapTicks;
+    private final long[] heldBack;
+
+    private final byte[] state;
+    private final boolean[] previous;
+    // Timer ids: gesture deadlines first, then one pulse release timer per target
+    private final TimerWheel wheel;
+
+    // Ring buffer of (gesture << 1 | pressed) filled by sample(), drained by tick()
+    private final int[] events = new int[EVENT_CAPACITY];
+    private int eventHead;
+    private int eventCount;
+    private boolean overflowed;
+
+    private ActionSink sink;
+
+    /**
+     * @param gestureInputs    runtime input index of each gesture input
+     * @param targets          target indexes of each gesture input and kind, at [gesture * 3 + kind]
+     * @param targetCount      number of targets of the {@link ActionSink}
+     * @param inputBaseActions action ids bound to each runtime input
+     * @param actionIdCount    number of action ids, see {@link dev.therealflo.client.ActionIdTable}
+     */
+    public GestureEvaluator(int[] gestureInputs, int[][] targets, int targetCount, int longPressTicks, int doubleTapTicks,
+                            int[][] inputBaseActions, int actionIdCount) {
+        this.gestureInputs = gestureInputs;
+        this.targets = targets;
+        this.targetCount = targetCount;
+        this.longPressTicks = Math.max(1, longPressTicks);
+        this.doubleTapTicks = Math.max(1, doubleTapTicks);
+        this.state = new byte[gestureInputs.length];
+        this.previous = new boolean[gestureInputs.length];
+        this.wheel = new TimerWheel(WHEEL_SLOTS, gestureInputs.length + targetCount);
+
+        this.heldBack = new long[(actionIdCount + 63) >>> 6];
+        for (int input : gestureInputs) {
+            for (int actionId : inputBaseActions[input]) {
+                if (actionId >= 0 && actionId < actionIdCount) {
+                    heldBack[actionId >>> 6] |= 1L << actionId;
+                }
+            }
+        }
+    }
+
+    /**
+     * Latches the input changes of a frame, called every frame.
+     */
+    public void sample(boolean[] down) {
+        for (int g = 0; g < gestureInputs.length; g++) {
+            boolean pressed = down[gestureInputs[g]];
+            if (pressed == previous[g]) continue;
+            previous[g] = pressed;
+
+            if (eventCount == EVENT_CAPACITY) {
+                overflowed = true;
+                continue;
+            }
+            events[(eventHead + eventCount) & (EVENT_CAPACITY - 1)] = g << 1 | (pressed ? 1 : 0);
+            eventCount++;
+        }
+    }
+
+    /**
+     * Runs the state machines on the latched changes and advances the timers by one tick.
+     */
+    public void tick(ActionSink sink) {
+        this.sink = sink;
+
+        while (eventCount > 0) {
+            int event = events[eventHead];
+            eventHead = (eventHead + 1) & (EVENT_CAPACITY - 1);
+            eventCount--;
+            if ((event & 1) != 0) {
+                onPress(event >>> 1);
+            } else {
+                onRelease(event >>> 1);
+            }
+        }
+
+        // Changes were dropped, bring every state machine in line with the input
+        if (overflowed) {
+            overflowed = false;
+            for (int g = 0; g < gestureInputs.length; g++) {
+                boolean down = state[g] == DOWN || state[g] == HELD || state[g] == SECOND_DOWN;
+                if (down && !previous[g]) onRelease(g);
+            }
+        }
+
+        wheel.advance(this);
+    }
+
+    private boolean has(int gesture, int kind) {
+        return targets[gesture * KINDS + kind].length > 0;
+    }
+
+    private void onPress(int g) {
+        switch (state[g]) {
+            case IDLE -> {
+                state[g] = DOWN;
+                if (has(g, LONG_PRESS)) {
+                    wheel.schedule(g, longPressTicks);
+                }
+            }
+            case WAIT_SECOND -> {
+                wheel.cancel(g);
+                pulse(g, DOUBLE_TAP);
+                state[g] = SECOND_DOWN;
+            }
+            default -> {}
+        }
+    }
+
+    private void onRelease(int g) {
+        switch (state[g]) {
+            case DOWN -> {
+                wheel.cancel(g);
+                // Wait for a second press before deciding it was a tap
+                if (has(g, DOUBLE_TAP)) {
+                    state[g] = WAIT_SECOND;
+                    wheel.schedule(g, doubleTapTicks);
+                } else {
+                    pulse(g, TAP);
+                    state[g] = IDLE;
+                }
+            }
+            case HELD -> {
+                for (int target : targets[g * KINDS + LONG_PRESS]) {
+                    sink.release(target);
+                }
+                state[g] = IDLE;
+            }
+            case SECOND_DOWN -> state[g] = IDLE;
+            default -> {}
+        }
+    }
+
+    @Override
+    public void expired(int timer) {
+        if (timer >= gestureInputs.length) {
+            sink.release(timer - gestureInputs.length);
+            return;
+        }
+
+        int g = timer;
+        if (state[g] == DOWN) {
+            for (int target : targets[g * KINDS + LONG_PRESS]) {
+                sink.press(target);
+            }
+            state[g] = HELD;
+        } else if (state[g] == WAIT_SECOND) {
+            pulse(g, TAP);
+            state[g] = IDLE;
+        }
+    }
+
+    private void pulse(int g, int kind) {
+        for (int target : targets[g * KINDS + kind]) {
+            sink.press(target);
+            wheel.schedule(gestureInputs.length + target, PULSE_TICKS);
+        }
+    }
+
+    /**
+     * Checks if an action is held back because its input has gestures.
+     */
+    public boolean isHeldBack(int actionId) {
+        return actionId >= 0 && (actionId >>> 6) < heldBack.length && (heldBack[actionId >>> 6] & (1L << actionId)) != 0;
+    }
+
+    /**
+     * Releases everything that is currently pressed, e.g. before the evaluator is replaced.
+     */
+    public void releaseAll(ActionSink sink) {
+        for (int g = 0; g < gestureInputs.length; g++) {
+            if (state[g] == HELD) {
+                for (int target : targets[g * KINDS + LONG_PRESS]) {
+                    sink.release(target);
+                }
+            }
+            wheel.cancel(g);
+            state[g] = IDLE;
+        }
+        for (int target = 0; target < targetCount; target++) {
+            int timer = gestureInputs.length + target;
+            if (wheel.isScheduled(timer)) {
+                wheel.cancel(timer);
+                sink.release(target);
+            }
+        }
+        eventCount = 0;
+    }
+
+    /**
+     * Maps a gesture name from a profile to its kind, -1 if unknown.
+     */
+    public static int kindOf(String gesture) {
+        return switch (gesture) {
+            case "tap" -> TAP;
+            case "long_press" -> LONG_PRESS;
+            case "double_tap" -> DOUBLE_TAP;
+            default -> -1;
+        };
+    }
+}
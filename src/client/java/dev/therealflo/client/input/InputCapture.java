@@ -0,0 +1,101 @@
+package dev.therealflo.client.input;
+
+import dev.therealflo.client.InputPathDescriptions;
+import org.joml.Vector2fc;
+import org.vivecraft.client_vr.provider.control.VRInputAction;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Detects which controller input the user presses, for binding by pressing instead of picking from a list.
+ * The candidate inputs are compiled once into arrays; each poll reads the actions bound to them into
+ * preallocated state arrays and reports the first input that went down since the previous poll.
+ * Inputs already held when capturing starts have to be released first.
+ */
+public final class InputCapture {
+    // How far an axis has to be pushed to count as a direction
+    private static final float AXIS_THRESHOLD = 0.7f;
+
+    private final String[] buttonPaths;
+    private final VRInputAction[][] buttonSources;
+    private final boolean[] buttonDown;
+
+    private final String[][] axisDirectionPaths;
+    private final VRInputAction[][] axisSources;
+    // Direction each axis is pushed in, index into CARDINAL_DIRECTIONS or -1
+    private final int[] axisDirection;
+
+    private boolean primed;
+
+    /**
+     * @param buttons input path -> actions the button is sensed through
+     * @param axes    axis input path -> 2D actions the axis is sensed through
+     */
+    public InputCapture(Map<String, List<VRInputAction>> buttons, Map<String, List<VRInputAction>> axes) {
+        this.buttonPaths = new String[buttons.size()];
+        this.buttonSources = new VRInputAction[buttons.size()][];
+        this.buttonDown = new boolean[buttons.size()];
+        int i = 0;
+        for (Map.Entry<String, List<VRInputAction>> entry : buttons.entrySet()) {
+            buttonPaths[i] = entry.getKey();
+            buttonSources[i] = entry.getValue().toArray(new VRInputAction[0]);
+            i++;
+        }
+
+        this.axisDirectionPaths = new String[axes.size()][];
+        this.axisSources = new VRInputAction[axes.size()][];
+        this.axisDirection = new int[axes.size()];
+        i = 0;
+        for (Map.Entry<String, List<VRInputAction>> entry : axes.entrySet()) {
+            axisDirectionPaths[i] = InputPathDescriptions.getCardinalDirectionInputs(entry.getKey()).toArray(new String[0]);
+            axisSources[i] = entry.getValue().toArray(new VRInputAction[0]);
+            axisDirection[i] = -1;
+            i++;
+        }
+    }
+
+    /**
+     * Samples all candidate inputs once.
+     *
+     * @return the input path that was pressed since the last poll, or null
+     */
+    public String poll() {
+        String captured = null;
+
+        for (int i = 0; i < buttonSources.length; i++) {
+            boolean down = false;
+            for (VRInputAction source : buttonSources[i]) {
+                if (source.isButtonPressed()) {
+                    down = true;
+                    break;
+                }
+            }
+            if (down && !buttonDown[i] && primed && captured == null) {
+                captured = buttonPaths[i];
+            }
+            buttonDown[i] = down;
+        }
+
+        for (int i = 0; i < axisSources.length; i++) {
+            int direction = -1;
+            for (VRInputAction source : axisSources[i]) {
+                Vector2fc axis = source.getAxis2D(false);
+                float x = axis.x();
+                float y = axis.y();
+                if (x * x + y * y < AXIS_THRESHOLD * AXIS_THRESHOLD) continue;
+                // Same order as CARDINAL_DIRECTIONS: up, down, left, right
+                direction = Math.abs(y) >= Math.abs(x) ? (y > 0 ? 0 : 1) : (x < 0 ? 2 : 3);
+                break;
+            }
+            if (direction >= 0 && axisDirection[i] < 0 && primed && captured == null) {
+                captured = axisDirectionPaths[i][direction];
+            }
+            axisDirection[i] = direction;
+        }
+
+        // The first poll only records what is already held
+        primed = true;
+        return captured;
+    }
+}
@@ -0,0 +1,210 @@
+package dev.therealflo.client.input;
+
+import dev.therealflo.client.RequestModClient;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Writes what {@link InputRuntime} sees and does each frame into an {@link InputRecording}.
+ * Records go into one of two preallocated buffers; a full buffer is handed to a writer thread
+ * while recording continues in the other one, so the render thread never allocates or touches the disk.
+ * Frames only store the buttons and axes that changed since the previous frame.
+ */
+public final class InputRecorder {
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ExecutorService writer;
+    private ByteBuffer active = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private ByteBuffer spare = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private Future<?> pending;
+    private boolean failed;
+
+    // Inputs of the previous frame, sized on each layout
+    private BindingLayout layout = BindingLayout.EMPTY;
+    private boolean[] lastDown = new boolean[0];
+    private float[] lastX = new float[0];
+    private float[] lastY = new float[0];
+    private boolean fullFrame;
+    private int frameSize;
+
+    public InputRecorder(Path file) throws IOException {
+        this.file = file;
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Rebound input recorder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        active.putInt(InputRecording.MAGIC);
+        active.putShort(InputRecording.VERSION);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Records the layout the following frames are evaluated with.
+     */
+    public void layout(BindingLayout layout) {
+        if (failed) return;
+        byte[] encoded = InputRecording.encodeLayout(layout);
+        if (!ensure(1 + Integer.BYTES + encoded.length)) return;
+        active.put(InputRecording.LAYOUT).putInt(encoded.length).put(encoded);
+
+        this.layout = layout;
+        this.lastDown = new boolean[layout.inputCount()];
+        this.lastX = new float[layout.axisCount()];
+        this.lastY = new float[layout.axisCount()];
+        this.frameSize = InputRecording.maxFrameSize(layout);
+        this.fullFrame = true;
+    }
+
+    /**
+     * Records the sampled inputs of a frame, before they are evaluated.
+     */
+    public void frame(boolean[] down, float[] axisX, float[] axisY) {
+        if (failed || !ensure(frameSize)) return;
+
+        boolean buttonsChanged = fullFrame;
+        for (int i = 0; i < lastDown.length && !buttonsChanged; i++) {
+            buttonsChanged = down[i] != lastDown[i];
+        }
+        boolean axesChanged = fullFrame;
+        for (int a = 0; a < lastX.length && !axesChanged; a++) {
+            axesChanged = Float.floatToRawIntBits(axisX[a]) != Float.floatToRawIntBits(lastX[a])
+                    || Float.floatToRawIntBits(axisY[a]) != Float.floatToRawIntBits(lastY[a]);
+        }
+        fullFrame = false;
+
+        active.put(InputRecording.FRAME);
+        active.put((byte) ((buttonsChanged ? InputRecording.BUTTONS_CHANGED : 0) | (axesChanged ? InputRecording.AXES_CHANGED : 0)));
+        if (buttonsChanged) {
+            int bytes = InputRecording.buttonBytes(layout);
+            for (int b = 0; b < bytes; b++) {
+                int bits = 0;
+                for (int bit = 0; bit < 8; bit++) {
+                    int i = b << 3 | bit;
+                    if (i < lastDown.length && down[i]) bits |= 1 << bit;
+                }
+                active.put((byte) bits);
+            }
+            System.arraycopy(down, 0, lastDown, 0, lastDown.length);
+        }
+        if (axesChanged) {
+            for (int a = 0; a < lastX.length; a++) {
+                active.putFloat(axisX[a]).putFloat(axisY[a]);
+            }
+            System.arraycopy(axisX, 0, lastX, 0, lastX.length);
+            System.arraycopy(axisY, 0, lastY, 0, lastY.length);
+        }
+    }
+
+    /**
+     * Records how long the game spent on the last frame.
+     */
+    public void cost(long nanos) {
+        if (failed || !ensure(1 + InputRecording.MAX_VARINT_SIZE)) return;
+        active.put(InputRecording.COST);
+        InputRecording.putVarInt(active, (int) Math.min(Integer.MAX_VALUE, Math.max(0, nanos)));
+    }
+
+    public void tick() {
+        if (failed || !ensure(1)) return;
+        active.put(InputRecording.TICK);
+    }
+
+    /**
+     * Records a target pressed or released by the evaluators.
+     */
+    public void event(int target, boolean pressed) {
+        if (failed || !ensure(1 + InputRecording.MAX_VARINT_SIZE)) return;
+        active.put(pressed ? InputRecording.PRESS : InputRecording.RELEASE);
+        InputRecording.putVarInt(active, target);
+    }
+
+    /**
+     * Writes the remaining records and closes the file.
+     */
+    public void close() {
+        try {
+            if (!failed) {
+                swap();
+            }
+            awaitPending();
+        } finally {
+            writer.shutdown();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                RequestModClient.logWarn("Failed to close input recording " + file + ": " + e.getMessage());
+            }
+        }
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    // Makes room for a record, handing the active buffer to the writer if it is too full
+    private boolean ensure(int bytes) {
+        if (active.remaining() >= bytes) return true;
+        if (bytes > BUFFER_SIZE) {
+            fail("a record of " + bytes + " bytes doesn't fit the buffer");
+            return false;
+        }
+        swap();
+        return !failed;
+    }
+
+    private void swap() {
+        // The spare buffer is free once its last write finished
+        awaitPending();
+        if (failed) return;
+
+        ByteBuffer full = active;
+        active = spare;
+        spare = full;
+        full.flip();
+        pending = writer.submit(() -> {
+            while (full.hasRemaining()) {
+                channel.write(full);
+            }
+            full.clear();
+            return null;
+        });
+    }
+
+    private void awaitPending() {
+        if (pending == null) return;
+        try {
+            pending.get();
+        } catch (ExecutionException e) {
+            fail(e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail("interrupted");
+        }
+        pending = null;
+    }
+
+    private void fail(String reason) {
+        if (!failed) {
+            failed = true;
+            RequestModClient.logWarn("Input recording " + file + " stopped, " + reason);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package dev.therealflo.client.input;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Binary format of input recordings, shared by {@link InputRecorder} and {@link InputReplay}.
+ * A recording is a header followed by records that each start with their type byte:
+ * <ul>
+ *     <li>LAYOUT: length and the {@link BindingLayout} the following frames are evaluated with</li>
+ *     <li>FRAME: change flags, then the button bits and the axis floats if they changed since the last frame</li>
+ *     <li>COST: nanoseconds the game spent on the preceding frame</li>
+ *     <li>TICK: a client tick</li>
+ *     <li>PRESS / RELEASE: a target the evaluators pressed or released</li>
+ * </ul>
+ * Numbers are big endian, counts and targets are varints.
+ */
+public final class InputRecording {
+    public static final int MAGIC = 0x52425243; // "RBRC"
+    public static final short VERSION = 1;
+    public static final int HEADER_SIZE = Integer.BYTES + Short.BYTES;
+
+    public static final byte LAYOUT = 1;
+    public static final byte FRAME = 2;
+    public static final byte COST = 3;
+    public static final byte TICK = 4;
+    public static final byte PRESS = 5;
+    public static final byte RELEASE = 6;
+
+    public static final byte BUTTONS_CHANGED = 1;
+    public static final byte AXES_CHANGED = 2;
+
+    public static final int MAX_VARINT_SIZE = 5;
+
+    private InputRecording() {}
+
+    /**
+     * Gets the largest size a frame record of a layout can have.
+     */
+    public static int maxFrameSize(BindingLayout layout) {
+        return 2 + buttonBytes(layout) + layout.axisCount() * 2 * Float.BYTES;
+    }
+
+    public static int buttonBytes(BindingLayout layout) {
+        return (layout.inputCount() + 7) >>> 3;
+    }
+
+    public static void putVarInt(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    public static int getVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IllegalArgumentException("Varint is too long");
+    }
+
+    /**
+     * Encodes the content of a LAYOUT record, without type and length.
+     */
+    public static byte[] encodeLayout(BindingLayout layout) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(layout.inputCount());
+            out.writeInt(layout.axisCount());
+            out.writeInt(layout.targetCount());
+            out.writeInt(layout.actionIdCount());
+            writeNested(out, layout.inputBaseActions());
+            writeInts(out, layout.chordModifier());
+            writeInts(out, layout.chordInput());
+            writeInts(out, layout.chordTarget());
+            writeInts(out, layout.gestureInputs());
+            writeNested(out, layout.gestureTargets());
+            out.writeInt(layout.longPressTicks());
+            out.writeInt(layout.doubleTapTicks());
+            writeInts(out, layout.directionAxis());
+            writeFloats(out, layout.directionX());
+            writeFloats(out, layout.directionY());
+            writeFloats(out, layout.directionHalfAngle());
+            writeFloats(out, layout.directionDeadzone());
+            writeFloats(out, layout.directionHysteresis());
+            writeInts(out, layout.directionTarget());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes the content of a LAYOUT record.
+     *
+     * @throws IllegalArgumentException if the layout is truncated or inconsistent
+     */
+    public static BindingLayout decodeLayout(ByteBuffer buffer) {
+        try {
+            int inputCount = buffer.getInt();
+            int axisCount = buffer.getInt();
+            int targetCount = buffer.getInt();
+            int actionIdCount = buffer.getInt();
+            int[][] inputBaseActions = readNested(buffer);
+            int[] chordModifier = readInts(buffer);
+            int[] chordInput = readInts(buffer);
+            int[] chordTarget = readInts(buffer);
+            int[] gestureInputs = readInts(buffer);
+            int[][] gestureTargets = readNested(buffer);
+            int longPressTicks = buffer.getInt();
+            int doubleTapTicks = buffer.getInt();
+            int[] directionAxis = readInts(buffer);
+            float[] directionX = readFloats(buffer);
+            float[] directionY = readFloats(buffer);
+            float[] directionHalfAngle = readFloats(buffer);
+            float[] directionDeadzone = readFloats(buffer);
+            float[] directionHysteresis = readFloats(buffer);
+            int[] directionTarget = readInts(buffer);
+
+            if (inputBaseActions.length != inputCount || chordInput.length != chordModifier.length
+                    || chordInput.length != chordTarget.length || gestureTargets.length != gestureInputs.length * 3
+                    || directionX.length != directionAxis.length || directionTarget.length != directionAxis.length) {
+                throw new IllegalArgumentException("Layout arrays don't match");
+            }
+            return new BindingLayout(inputCount, axisCount, targetCount, actionIdCount, inputBaseActions,
+                    chordModifier, chordInput, chordTarget, gestureInputs, gestureTargets, longPressTicks, doubleTapTicks,
+                    directionAxis, directionX, directionY, directionHalfAngle, directionDeadzone, directionHysteresis,
+                    directionTarget);
+        } catch (BufferUnderflowException | NegativeArraySizeException e) {
+            throw new IllegalArgumentException("Layout is truncated", e);
+        }
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    private static void writeFloats(DataOutputStream out, float[] values) throws IOException {
+        out.writeInt(values.length);
+        for (float value : values) {
+            out.writeFloat(value);
+        }
+    }
+
+    private static void writeNested(DataOutputStream out, int[][] values) throws IOException {
+        out.writeInt(values.length);
+        for (int[] value : values) {
+            writeInts(out, value);
+        }
+    }
+
+    private static int[] readInts(ByteBuffer buffer) {
+        int[] values = new int[checkedLength(buffer, Integer.BYTES)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = buffer.getInt();
+        }
+        return values;
+    }
+
+    private static float[] readFloats(ByteBuffer buffer) {
+        float[] values = new float[checkedLength(buffer, Float.BYTES)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = buffer.getFloat();
+        }
+        return values;
+    }
+
+    private static int[][] readNested(ByteBuffer buffer) {
+        int[][] values = new int[checkedLength(buffer, Integer.BYTES)][];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = readInts(buffer);
+        }
+        return values;
+    }
+
+    // Rejects lengths the remaining bytes can't hold before allocating for them
+    private static int checkedLength(ByteBuffer buffer, int elementSize) {
+        int length = buffer.getInt();
+        if (length < 0 || (long) length * elementSize > buffer.remaining()) {
+            throw new IllegalArgumentException("Layout array length " + length + " is out of range");
+        }
+        return length;
+    }
+}
@@ -0,0 +1,239 @@
+package dev.therealflo.client.input;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Feeds an {@link InputRecording} back through {@link FrameEvaluator} without the game or a headset.
+ * Usage: {@code java -cp <mod jar> dev.therealflo.client.input.InputReplay <recording> [iterations]}
+ * <p>
+ * The first pass checks that the replay presses and releases the same targets as the game did, the exit code is 1
+ * if it diverged. All passes after the first are timed; the report puts the per-frame cost of the evaluation
+ * next to the cost recorded in the game, which also includes sampling the inputs.
+ */
+public final class InputReplay implements ActionSink {
+    private final ByteBuffer recording;
+
+    // Events as (target << 1 | pressed), with the frame each happened in
+    private int[] recordedEvents = new int[256];
+    private int recordedCount;
+    private int[] replayedEvents = new int[256];
+    private int[] replayedFrames = new int[256];
+    private int replayedCount;
+    private boolean collecting;
+
+    private long[] frameNanos = new long[1024];
+    private int timedFrames;
+    private long[] recordedCost = new long[1024];
+    private int recordedCostCount;
+
+    private int frames;
+    private int ticks;
+    private int layouts;
+
+    public InputReplay(ByteBuffer recording) {
+        this.recording = recording;
+        if (recording.remaining() < InputRecording.HEADER_SIZE || recording.getInt(recording.position()) != InputRecording.MAGIC) {
+            throw new IllegalArgumentException("Not an input recording");
+        }
+        short version = recording.getShort(recording.position() + Integer.BYTES);
+        if (version != InputRecording.VERSION) {
+            throw new IllegalArgumentException("Unsupported recording version " + version);
+        }
+    }
+
+    /**
+     * Replays the whole recording once.
+     *
+     * @param verify collect the replayed events and the recorded ones for {@link #firstDivergence()}
+     * @param timed  measure the cost of every frame
+     * @throws IllegalArgumentException if the recording is corrupt
+     */
+    public void run(boolean verify, boolean timed) {
+        ByteBuffer buffer = recording.duplicate();
+        buffer.position(buffer.position() + InputRecording.HEADER_SIZE);
+        collecting = verify;
+        frames = 0;
+        ticks = 0;
+        layouts = 0;
+
+        BindingLayout layout = BindingLayout.EMPTY;
+        FrameEvaluator evaluator = null;
+        // The evaluators clear claimed inputs, so frames are evaluated on a copy of the recorded state
+        boolean[] recordedDown = new boolean[0];
+        boolean[] down = new boolean[0];
+        float[] axisX = new float[0];
+        float[] axisY = new float[0];
+
+        try {
+            while (buffer.hasRemaining()) {
+                byte type = buffer.get();
+                switch (type) {
+                    case InputRecording.LAYOUT -> {
+                        if (evaluator != null) {
+                            evaluator.releaseAll(this);
+                        }
+                        int length = buffer.getInt();
+                        if (length < 0 || length > buffer.remaining()) {
+                            throw new IllegalArgumentException("Layout length " + length + " is out of range");
+                        }
+                        layout = InputRecording.decodeLayout(buffer.slice(buffer.position(), length));
+                        buffer.position(buffer.position() + length);
+                        evaluator = layout.isEmpty() ? null : new FrameEvaluator(layout);
+                        recordedDown = new boolean[layout.inputCount()];
+                        down = new boolean[layout.inputCount()];
+                        axisX = new float[layout.axisCount()];
+                        axisY = new float[layout.axisCount()];
+                        layouts++;
+                    }
+                    case InputRecording.FRAME -> {
+                        byte flags = buffer.get();
+                        if ((flags & InputRecording.BUTTONS_CHANGED) != 0) {
+                            int bytes = InputRecording.buttonBytes(layout);
+                            for (int b = 0; b < bytes; b++) {
+                                int bits = buffer.get();
+                                for (int bit = 0; bit < 8; bit++) {
+                                    int i = b << 3 | bit;
+                                    if (i < recordedDown.length) recordedDown[i] = (bits & (1 << bit)) != 0;
+                                }
+                            }
+                        }
+                        if ((flags & InputRecording.AXES_CHANGED) != 0) {
+                            for (int a = 0; a < axisX.length; a++) {
+                                axisX[a] = buffer.getFloat();
+                                axisY[a] = buffer.getFloat();
+                            }
+                        }
+                        if (evaluator == null) {
+                            throw new IllegalArgumentException("Frame " + frames + " has no layout");
+                        }
+
+                        System.arraycopy(recordedDown, 0, down, 0, down.length);
+                        long start = timed ? System.nanoTime() : 0;
+                        evaluator.frame(down, axisX, axisY, this);
+                        if (timed) {
+                            if (timedFrames == frameNanos.length) frameNanos = Arrays.copyOf(frameNanos, timedFrames * 2);
+                            frameNanos[timedFrames++] = System.nanoTime() - start;
+                        }
+                        frames++;
+                    }
+                    case InputRecording.COST -> {
+                        int nanos = InputRecording.getVarInt(buffer);
+                        if (verify) {
+                            if (recordedCostCount == recordedCost.length) recordedCost = Arrays.copyOf(recordedCost, recordedCostCount * 2);
+                            recordedCost[recordedCostCount++] = nanos;
+                        }
+                    }
+                    case InputRecording.TICK -> {
+                        if (evaluator != null) {
+                            evaluator.tick(this);
+                        }
+                        ticks++;
+                    }
+                    case InputRecording.PRESS, InputRecording.RELEASE -> {
+                        int target = InputRecording.getVarInt(buffer);
+                        if (verify) {
+                            if (recordedCount == recordedEvents.length) recordedEvents = Arrays.copyOf(recordedEvents, recordedCount * 2);
+                            recordedEvents[recordedCount++] = target << 1 | (type == InputRecording.PRESS ? 1 : 0);
+                        }
+                    }
+                    default -> throw new IllegalArgumentException("Unknown record type " + type + " at " + (buffer.position() - 1));
+                }
+            }
+        } catch (BufferUnderflowException e) {
+            // A recording cut off by a crash is still usable up to the last complete record
+            if (verify) {
+                System.out.println("Recording ends in the middle of a record, replayed up to frame " + frames);
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Layout refers to an index out of range", e);
+        }
+    }
+
+    /**
+     * Gets the frame where the replayed events first differ from the recorded ones, -1 if they match.
+     */
+    public int firstDivergence() {
+        int count = Math.min(recordedCount, replayedCount);
+        for (int i = 0; i < count; i++) {
+            if (recordedEvents[i] != replayedEvents[i]) return replayedFrames[i];
+        }
+        if (recordedCount == replayedCount) return -1;
+        return replayedCount > count ? replayedFrames[count] : frames;
+    }
+
+    @Override
+    public void press(int target) {
+        collect(target << 1 | 1);
+    }
+
+    @Override
+    public void release(int target) {
+        collect(target << 1);
+    }
+
+    private void collect(int event) {
+        if (!collecting) return;
+        if (replayedCount == replayedEvents.length) {
+            replayedEvents = Arrays.copyOf(replayedEvents, replayedCount * 2);
+            replayedFrames = Arrays.copyOf(replayedFrames, replayedCount * 2);
+        }
+        replayedEvents[replayedCount] = event;
+        replayedFrames[replayedCount] = frames;
+        replayedCount++;
+    }
+
+    private static String percentiles(long[] nanos, int count) {
+        if (count == 0) return "no samples";
+        long[] sorted = Arrays.copyOf(nanos, count);
+        Arrays.sort(sorted);
+        long total = 0;
+        for (long value : sorted) {
+            total += value;
+        }
+        return String.format("mean %d ns, p50 %d ns, p99 %d ns, max %d ns",
+                total / count, sorted[count / 2], sorted[Math.min(count - 1, (int) (count * 0.99))], sorted[count - 1]);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: InputReplay <recording> [iterations]");
+            System.exit(2);
+            return;
+        }
+        Path file = Paths.get(args[0]);
+        int iterations = args.length > 1 ? Math.max(1, Integer.parseInt(args[1])) : 20;
+
+        InputReplay replay;
+        try {
+            replay = new InputReplay(ByteBuffer.wrap(Files.readAllBytes(file)));
+            replay.run(true, false);
+            for (int i = 1; i < iterations; i++) {
+                replay.run(false, true);
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println("Invalid recording " + file + ": " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        System.out.println("Replayed " + file + ": " + replay.frames + " frames, " + replay.ticks + " ticks, "
+                + replay.layouts + " layouts, " + replay.recordedCount + " recorded events");
+        System.out.println("Recorded cost per frame: " + percentiles(replay.recordedCost, replay.recordedCostCount));
+        System.out.println("Replay cost per frame over " + (iterations - 1) + " passes: "
+                + percentiles(replay.frameNanos, replay.timedFrames));
+
+        int divergence = replay.firstDivergence();
+        if (divergence >= 0) {
+            System.out.println("Replay diverged from the recording at frame " + divergence
+                    + " (" + replay.replayedCount + " replayed events, " + replay.recordedCount + " recorded)");
+            System.exit(1);
+        }
+        System.out.println("Replayed events match the recording");
+    }
+}
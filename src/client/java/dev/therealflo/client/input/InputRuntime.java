@@ -0,0 +1,500 @@
+package dev.therealflo.client.input;
+
+import dev.therealflo.client.ActionIdTable;
+import dev.therealflo.client.BoundActionIndex;
+import dev.therealflo.client.DefaultBindingManager;
+import dev.therealflo.client.InputPathDescriptions;
+import dev.therealflo.client.RequestModClient;
+import dev.therealflo.client.api.IndexedInputAction;
+import dev.therealflo.client.api.MCVRInputActions;
+import org.apache.commons.lang3.tuple.Pair;
+import org.joml.Vector2fc;
+import org.vivecraft.client_vr.provider.control.VRInputAction;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Evaluates the advanced bindings of the loaded profiles on top of Vivecraft's input processing.
+ * The profiles are collected during MCOpenXR.loadDefaultBindings() and compiled into index arrays
+ * on the render thread, so the per-frame update only reads action states and walks arrays.
+ * Inputs are sensed through the actions bound to them, an input without any binding can't be used here.
+ */
+public final class InputRuntime implements ActionSink {
+    private static volatile InputRuntime instance;
+
+    /**
+     * Advanced bindings and input -> actions of all profiles of one binding load.
+     */
+    private record Spec(List<DefaultBindingManager.ChordEntry> chords, List<DefaultBindingManager.GestureEntry> gestures,
+                        int longPressTicks, int doubleTapTicks, List<Pair<String, String>> directions,
+                        Map<String, DefaultBindingManager.DirectionZone> directionZones,
+                        Map<String, Set<String>> inputActions) {
+        boolean isEmpty() {
+            return chords.isEmpty() && gestures.isEmpty() && directions.isEmpty();
+        }
+    }
+
+    private final List<DefaultBindingManager.ChordEntry> loadingChords = new ArrayList<>();
+    private final List<DefaultBindingManager.GestureEntry> loadingGestures = new ArrayList<>();
+    private final Set<Pair<String, String>> loadingDirections = new LinkedHashSet<>();
+    private final Map<String, DefaultBindingManager.DirectionZone> loadingZones = new HashMap<>();
+    private final Map<String, Set<String>> loadingInputs = new HashMap<>();
+    private DefaultBindingManager.AdvancedBindings loadingTimings;
+    private volatile Spec spec;
+    private volatile int generation;
+
+    // Compiled state, only touched on the render thread
+    private int compiledGeneration = -1;
+    private VRInputAction[][] inputSources = new VRInputAction[0][];
+    private boolean[] down = new boolean[0];
+    private VRInputAction[] targets = new VRInputAction[0];
+    private VRInputAction[][] axisSources = new VRInputAction[0][];
+    private float[] axisX = new float[0];
+    private float[] axisY = new float[0];
+    private BindingLayout layout = BindingLayout.EMPTY;
+    private FrameEvaluator evaluator;
+    private InputRecorder recorder;
+
+    /**
+     * Direction bindings compiled over the axes they belong to.
+     */
+    private record DirectionLayout(VRInputAction[][] axisSources, int[] axis, float[] unitX, float[] unitY,
+                                   float[] halfAngle, float[] deadzone, float[] hysteresis, int[] target) {
+        static final DirectionLayout EMPTY = new DirectionLayout(new VRInputAction[0][], new int[0], new float[0],
+                new float[0], new float[0], new float[0], new float[0], new int[0]);
+    }
+
+    private InputRuntime() {}
+
+    public static InputRuntime getInstance() {
+        if (instance == null) {
+            synchronized (InputRuntime.class) {
+                if (instance == null) {
+                    instance = new InputRuntime();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Starts collecting the profiles of a new binding load.
+     */
+    public synchronized void beginLoad() {
+        loadingChords.clear();
+        loadingGestures.clear();
+        loadingDirections.clear();
+        loadingZones.clear();
+        loadingInputs.clear();
+        loadingTimings = null;
+    }
+
+    /**
+     * Adds a loaded profile: its bindings, used to sense inputs and including its direction inputs, and its advanced bindings.
+     */
+    public synchronized void addProfile(String profilePath, Collection<Pair<String, String>> bindings) {
+        DefaultBindingManager.AdvancedBindings advanced = DefaultBindingManager.getInstance().loadAdvancedBindings(profilePath);
+        for (Pair<String, String> binding : bindings) {
+            if (InputPathDescriptions.isDirectionInput(binding.getRight())) {
+                loadingDirections.add(binding);
+                String axisPath = InputPathDescriptions.getAxisPath(binding.getRight());
+                loadingZones.putIfAbsent(axisPath, advanced.getDirectionZone(axisPath));
+            } else {
+                loadingInputs.computeIfAbsent(binding.getRight(), k -> new LinkedHashSet<>()).add(binding.getLeft());
+            }
+        }
+
+        List<Pair<String, String>> advancedBindings = new ArrayList<>();
+        for (DefaultBindingManager.ChordEntry chord : advanced.chords) {
+            if (chord.modifier == null || chord.inputPath == null || chord.action == null) continue;
+            advancedBindings.add(Pair.of(chord.action, chord.inputPath));
+            boolean duplicate = false;
+            for (DefaultBindingManager.ChordEntry existing : loadingChords) {
+                if (existing.modifier.equals(chord.modifier) && existing.inputPath.equals(chord.inputPath)
+                        && existing.action.equals(chord.action)) {
+                    duplicate = true;
+                    break;
+                }
+            }
+            if (!duplicate) {
+                loadingChords.add(chord);
+            }
+        }
+
+        for (DefaultBindingManager.GestureEntry gesture : advanced.gestures) {
+            if (gesture.inputPath == null || gesture.gesture == null || gesture.action == null) continue;
+            if (GestureEvaluator.kindOf(gesture.gesture) < 0) {
+                RequestModClient.logWarn("Unknown gesture " + gesture.gesture + " on " + gesture.inputPath + ", ignoring it");
+                continue;
+            }
+            advancedBindings.add(Pair.of(gesture.action, gesture.inputPath));
+            loadingGestures.add(gesture);
+        }
+        // The first profile with gestures decides their timing
+        if (loadingTimings == null && !advanced.gestures.isEmpty()) {
+            loadingTimings = advanced;
+        }
+
+        // Chord and gesture actions have no OpenXR binding, but must not be pruned or filtered out
+        BoundActionIndex.getInstance().addBindings(advancedBindings);
+    }
+
+    /**
+     * Publishes the collected profiles, they are compiled on the next frame.
+     */
+    public synchronized void endLoad() {
+        Map<String, Set<String>> inputs = new HashMap<>();
+        loadingInputs.forEach((input, actions) -> inputs.put(input, Set.copyOf(actions)));
+        DefaultBindingManager.AdvancedBindings timings = loadingTimings != null ? loadingTimings : new DefaultBindingManager.AdvancedBindings();
+        spec = new Spec(List.copyOf(loadingChords), List.copyOf(loadingGestures),
+                timings.longPressTicks, timings.doubleTapTicks, List.copyOf(loadingDirections),
+                Map.copyOf(loadingZones), Map.copyOf(inputs));
+        generation++;
+    }
+
+    /**
+     * Samples the inputs and advances the chords by one frame, and latches input changes for the gestures.
+     * Called before Vivecraft processes the actions of the frame.
+     */
+    public void update(MCVRInputActions vr) {
+        if (compiledGeneration != generation) {
+            compile(vr);
+        }
+        if (evaluator == null) return;
+        long start = recorder != null ? System.nanoTime() : 0;
+
+        for (int i = 0; i < inputSources.length; i++) {
+            boolean pressed = false;
+            for (VRInputAction source : inputSources[i]) {
+                if (source.isButtonPressed()) {
+                    pressed = true;
+                    break;
+                }
+            }
+            down[i] = pressed;
+        }
+
+        for (int a = 0; a < axisSources.length; a++) {
+            // Several vector actions may read the same axis, use the one that moved furthest
+            float x = 0;
+            float y = 0;
+            for (VRInputAction source : axisSources[a]) {
+                Vector2fc axis = source.getAxis2D(false);
+                if (axis.x() * axis.x() + axis.y() * axis.y() > x * x + y * y) {
+                    x = axis.x();
+                    y = axis.y();
+                }
+            }
+            axisX[a] = x;
+            axisY[a] = y;
+        }
+
+        if (recorder == null) {
+            evaluator.frame(down, axisX, axisY, this);
+            return;
+        }
+        // Leave the time spent recording out of the recorded cost
+        long sampled = System.nanoTime();
+        recorder.frame(down, axisX, axisY);
+        long evaluating = System.nanoTime();
+        evaluator.frame(down, axisX, axisY, this);
+        recorder.cost(sampled - start + System.nanoTime() - evaluating);
+    }
+
+    /**
+     * Advances the gesture timers, called once per client tick.
+     */
+    public void tick() {
+        if (evaluator != null) {
+            if (recorder != null) {
+                recorder.tick();
+            }
+            evaluator.tick(this);
+        }
+    }
+
+    /**
+     * Checks if Vivecraft should leave an action alone this frame because an advanced binding took over its input.
+     */
+    public boolean isHeldBack(int actionId) {
+        return evaluator != null && evaluator.isHeldBack(actionId);
+    }
+
+    /**
+     * Starts recording the inputs and outputs of every frame into a file, see {@link InputReplay}.
+     * Replaces a running recording.
+     */
+    public void startRecording(Path file) {
+        stopRecording();
+        // Start from fresh evaluators, a replay can't know what was pressed before the recording
+        if (evaluator != null) {
+            evaluator.releaseAll(this);
+            evaluator = new FrameEvaluator(layout);
+        }
+        try {
+            recorder = new InputRecorder(file);
+            recorder.layout(layout);
+            RequestModClient.logInfo("Recording inputs to " + file.toAbsolutePath());
+        } catch (IOException e) {
+            recorder = null;
+            RequestModClient.logWarn("Failed to start input recording " + file.toAbsolutePath() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Finishes the running recording, if any.
+     */
+    public void stopRecording() {
+        if (recorder == null) return;
+        InputRecorder finished = recorder;
+        recorder = null;
+        finished.close();
+        if (!finished.isFailed()) {
+            RequestModClient.logInfo("Saved input recording " + finished.getFile().toAbsolutePath());
+        }
+    }
+
+    public boolean isRecording() {
+        return recorder != null;
+    }
+
+    private void compile(MCVRInputActions vr) {
+        if (evaluator != null) {
+            evaluator.releaseAll(this);
+        }
+        compiledGeneration = generation;
+        evaluator = null;
+        layout = BindingLayout.EMPTY;
+        inputSources = new VRInputAction[0][];
+        down = new boolean[0];
+        axisSources = new VRInputAction[0][];
+        axisX = new float[0];
+        axisY = new float[0];
+
+        Spec current = spec;
+        if (current == null || current.isEmpty()) {
+            if (recorder != null) {
+                recorder.layout(layout);
+            }
+            return;
+        }
+
+        Map<String, VRInputAction> actions = vr.getInputActionMap();
+        Map<String, Integer> inputIndex = new LinkedHashMap<>();
+        List<VRInputAction> targetList = new ArrayList<>();
+        Map<String, Integer> targetIndex = new HashMap<>();
+
+        List<int[]> compiledChords = new ArrayList<>();
+        for (DefaultBindingManager.ChordEntry chord : current.chords()) {
+            int target = getTarget(chord.action, actions, targetList, targetIndex);
+            if (target < 0) continue;
+            int modifier = inputIndex.computeIfAbsent(chord.modifier, k -> inputIndex.size());
+            int input = inputIndex.computeIfAbsent(chord.inputPath, k -> inputIndex.size());
+            compiledChords.add(new int[]{modifier, input, target});
+        }
+
+        // Gesture input -> kind -> targets
+        Map<Integer, List<List<Integer>>> gestureTargets = new LinkedHashMap<>();
+        for (DefaultBindingManager.GestureEntry gesture : current.gestures()) {
+            int target = getTarget(gesture.action, actions, targetList, targetIndex);
+            if (target < 0) continue;
+            int input = inputIndex.computeIfAbsent(gesture.inputPath, k -> inputIndex.size());
+            gestureTargets.computeIfAbsent(input, k -> List.of(new ArrayList<>(), new ArrayList<>(), new ArrayList<>()))
+                    .get(GestureEvaluator.kindOf(gesture.gesture)).add(target);
+        }
+        DirectionLayout directionLayout = compileDirections(current, actions, targetList, targetIndex);
+
+        // Resolve the actions each input is sensed through and held back from
+        VRInputAction[][] sources = new VRInputAction[inputIndex.size()][];
+        int[][] baseActions = new int[inputIndex.size()][];
+        for (Map.Entry<String, Integer> entry : inputIndex.entrySet()) {
+            List<VRInputAction> bound = new ArrayList<>();
+            for (String actionName : current.inputActions().getOrDefault(entry.getKey(), Set.of())) {
+                VRInputAction action = actions.get(actionName);
+                if (action != null) {
+                    bound.add(action);
+                }
+            }
+            if (bound.isEmpty()) {
+                RequestModClient.logWarn("No action is bound to " + entry.getKey() + ", chords and gestures using it can't trigger");
+            }
+
+            int index = entry.getValue();
+            sources[index] = bound.toArray(new VRInputAction[0]);
+            baseActions[index] = new int[bound.size()];
+            for (int i = 0; i < bound.size(); i++) {
+                baseActions[index][i] = ((IndexedInputAction) bound.get(i)).getReboundId();
+            }
+
+            // Without a tap gesture, a tap presses what is normally bound to the input
+            List<List<Integer>> kinds = gestureTargets.get(index);
+            if (kinds != null && kinds.get(GestureEvaluator.TAP).isEmpty()) {
+                for (VRInputAction action : bound) {
+                    kinds.get(GestureEvaluator.TAP).add(getTarget(action.name, actions, targetList, targetIndex));
+                }
+            }
+        }
+
+        int[] chordModifier = new int[compiledChords.size()];
+        int[] chordInput = new int[compiledChords.size()];
+        int[] chordTarget = new int[compiledChords.size()];
+        for (int c = 0; c < compiledChords.size(); c++) {
+            chordModifier[c] = compiledChords.get(c)[0];
+            chordInput[c] = compiledChords.get(c)[1];
+            chordTarget[c] = compiledChords.get(c)[2];
+        }
+
+        int[] gestureInputs = new int[gestureTargets.size()];
+        int[][] kindTargets = new int[gestureTargets.size() * 3][];
+        int g = 0;
+        for (Map.Entry<Integer, List<List<Integer>>> entry : gestureTargets.entrySet()) {
+            gestureInputs[g] = entry.getKey();
+            for (int kind = 0; kind < 3; kind++) {
+                kindTargets[g * 3 + kind] = entry.getValue().get(kind).stream().mapToInt(Integer::intValue).toArray();
+            }
+            g++;
+        }
+
+        this.layout = new BindingLayout(sources.length, directionLayout.axisSources().length, targetList.size(),
+                ActionIdTable.getInstance().size(), baseActions, chordModifier, chordInput, chordTarget,
+                gestureInputs, kindTargets, current.longPressTicks(), current.doubleTapTicks(),
+                directionLayout.axis(), directionLayout.unitX(), directionLayout.unitY(), directionLayout.halfAngle(),
+                directionLayout.deadzone(), directionLayout.hysteresis(), directionLayout.target());
+        this.inputSources = sources;
+        this.down = new boolean[sources.length];
+        this.axisSources = directionLayout.axisSources();
+        this.axisX = new float[axisSources.length];
+        this.axisY = new float[axisSources.length];
+        this.targets = targetList.toArray(new VRInputAction[0]);
+        if (recorder != null) {
+            recorder.layout(layout);
+        }
+        if (layout.isEmpty()) return;
+
+        this.evaluator = new FrameEvaluator(layout);
+        RequestModClient.logInfo("Compiled " + compiledChords.size() + " chord, " + current.gestures().size() + " gesture and "
+                + directionLayout.axis().length + " direction bindings over " + sources.length + " inputs and "
+                + axisSources.length + " axes");
+    }
+
+    /**
+     * Compiles the direction inputs into sectors over the axes they belong to.
+     */
+    private DirectionLayout compileDirections(Spec current, Map<String, VRInputAction> actions,
+                                              List<VRInputAction> targetList, Map<String, Integer> targetIndex) {
+        if (current.directions().isEmpty()) return DirectionLayout.EMPTY;
+
+        Map<String, Integer> axisIndex = new LinkedHashMap<>();
+        int count = current.directions().size();
+        int[] axis = new int[count];
+        float[] unitX = new float[count];
+        float[] unitY = new float[count];
+        float[] halfAngle = new float[count];
+        float[] deadzone = new float[count];
+        float[] hysteresis = new float[count];
+        int[] target = new int[count];
+        int d = 0;
+
+        for (Pair<String, String> binding : current.directions()) {
+            String axisPath = InputPathDescriptions.getAxisPath(binding.getRight());
+            String direction = InputPathDescriptions.getDirection(binding.getRight());
+            DefaultBindingManager.DirectionZone zone = current.directionZones().getOrDefault(axisPath,
+                    new DefaultBindingManager.DirectionZone());
+
+            // Angle of the sector center, clockwise from up
+            double angle;
+            float half = DirectionEvaluator.CARDINAL_HALF_ANGLE;
+            switch (direction) {
+                case "up" -> angle = 0;
+                case "right" -> angle = Math.PI / 2;
+                case "down" -> angle = Math.PI;
+                case "left" -> angle = Math.PI * 3 / 2;
+                default -> {
+                    int sector = -1;
+                    if (direction.startsWith(InputPathDescriptions.SECTOR_PREFIX)) {
+                        try {
+                            sector = Integer.parseInt(direction.substring(InputPathDescriptions.SECTOR_PREFIX.length()));
+                        } catch (NumberFormatException ignored) {
+                        }
+                    }
+                    int sectors = Math.max(1, zone.sectors);
+                    if (sector < 0 || sector >= sectors) {
+                        RequestModClient.logWarn("Unknown direction input " + binding.getRight() + ", ignoring it");
+                        continue;
+                    }
+                    angle = Math.PI * 2 * sector / sectors;
+                    half = (float) (Math.PI / sectors);
+                }
+            }
+
+            int targetId = getTarget(binding.getLeft(), actions, targetList, targetIndex);
+            if (targetId < 0) continue;
+
+            axis[d] = axisIndex.computeIfAbsent(axisPath, k -> axisIndex.size());
+            unitX[d] = (float) Math.sin(angle);
+            unitY[d] = (float) Math.cos(angle);
+            halfAngle[d] = half;
+            deadzone[d] = zone.deadzone;
+            hysteresis[d] = zone.hysteresis;
+            target[d] = targetId;
+            d++;
+        }
+        if (d == 0) return DirectionLayout.EMPTY;
+
+        // Axes are read through the vector actions bound to them
+        VRInputAction[][] sources = new VRInputAction[axisIndex.size()][];
+        for (Map.Entry<String, Integer> entry : axisIndex.entrySet()) {
+            List<VRInputAction> bound = new ArrayList<>();
+            for (String actionName : current.inputActions().getOrDefault(entry.getKey(), Set.of())) {
+                VRInputAction action = actions.get(actionName);
+                if (action != null && "vector2".equals(action.type)) {
+                    bound.add(action);
+                }
+            }
+            if (bound.isEmpty()) {
+                RequestModClient.logWarn("No 2D action is bound to " + entry.getKey() + ", its directions can't trigger");
+            }
+            sources[entry.getValue()] = bound.toArray(new VRInputAction[0]);
+        }
+
+        return new DirectionLayout(sources, Arrays.copyOf(axis, d), Arrays.copyOf(unitX, d),
+                Arrays.copyOf(unitY, d), Arrays.copyOf(halfAngle, d), Arrays.copyOf(deadzone, d),
+                Arrays.copyOf(hysteresis, d), Arrays.copyOf(target, d));
+    }
+
+    /**
+     * Gets the target index of an action, adding it on first use. Returns -1 if the action isn't registered.
+     */
+    private static int getTarget(String actionName, Map<String, VRInputAction> actions,
+                                 List<VRInputAction> targetList, Map<String, Integer> targetIndex) {
+        Integer existing = targetIndex.get(actionName);
+        if (existing != null) return existing;
+
+        VRInputAction action = actions.get(actionName);
+        if (action == null) {
+            RequestModClient.logWarn("Action " + actionName + " is not registered, ignoring its advanced bindings");
+            return -1;
+        }
+        targetList.add(action);
+        targetIndex.put(actionName, targetList.size() - 1);
+        return targetList.size() - 1;
+    }
+
+    @Override
+    public void press(int target) {
+        if (recorder != null) {
+            recorder.event(target, true);
+        }
+        targets[target].pressBinding();
+    }
+
+    @Override
+    public void release(int target) {
+        if (recorder != null) {
+            recorder.event(target, false);
+        }
+        targets[target].unpressBinding();
+    }
+}
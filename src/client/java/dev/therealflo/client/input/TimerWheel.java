@@ -0,0 +1,108 @@
+package dev.therealflo.client.input;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size hashed timer wheel over a fixed set of timer ids.
+ * Every id has at most one pending timer, kept in an intrusive list per slot,
+ * so scheduling, cancelling and advancing one tick never allocate.
+ * Timers further away than the wheel size simply stay in their slot for more rounds.
+ */
+public final class TimerWheel {
+    private final int mask;
+    private final int[] slotHead;
+    private final int[] next;
+    private final int[] prev;
+    private final int[] slot;
+    private final long[] expiry;
+    private long now;
+
+    /**
+     * @param slots   number of slots, rounded up to a power of two
+     * @param timers  number of timer ids
+     */
+    public TimerWheel(int slots, int timers) {
+        int size = Integer.highestOneBit(Math.max(1, slots - 1)) << 1;
+        this.mask = size - 1;
+        this.slotHead = new int[size];
+        this.next = new int[timers];
+        this.prev = new int[timers];
+        this.slot = new int[timers];
+        this.expiry = new long[timers];
+        Arrays.fill(slotHead, -1);
+        Arrays.fill(slot, -1);
+    }
+
+    /**
+     * Called for every timer that expires while advancing.
+     */
+    public interface Expiry {
+        void expired(int timer);
+    }
+
+    /**
+     * Schedules a timer to expire after the given number of ticks, replacing a pending one with the same id.
+     */
+    public void schedule(int timer, int ticks) {
+        cancel(timer);
+        long at = now + Math.max(1, ticks);
+        int index = (int) (at & mask);
+
+        expiry[timer] = at;
+        slot[timer] = index;
+        prev[timer] = -1;
+        next[timer] = slotHead[index];
+        if (slotHead[index] >= 0) {
+            prev[slotHead[index]] = timer;
+        }
+        slotHead[index] = timer;
+    }
+
+    /**
+     * Cancels a pending timer, does nothing if it isn't scheduled.
+     */
+    public void cancel(int timer) {
+        int index = slot[timer];
+        if (index < 0) return;
+
+        if (prev[timer] >= 0) {
+            next[prev[timer]] = next[timer];
+        } else {
+            slotHead[index] = next[timer];
+        }
+        if (next[timer] >= 0) {
+            prev[next[timer]] = prev[timer];
+        }
+        slot[timer] = -1;
+    }
+
+    public boolean isScheduled(int timer) {
+        return slot[timer] >= 0;
+    }
+
+    /**
+     * Advances the wheel by one tick and fires the timers that expire on it.
+     * Timers may be scheduled again from the callback.
+     */
+    public void advance(Expiry callback) {
+        now++;
+        int index = (int) (now & mask);
+        int timer = slotHead[index];
+        while (timer >= 0) {
+            int following = next[timer];
+            if (expiry[timer] == now) {
+                cancel(timer);
+                callback.expired(timer);
+                // The callback may have moved the next timer to another slot, start over on this one
+                if (following >= 0 && slot[following] != index) {
+                    following = slotHead[index];
+                }
+            }
+            timer = following;
+        }
+    }
+
+    public long getTick() {
+        return now;
+    }
+}
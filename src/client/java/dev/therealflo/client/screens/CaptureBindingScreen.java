@@ -0,0 +1,162 @@
+package dev.therealflo.client.screens;
+
+import dev.therealflo.client.BindingEditSession;
+import dev.therealflo.client.DefaultBindingManager;
+import dev.therealflo.client.InputPathDescriptions;
+import dev.therealflo.client.api.MCVRInputActions;
+import dev.therealflo.client.input.InputCapture;
+import io.wispforest.owo.ui.base.BaseOwoScreen;
+import io.wispforest.owo.ui.component.Components;
+import io.wispforest.owo.ui.container.Containers;
+import io.wispforest.owo.ui.container.FlowLayout;
+import io.wispforest.owo.ui.core.*;
+import net.minecraft.client.gui.screen.Screen;
+import net.minecraft.text.Text;
+import org.apache.commons.lang3.tuple.Pair;
+import org.jetbrains.annotations.NotNull;
+import org.vivecraft.client_vr.ClientDataHolderVR;
+import org.vivecraft.client_vr.provider.control.VRInputAction;
+
+import java.util.*;
+
+/**
+ * Screen that waits for the user to press the controller input they want to bind,
+ * then opens the {@link SelectActionScreen} for that input.
+ * Inputs are only sampled from this screen's tick, so capturing costs nothing while it isn't open.
+ */
+public class CaptureBindingScreen extends BaseOwoScreen<FlowLayout> {
+    private final Screen parentScreen;
+    private final String interactionProfile;
+    private final BindingEditSession session;
+    private final String modifier;
+    private InputCapture capture; // Compiled on the first tick
+
+    public CaptureBindingScreen(Screen parentScreen, String interactionProfile, BindingEditSession session, String modifier) {
+        this.parentScreen = parentScreen;
+        this.interactionProfile = interactionProfile;
+        this.session = session;
+        this.modifier = modifier;
+    }
+
+    @Override
+    protected @NotNull OwoUIAdapter<FlowLayout> createAdapter() {
+        return OwoUIAdapter.create(this, Containers::verticalFlow);
+    }
+
+    @Override
+    protected void build(FlowLayout rootComponent) {
+        rootComponent
+                .surface(Surface.VANILLA_TRANSLUCENT)
+                .horizontalAlignment(HorizontalAlignment.CENTER)
+                .verticalAlignment(VerticalAlignment.CENTER);
+
+        String title = modifier == null ? "Press the button you want to bind" :
+                "Press the button you want to bind while holding " + InputPathDescriptions.getDisplayName(interactionProfile, modifier);
+        rootComponent.child(
+                Components.label(Text.literal(title))
+                        .color(Color.ofRgb(0xFFFFFF))
+                        .shadow(true)
+                        .margins(Insets.bottom(5))
+        );
+
+        rootComponent.child(
+                Components.label(Text.literal("Push a thumbstick to bind one of its directions. Only inputs bound to a menu or global action can be detected reliably."))
+                        .color(Color.ofRgb(0xAAAAAA))
+                        .margins(Insets.bottom(10))
+        );
+
+        rootComponent.child(
+                Components.button(
+                        Text.literal("Cancel"),
+                        button -> this.close()
+                )
+        );
+    }
+
+    @Override
+    public void tick() {
+        super.tick();
+
+        if (capture == null) {
+            capture = createCapture();
+            if (capture == null) return;
+        }
+
+        String inputPath = capture.poll();
+        if (inputPath != null && this.client != null) {
+            this.client.setScreen(new SelectActionScreen(
+                    parentScreen,
+                    interactionProfile,
+                    inputPath,
+                    InputPathDescriptions.getDescription(interactionProfile, inputPath),
+                    session,
+                    modifier
+            ));
+        }
+    }
+
+    /**
+     * Collects the inputs of the profile together with the actions they can be sensed through.
+     * Actions of the sets that stay active while a screen is open come first, the others are likely inactive.
+     * Returns null while VR isn't running.
+     */
+    private InputCapture createCapture() {
+        if (!(ClientDataHolderVR.getInstance().vr instanceof MCVRInputActions vr)) {
+            return null;
+        }
+        // Actions pruned from the action map are still registered by their key binding
+        Map<String, VRInputAction> actions = new HashMap<>();
+        for (VRInputAction action : vr.getInputActionsByKeyBinding().values()) {
+            actions.put(action.name, action);
+        }
+        actions.putAll(vr.getInputActionMap());
+
+        // The bindings OpenXR was given, not the staged ones
+        Map<String, List<VRInputAction>> byInput = new HashMap<>();
+        Collection<Pair<String, String>> bindings = DefaultBindingManager.getInstance().loadDefaultBindings(session.getProfilePath());
+        if (bindings != null) {
+            for (Pair<String, String> binding : bindings) {
+                VRInputAction action = actions.get(binding.getLeft());
+                if (action != null) {
+                    byInput.computeIfAbsent(binding.getRight(), k -> new ArrayList<>()).add(action);
+                }
+            }
+        }
+        for (List<VRInputAction> sources : byInput.values()) {
+            sources.sort(Comparator.comparing(action -> !isActiveInScreens(action)));
+        }
+
+        Map<String, List<VRInputAction>> buttons = new LinkedHashMap<>();
+        Map<String, List<VRInputAction>> axes = new LinkedHashMap<>();
+        for (String inputPath : InputPathDescriptions.getAllInputs(interactionProfile).keySet()) {
+            List<VRInputAction> sources = byInput.get(inputPath);
+            if (sources == null || inputPath.equals(modifier)) continue;
+
+            if (!InputPathDescriptions.isAxisInput(inputPath)) {
+                buttons.put(inputPath, sources);
+            } else if (modifier == null) {
+                List<VRInputAction> vectors = new ArrayList<>();
+                for (VRInputAction source : sources) {
+                    if ("vector2".equals(source.type)) {
+                        vectors.add(source);
+                    }
+                }
+                if (!vectors.isEmpty()) {
+                    axes.put(inputPath, vectors);
+                }
+            }
+        }
+        return new InputCapture(buttons, axes);
+    }
+
+    private static boolean isActiveInScreens(VRInputAction action) {
+        return action.name.startsWith("/actions/gui/") || action.name.startsWith("/actions/global/");
+    }
+
+    @Override
+    public void close() {
+        if (this.client != null) {
+            this.client.setScreen(parentScreen);
+        }
+    }
+}
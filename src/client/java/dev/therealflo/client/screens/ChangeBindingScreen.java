@@ -1,8 +1,11 @@
 package dev.therealflo.client.screens;
 
+import dev.therealflo.client.BindingEditSession;
 import dev.therealflo.client.DefaultBindingManager;
 import dev.therealflo.client.InputPathDescriptions;
+import dev.therealflo.client.api.MCOpenXRReload;
 import io.wispforest.owo.ui.base.BaseOwoScreen;
+import io.wispforest.owo.ui.component.ButtonComponent;
 import io.wispforest.owo.ui.component.Components;
 import io.wispforest.owo.ui.container.Containers;
 import io.wispforest.owo.ui.container.FlowLayout;
@@ -10,22 +13,29 @@ import io.wispforest.owo.ui.container.GridLayout;
 import io.wispforest.owo.ui.container.ScrollContainer;
 import io.wispforest.owo.ui.core.*;
 import net.minecraft.text.Text;
-import org.apache.commons.lang3.tuple.Pair;
 import org.jetbrains.annotations.NotNull;
+import org.vivecraft.client_vr.ClientDataHolderVR;
 
 import java.util.*;
 
 /**
  * Screen for changing VR controller bindings.
  * Shows all controller inputs with their currently bound actions (game/mod keys only).
+ * The layer button switches between the base bindings and the chord layer of each modifier input.
+ * Changes are staged in a {@link BindingEditSession} and only saved when the user applies them.
  */
 public class ChangeBindingScreen extends BaseOwoScreen<FlowLayout> {
+    // Default to Quest/Pico controllers
+    public static final String DEFAULT_INTERACTION_PROFILE = "/interaction_profiles/oculus/touch_controller";
+
     private String interactionProfile;
-    private Collection<Pair<String, String>> allBindings; // Store all bindings for validation
+    private BindingEditSession session; // Staged bindings, opened on first build
+    private String layerModifier; // Modifier input of the chord layer shown, null for the base layer
+    private int sessionGeneration; // Bindings generation the session was loaded or last committed at
+    private boolean diagramView; // Show the controller diagram instead of the list
     
     public ChangeBindingScreen() {
-        // Default to Quest/Pico controllers
-        this.interactionProfile = "/interaction_profiles/oculus/touch_controller";
+        this.interactionProfile = DEFAULT_INTERACTION_PROFILE;
     }
     
     public ChangeBindingScreen(String interactionProfile) {
@@ -48,19 +58,22 @@ public class ChangeBindingScreen extends BaseOwoScreen<FlowLayout> {
         FlowLayout mainContainer = Containers.verticalFlow(Sizing.fill(90), Sizing.fill(90));
         mainContainer.padding(Insets.of(10));
         
+        // Load current bindings once, later builds show the staged state
+        if (session == null) {
+            sessionGeneration = DefaultBindingManager.getInstance().getBindingsGeneration();
+            session = BindingEditSession.open(interactionProfile);
+        }
+
         // Title
         mainContainer.child(
-                Components.label(Text.literal("Controller Bindings"))
+                Components.label(Text.literal("Controller Bindings" + (session != null ? " - " + getProfileName() : "")
+                                + (session != null && session.isDirty() ? " (unsaved changes)" : "")))
                         .color(Color.ofRgb(0xFFFFFF))
                         .shadow(true)
                         .margins(Insets.bottom(10))
         );
         
-        // Load current bindings
-        DefaultBindingManager manager = DefaultBindingManager.getInstance();
-        allBindings = manager.loadDefaultBindings(interactionProfile);
-        
-        if (allBindings == null || allBindings.isEmpty()) {
+        if (session == null || session.getInputPaths().isEmpty()) {
             mainContainer.child(
                     Components.label(Text.literal("No bindings found"))
                             .color(Color.ofRgb(0xFF0000))
@@ -69,13 +82,149 @@ public class ChangeBindingScreen extends BaseOwoScreen<FlowLayout> {
             return;
         }
         
-        // Build a map of input paths to their bound actions (only game/mod keys)
-        Map<String, List<String>> inputToActions = buildInputToActionsMap(allBindings);
+        // Group inputs by hand for better organization
+        Map<String, Map<String, InputPathDescriptions.InputDescription>> byHand = 
+                InputPathDescriptions.getInputsByHand(interactionProfile);
+
+        // Layer selection: base bindings, or what each input does while a modifier is held
+        List<String> modifiers = new ArrayList<>();
+        for (String hand : Arrays.asList("Left", "Right")) {
+            for (String inputPath : byHand.get(hand).keySet()) {
+                if (!InputPathDescriptions.isAxisInput(inputPath)) {
+                    modifiers.add(inputPath);
+                }
+            }
+        }
+        String layerName = layerModifier == null ? "Base" :
+                "Hold " + InputPathDescriptions.getDisplayName(interactionProfile, layerModifier);
+        FlowLayout viewRow = Containers.horizontalFlow(Sizing.content(), Sizing.content());
+        viewRow.gap(8);
+        viewRow.margins(Insets.bottom(5));
+        viewRow.child(
+                Components.button(
+                        Text.literal("Layer: " + layerName),
+                        button -> {
+                            int next = modifiers.indexOf(layerModifier) + 1;
+                            layerModifier = next < modifiers.size() ? modifiers.get(next) : null;
+                            refresh();
+                        }
+                )
+        );
+        viewRow.child(
+                Components.button(
+                        Text.literal("View: " + (diagramView ? "Diagram" : "List")),
+                        button -> {
+                            diagramView = !diagramView;
+                            refresh();
+                        }
+                )
+        );
+        // Switching profiles in the library would drop unsaved changes
+        ButtonComponent libraryButton = Components.button(
+                Text.literal("Profiles..."),
+                button -> {
+                    if (this.client != null) {
+                        this.client.setScreen(new ProfileLibraryScreen(this));
+                    }
+                }
+        );
+        libraryButton.active = !session.isDirty();
+        viewRow.child(libraryButton);
+        ButtonComponent newProfileButton = Components.button(
+                Text.literal("New Profile"),
+                button -> {
+                    // Starts as a copy of what is loaded now and only saves what is changed afterwards
+                    DefaultBindingManager.getInstance().createProfileFromEffective(interactionProfile);
+                    if (ClientDataHolderVR.getInstance().vr instanceof MCOpenXRReload reloadable) {
+                        reloadable.reloadXRBindings();
+                    }
+                    if (this.client != null) {
+                        this.client.setScreen(ScreenCache.getInstance().getBindingScreen(interactionProfile));
+                    }
+                }
+        );
+        newProfileButton.active = !session.isDirty();
+        viewRow.child(newProfileButton);
+        mainContainer.child(viewRow);
+
+        // Inputs as a scrolling list, or drawn on a diagram of the controllers
+        mainContainer.child(diagramView ? buildDiagram(byHand) : buildList(byHand));
         
-        // Get all available inputs for this controller
-        Map<String, InputPathDescriptions.InputDescription> allInputs = 
-                InputPathDescriptions.getAllInputs(interactionProfile);
+        // Capture, Undo/Redo, Apply, Back + Quit buttons
+        FlowLayout buttonRow = Containers.horizontalFlow(Sizing.content(), Sizing.content());
+        buttonRow.horizontalAlignment(HorizontalAlignment.CENTER);
+        buttonRow.gap(8);
+        buttonRow.margins(Insets.top(10));
+
+        buttonRow.child(
+                Components.button(
+                        Text.literal("Press to Bind..."),
+                        button -> {
+                            if (this.client != null) {
+                                this.client.setScreen(new CaptureBindingScreen(this, interactionProfile, session, layerModifier));
+                            }
+                        }
+                )
+        );
+
+        ButtonComponent undoButton = Components.button(
+                Text.literal("Undo"),
+                button -> {
+                    session.undo();
+                    refresh();
+                }
+        );
+        undoButton.active = session.canUndo();
+        buttonRow.child(undoButton);
+
+        ButtonComponent redoButton = Components.button(
+                Text.literal("Redo"),
+                button -> {
+                    session.redo();
+                    refresh();
+                }
+        );
+        redoButton.active = session.canRedo();
+        buttonRow.child(redoButton);
+
+        ButtonComponent applyButton = Components.button(
+                Text.literal("Save & Apply"),
+                button -> {
+                    session.commit();
+                    sessionGeneration = DefaultBindingManager.getInstance().getBindingsGeneration();
+                    refresh();
+                }
+        );
+        applyButton.active = session.isDirty();
+        buttonRow.child(applyButton);
+
+        buttonRow.child(
+                Components.button(
+                        Text.literal("Back"),
+                        button -> this.close()
+                )
+        );
+
+        buttonRow.child(
+                Components.button(
+                        Text.literal("Quit Game"),
+                        button -> {
+                            if (this.client != null) {
+                                this.client.scheduleStop();
+                            }
+                        }
+                )
+        );
+
+        mainContainer.child(buttonRow);
         
+        rootComponent.child(mainContainer);
+    }
+
+    /**
+     * Builds the list view: a scrolling grid with a row and a button per input.
+     */
+    private ScrollContainer<FlowLayout> buildList(Map<String, Map<String, InputPathDescriptions.InputDescription>> byHand) {
         // Create scrollable container for the grid
         ScrollContainer<FlowLayout> scrollContainer = Containers.verticalScroll(
                 Sizing.fill(100),
@@ -101,10 +250,6 @@ public class ChangeBindingScreen extends BaseOwoScreen<FlowLayout> {
         );
         scrollContent.child(headerGrid.margins(Insets.bottom(5)));
         
-        // Group inputs by hand for better organization
-        Map<String, Map<String, InputPathDescriptions.InputDescription>> byHand = 
-                InputPathDescriptions.getInputsByHand(interactionProfile);
-        
         // Create sections for each hand
         for (String hand : Arrays.asList("Left", "Right")) {
             Map<String, InputPathDescriptions.InputDescription> handInputs = byHand.get(hand);
@@ -120,20 +265,20 @@ public class ChangeBindingScreen extends BaseOwoScreen<FlowLayout> {
             );
             
             // Create a row for each input
-            for (Map.Entry<String, InputPathDescriptions.InputDescription> entry : handInputs.entrySet()) {
+            for (Map.Entry<String, InputPathDescriptions.InputDescription> entry : getRows(handInputs).entrySet()) {
                 String inputPath = entry.getKey();
                 InputPathDescriptions.InputDescription inputDesc = entry.getValue();
                 
-                // Get actions bound to this input (only game/mod keys)
-                List<String> boundActions = inputToActions.getOrDefault(inputPath, new ArrayList<>());
+                // Get actions bound to this input on the shown layer
+                List<String> boundActions = getBoundActions(inputPath);
                 
-                // Skip axis inputs (thumbstick/trackpad without /click)
-                if (InputPathDescriptions.isAxisInput(inputPath)) {
+                // Skip the modifier of the shown layer
+                if (inputPath.equals(layerModifier)) {
                     continue;
                 }
                 
                 // Validate bindings
-                ValidationResult validation = validateBindings(inputPath, allBindings);
+                BindingEditSession.ValidationResult validation = validate(inputPath);
                 
                 // Create grid for this input (2 columns: input name, button)
                 GridLayout bindingGrid = Containers.grid(Sizing.fill(100), Sizing.content(), 1, 2);
@@ -149,28 +294,7 @@ public class ChangeBindingScreen extends BaseOwoScreen<FlowLayout> {
                 );
                 
                 // Bound action(s)
-                String actionDisplay;
-                Color actionColor;
-                
-                if (boundActions.isEmpty()) {
-                    actionDisplay = "Not bound";
-                    actionColor = Color.ofRgb(0x888888);
-                } else if (boundActions.size() == 1) {
-                    String actionName = getActionTranslation(boundActions.getFirst());
-                    String category = getActionSetCategory(boundActions.getFirst());
-                    actionDisplay = actionName + " [" + category + "]";
-                    actionColor = validation.isValid ? Color.ofRgb(0x00FF00) : Color.ofRgb(0xFF0000);
-                } else {
-                    String actionName = getActionTranslation(boundActions.getFirst());
-                    String category = getActionSetCategory(boundActions.getFirst());
-                    actionDisplay = actionName + " [" + category + "] (+" + (boundActions.size() - 1) + ")";
-                    actionColor = validation.isValid ? Color.ofRgb(0x00FF00) : Color.ofRgb(0xFF0000);
-                }
-                
-                // Show validation error if present (use text prefix instead of emoji)
-                if (!validation.isValid) {
-                    actionDisplay = "[!] " + actionDisplay;
-                }
+                String actionDisplay = getActionDisplay(boundActions, validation);
                 
                 // Change button - show for ALL bindings now (not just game/mod)
                 if (!boundActions.isEmpty()) {
@@ -196,105 +320,108 @@ public class ChangeBindingScreen extends BaseOwoScreen<FlowLayout> {
             }
         }
         
-        mainContainer.child(scrollContainer);
-        
-        // Back + Quit buttons
-        FlowLayout buttonRow = Containers.horizontalFlow(Sizing.content(), Sizing.content());
-        buttonRow.horizontalAlignment(HorizontalAlignment.CENTER);
-        buttonRow.gap(8);
-        buttonRow.margins(Insets.top(10));
+        return scrollContainer;
+    }
 
-        buttonRow.child(
-                Components.button(
-                        Text.literal("Back"),
-                        button -> this.close()
-                )
-        );
+    /**
+     * Builds the diagram view: both controllers drawn by a single component, clicking an input changes its binding.
+     */
+    private ControllerDiagramComponent buildDiagram(Map<String, Map<String, InputPathDescriptions.InputDescription>> byHand) {
+        List<ControllerDiagramComponent.Hotspot> hotspots = new ArrayList<>();
+        Map<String, InputPathDescriptions.InputDescription> descriptions = new HashMap<>();
+        for (String hand : Arrays.asList("Left", "Right")) {
+            for (Map.Entry<String, InputPathDescriptions.InputDescription> entry : getRows(byHand.get(hand)).entrySet()) {
+                String inputPath = entry.getKey();
+                if (inputPath.equals(layerModifier)) continue;
 
-        buttonRow.child(
-                Components.button(
-                        Text.literal("Quit Game"),
-                        button -> {
-                            if (this.client != null) {
-                                this.client.scheduleStop();
-                            }
-                        }
-                )
-        );
+                List<String> boundActions = getBoundActions(inputPath);
+                BindingEditSession.ValidationResult validation = validate(inputPath);
+                int color = boundActions.isEmpty() ? 0x888888 : validation.isValid ? 0x00FF00 : 0xFF0000;
+                Text label = Text.literal(entry.getValue().displayName + ": ")
+                        .append(Text.literal(getActionDisplay(boundActions, validation)).styled(style -> style.withColor(color)));
 
-        mainContainer.child(buttonRow);
-        
-        rootComponent.child(mainContainer);
+                hotspots.add(new ControllerDiagramComponent.Hotspot(inputPath, "Right".equals(hand), label));
+                descriptions.put(inputPath, entry.getValue());
+            }
+        }
+
+        ControllerDiagramComponent diagram = new ControllerDiagramComponent(hotspots, inputPath ->
+                onChangeBinding(inputPath, descriptions.get(inputPath), getBoundActions(inputPath), validate(inputPath)));
+        diagram.sizing(Sizing.fill(100), Sizing.fill(75));
+        return diagram;
     }
 
     /**
-     * Represents the result of binding validation.
+     * Gets the inputs shown for one hand: buttons, and on the base layer the up/down/left/right directions of each axis.
+     * Axes are bound through their directions, chords only apply to buttons.
      */
-    private static class ValidationResult {
-        boolean isValid;
-        String errorMessage;
-        boolean hasGlobal;
-        int ingameModCount;
-        
-        ValidationResult(boolean isValid, String errorMessage, boolean hasGlobal, int ingameModCount) {
-            this.isValid = isValid;
-            this.errorMessage = errorMessage;
-            this.hasGlobal = hasGlobal;
-            this.ingameModCount = ingameModCount;
+    private Map<String, InputPathDescriptions.InputDescription> getRows(Map<String, InputPathDescriptions.InputDescription> handInputs) {
+        Map<String, InputPathDescriptions.InputDescription> rows = new LinkedHashMap<>();
+        for (Map.Entry<String, InputPathDescriptions.InputDescription> entry : handInputs.entrySet()) {
+            if (!InputPathDescriptions.isAxisInput(entry.getKey())) {
+                rows.put(entry.getKey(), entry.getValue());
+            } else if (layerModifier == null) {
+                for (String direction : InputPathDescriptions.getCardinalDirectionInputs(entry.getKey())) {
+                    rows.put(direction, InputPathDescriptions.getDescription(interactionProfile, direction));
+                }
+            }
         }
+        return rows;
     }
-    
+
     /**
-     * Validates the bindings for a specific input path according to the rules:
-     * - Only one ingame or mod binding allowed
-     * - One global binding allowed, but no other bindings if global is present
+     * Gets the actions bound to an input on the shown layer.
      */
-    private ValidationResult validateBindings(String inputPath, Collection<Pair<String, String>> bindings) {
-        int ingameModCount = 0;
-        boolean hasGlobal = false;
-        
-        for (Pair<String, String> binding : bindings) {
-            if (!binding.getRight().equals(inputPath)) {
-                continue;
-            }
-            
-            String action = binding.getLeft();
-            
-            if (action.startsWith("/actions/global/in/")) {
-                hasGlobal = true;
-            } else if (action.startsWith("/actions/ingame/in/") || action.startsWith("/actions/mod/in/")) {
-                ingameModCount++;
-            }
+    private List<String> getBoundActions(String inputPath) {
+        return new ArrayList<>(layerModifier != null ?
+                session.getChordActions(layerModifier, inputPath) : session.getActions(inputPath));
+    }
+
+    private BindingEditSession.ValidationResult validate(String inputPath) {
+        return layerModifier != null ? session.validateChord(layerModifier, inputPath) : session.validate(inputPath);
+    }
+
+    /**
+     * Describes the actions bound to an input: the first one with its action set, and how many more there are.
+     */
+    private String getActionDisplay(List<String> boundActions, BindingEditSession.ValidationResult validation) {
+        if (boundActions.isEmpty()) {
+            return "Not bound";
         }
-        
-        // Check validation rules
-        if (hasGlobal && (ingameModCount > 0)) {
-            return new ValidationResult(false, "Global binding cannot coexist with other bindings", hasGlobal, ingameModCount);
+
+        String actionName = getActionTranslation(boundActions.getFirst());
+        String category = getActionSetCategory(boundActions.getFirst());
+        String actionDisplay = actionName + " [" + category + "]";
+        if (boundActions.size() > 1) {
+            actionDisplay += " (+" + (boundActions.size() - 1) + ")";
         }
-        
-        if (ingameModCount > 1) {
-            return new ValidationResult(false, "Only one ingame/mod binding allowed per input", hasGlobal, ingameModCount);
+
+        // Show validation error if present (use text prefix instead of emoji)
+        if (!validation.isValid) {
+            actionDisplay = "[!] " + actionDisplay;
         }
-        
-        return new ValidationResult(true, null, hasGlobal, ingameModCount);
+        return actionDisplay;
+    }
+
+    public String getInteractionProfile() {
+        return interactionProfile;
     }
 
     /**
-     * Builds a map of input paths to their bound actions.
-     * Now includes ALL actions - ingame, mod, global, contextual, gui, and keyboard.
+     * Gets the name of the edited profile, "default" for the headset's default bindings.
      */
-    private Map<String, List<String>> buildInputToActionsMap(Collection<Pair<String, String>> bindings) {
-        Map<String, List<String>> inputToActions = new LinkedHashMap<>();
-        
-        for (Pair<String, String> binding : bindings) {
-            String action = binding.getLeft();
-            String inputPath = binding.getRight();
-            
-            // Include ALL actions (no filtering)
-            inputToActions.computeIfAbsent(inputPath, k -> new ArrayList<>()).add(action);
-        }
-        
-        return inputToActions;
+    private String getProfileName() {
+        String profilePath = session.getProfilePath();
+        return profilePath.equals(interactionProfile) ? "default" : profilePath.substring(profilePath.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * Checks if the screen can be shown again as it is: it was built, has no unsaved changes,
+     * and the saved bindings didn't change since they were loaded.
+     */
+    public boolean isUpToDate() {
+        return session != null && !session.isDirty()
+                && sessionGeneration == DefaultBindingManager.getInstance().getBindingsGeneration();
     }
 
     /**
@@ -340,7 +467,7 @@ public class ChangeBindingScreen extends BaseOwoScreen<FlowLayout> {
     }
 
     /**
-     * Refreshes the screen by reloading bindings and rebuilding the UI.
+     * Refreshes the screen by rebuilding the UI from the staged bindings.
      * Called when returning from SelectActionScreen to show updated bindings.
      */
     public void refresh() {
@@ -357,7 +484,7 @@ public class ChangeBindingScreen extends BaseOwoScreen<FlowLayout> {
      * Opens the SelectActionScreen to allow the user to choose which actions to bind.
      */
     private void onChangeBinding(String inputPath, InputPathDescriptions.InputDescription inputDesc, 
-                                  List<String> boundActions, ValidationResult validation) {
+                                  List<String> boundActions, BindingEditSession.ValidationResult validation) {
         System.out.println("Opening action selection for input: " + inputPath + " (" + inputDesc.displayName + ")");
         System.out.println("Currently bound actions: " + boundActions);
         
@@ -372,7 +499,8 @@ public class ChangeBindingScreen extends BaseOwoScreen<FlowLayout> {
                     interactionProfile,
                     inputPath,
                     inputDesc,
-                    allBindings
+                    session,
+                    layerModifier
             ));
         }
     }
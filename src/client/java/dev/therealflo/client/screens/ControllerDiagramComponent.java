@@ -0,0 +1,275 @@
+package dev.therealflo.client.screens;
+
+import dev.therealflo.client.InputPathDescriptions;
+import io.wispforest.owo.ui.base.BaseComponent;
+import io.wispforest.owo.ui.core.OwoUIDrawContext;
+import io.wispforest.owo.ui.core.Sizing;
+import io.wispforest.owo.ui.util.UISounds;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.font.TextRenderer;
+import net.minecraft.text.OrderedText;
+import net.minecraft.text.Text;
+import net.minecraft.util.Language;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Draws both controllers as a diagram with a hotspot per input and its bound actions as a label next to it.
+ * It is a single component instead of a label and a button per input: the layout of hotspots, leader lines
+ * and trimmed label text is computed once per size, and a frame only emits all rectangles followed by all
+ * labels, so the GUI and text batches are each flushed once instead of alternating per input.
+ */
+public class ControllerDiagramComponent extends BaseComponent {
+    private static final int BODY_EDGE_COLOR = 0xFF606060;
+    private static final int BODY_COLOR = 0xFF262626;
+    private static final int HOTSPOT_COLOR = 0xFFFFFFFF;
+    private static final int LEADER_COLOR = 0x80FFFFFF;
+    private static final int HOVER_COLOR = 0x6000FFFF;
+    private static final int HOTSPOT_SIZE = 3; // Half width of a hotspot
+    private static final int LABEL_GAP = 2;
+    // Share of the width used by each label column
+    private static final float LABEL_COLUMN = 0.3f;
+    // Offset of the direction hotspots from their axis, in panel coordinates
+    private static final float DIRECTION_OFFSET = 0.07f;
+
+    /**
+     * An input shown on the diagram with its label, the label keeps the styles of the text.
+     */
+    public record Hotspot(String inputPath, boolean rightHand, Text label) {}
+
+    private final List<Hotspot> hotspots;
+    private final Consumer<String> onClick;
+
+    // Layout cache, relative to the component and rebuilt when the size changes
+    private int layoutWidth = -1;
+    private int layoutHeight = -1;
+    private int[] spotX;
+    private int[] spotY;
+    private int[] labelX;
+    private int[] labelY;
+    private int[] labelWidth;
+    private OrderedText[] labelText;
+    // Rectangles drawn every frame as (x1, y1, x2, y2, color)
+    private int[] fills;
+
+    public ControllerDiagramComponent(List<Hotspot> hotspots, Consumer<String> onClick) {
+        this.hotspots = List.copyOf(hotspots);
+        this.onClick = onClick;
+    }
+
+    @Override
+    protected int determineHorizontalContentSize(Sizing sizing) {
+        return 320;
+    }
+
+    @Override
+    protected int determineVerticalContentSize(Sizing sizing) {
+        return 200;
+    }
+
+    @Override
+    public void draw(OwoUIDrawContext context, int mouseX, int mouseY, float partialTicks, float delta) {
+        if (layoutWidth != width || layoutHeight != height) {
+            layout();
+        }
+        TextRenderer textRenderer = MinecraftClient.getInstance().textRenderer;
+
+        // All rectangles first: they share the GUI render layer and end up in one batch
+        for (int i = 0; i < fills.length; i += 5) {
+            context.fill(x + fills[i], y + fills[i + 1], x + fills[i + 2], y + fills[i + 3], fills[i + 4]);
+        }
+        int hovered = hit(mouseX - x, mouseY - y);
+        if (hovered >= 0) {
+            context.fill(x + labelX[hovered] - 1, y + labelY[hovered] - 1,
+                    x + labelX[hovered] + labelWidth[hovered] + 1, y + labelY[hovered] + textRenderer.fontHeight, HOVER_COLOR);
+            context.fill(x + spotX[hovered] - HOTSPOT_SIZE - 1, y + spotY[hovered] - HOTSPOT_SIZE - 1,
+                    x + spotX[hovered] + HOTSPOT_SIZE + 1, y + spotY[hovered] + HOTSPOT_SIZE + 1, HOVER_COLOR);
+        }
+
+        // Then all labels, which only switches to the font layer once
+        for (int i = 0; i < labelText.length; i++) {
+            context.drawText(textRenderer, labelText[i], x + labelX[i], y + labelY[i], 0xFFFFFFFF, true);
+        }
+    }
+
+    @Override
+    public boolean onMouseDown(double mouseX, double mouseY, int button) {
+        int index = hit((int) mouseX, (int) mouseY);
+        if (index >= 0 && button == 0) {
+            UISounds.playInteractionSound();
+            onClick.accept(hotspots.get(index).inputPath());
+            return true;
+        }
+        return super.onMouseDown(mouseX, mouseY, button);
+    }
+
+    /**
+     * Gets the hotspot whose marker or label is at a position relative to the component, -1 if none.
+     */
+    private int hit(int relativeX, int relativeY) {
+        if (labelText == null) return -1;
+        int fontHeight = MinecraftClient.getInstance().textRenderer.fontHeight;
+        for (int i = 0; i < labelText.length; i++) {
+            if (relativeX >= labelX[i] - 1 && relativeX <= labelX[i] + labelWidth[i] + 1
+                    && relativeY >= labelY[i] - 1 && relativeY < labelY[i] + fontHeight) {
+                return i;
+            }
+            if (Math.abs(relativeX - spotX[i]) <= HOTSPOT_SIZE + 1 && Math.abs(relativeY - spotY[i]) <= HOTSPOT_SIZE + 1) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Places the controllers, hotspots and labels for the current size and trims the label text to fit.
+     */
+    private void layout() {
+        layoutWidth = width;
+        layoutHeight = height;
+        TextRenderer textRenderer = MinecraftClient.getInstance().textRenderer;
+        int fontHeight = textRenderer.fontHeight;
+
+        int count = hotspots.size();
+        spotX = new int[count];
+        spotY = new int[count];
+        labelX = new int[count];
+        labelY = new int[count];
+        labelWidth = new int[count];
+        labelText = new OrderedText[count];
+        List<Integer> fillList = new ArrayList<>();
+
+        int column = (int) (width * LABEL_COLUMN);
+        int panelWidth = width / 2 - column;
+        int[] unplaced = new int[2];
+
+        for (int hand = 0; hand < 2; hand++) {
+            boolean right = hand == 1;
+            int panelX = right ? width / 2 : column;
+
+            // Controller body: a head and a handle, each an edge with the body on top
+            addBody(fillList, panelX, panelWidth, 0.2f, 0.05f, 0.8f, 0.7f);
+            addBody(fillList, panelX, panelWidth, right ? 0.45f : 0.3f, 0.65f, right ? 0.7f : 0.55f, 0.95f);
+
+            for (int i = 0; i < count; i++) {
+                Hotspot hotspot = hotspots.get(i);
+                if (hotspot.rightHand() != right) continue;
+
+                float[] anchor = getAnchor(hotspot.inputPath(), right);
+                if (anchor == null) {
+                    // Inputs without a known place are lined up along the bottom of the head
+                    float offset = 0.28f + 0.1f * (unplaced[hand]++ % 5);
+                    anchor = new float[]{right ? 1 - offset : offset, 0.65f};
+                }
+                spotX[i] = panelX + Math.round(anchor[0] * panelWidth);
+                spotY[i] = Math.round(anchor[1] * height);
+            }
+        }
+
+        // Labels go into the column of their hand, ordered like their hotspots and pushed apart to not overlap
+        for (int hand = 0; hand < 2; hand++) {
+            boolean right = hand == 1;
+            List<Integer> order = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                if (hotspots.get(i).rightHand() == right) order.add(i);
+            }
+            order.sort(Comparator.comparingInt(i -> spotY[i]));
+
+            int step = fontHeight + LABEL_GAP;
+            int previous = Integer.MIN_VALUE;
+            for (int i : order) {
+                labelY[i] = Math.max(spotY[i] - fontHeight / 2, previous == Integer.MIN_VALUE ? 0 : previous + step);
+                previous = labelY[i];
+            }
+            // Pull labels back up if the last ones ran out of the bottom
+            int limit = height - fontHeight;
+            for (int k = order.size() - 1; k >= 0; k--) {
+                int i = order.get(k);
+                if (labelY[i] > limit) labelY[i] = limit;
+                limit = labelY[i] - step;
+            }
+
+            for (int i : order) {
+                OrderedText text = Language.getInstance().reorder(textRenderer.trimToWidth(hotspots.get(i).label(), column - 4));
+                labelText[i] = text;
+                labelWidth[i] = textRenderer.getWidth(text);
+                labelX[i] = right ? width - column + 2 : column - 2 - labelWidth[i];
+
+                // Leader line: along the label's middle to below the hotspot, then to the hotspot
+                int lineY = labelY[i] + fontHeight / 2;
+                int labelEdge = right ? labelX[i] - 1 : labelX[i] + labelWidth[i] + 1;
+                addFill(fillList, Math.min(labelEdge, spotX[i]), lineY, Math.max(labelEdge, spotX[i]) + 1, lineY + 1, LEADER_COLOR);
+                addFill(fillList, spotX[i], Math.min(lineY, spotY[i]), spotX[i] + 1, Math.max(lineY, spotY[i]) + 1, LEADER_COLOR);
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            addFill(fillList, spotX[i] - HOTSPOT_SIZE, spotY[i] - HOTSPOT_SIZE,
+                    spotX[i] + HOTSPOT_SIZE, spotY[i] + HOTSPOT_SIZE, HOTSPOT_COLOR);
+        }
+
+        fills = fillList.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private void addBody(List<Integer> fillList, int panelX, int panelWidth, float x1, float y1, float x2, float y2) {
+        int left = panelX + Math.round(x1 * panelWidth);
+        int top = Math.round(y1 * height);
+        int right = panelX + Math.round(x2 * panelWidth);
+        int bottom = Math.round(y2 * height);
+        addFill(fillList, left, top, right, bottom, BODY_EDGE_COLOR);
+        addFill(fillList, left + 1, top + 1, right - 1, bottom - 1, BODY_COLOR);
+    }
+
+    private static void addFill(List<Integer> fillList, int x1, int y1, int x2, int y2, int color) {
+        fillList.add(x1);
+        fillList.add(y1);
+        fillList.add(x2);
+        fillList.add(y2);
+        fillList.add(color);
+    }
+
+    /**
+     * Gets where an input sits on its controller, as fractions of the panel width and the height.
+     * The right controller is a mirrored left one. Returns null for inputs without a known place.
+     */
+    private static float[] getAnchor(String inputPath, boolean right) {
+        int start = inputPath.indexOf("/input/");
+        if (start < 0) return null;
+        String[] parts = inputPath.substring(start + "/input/".length()).split("/");
+
+        float[] base = switch (parts[0]) {
+            case "trigger" -> new float[]{0.55f, 0.1f};
+            case "squeeze" -> new float[]{0.24f, 0.4f};
+            case "thumbstick", "joystick", "trackpad" -> new float[]{0.45f, 0.3f};
+            case "thumbrest" -> new float[]{0.72f, 0.34f};
+            case "x", "a" -> new float[]{0.62f, 0.55f};
+            case "y", "b" -> new float[]{0.72f, 0.45f};
+            case "menu", "system" -> new float[]{0.4f, 0.55f};
+            default -> null;
+        };
+        if (base == null) return null;
+        if (right) {
+            base[0] = 1 - base[0];
+        }
+        if (parts.length < 2) return base;
+
+        if (inputPath.contains(InputPathDescriptions.DIRECTION_SEGMENT)) {
+            return switch (InputPathDescriptions.getDirection(inputPath)) {
+                case "up" -> new float[]{base[0], base[1] - DIRECTION_OFFSET};
+                case "down" -> new float[]{base[0], base[1] + DIRECTION_OFFSET};
+                case "left" -> new float[]{base[0] - DIRECTION_OFFSET, base[1]};
+                case "right" -> new float[]{base[0] + DIRECTION_OFFSET, base[1]};
+                default -> base;
+            };
+        }
+        // Component inputs of the same control sit next to each other
+        return switch (parts[parts.length - 1]) {
+            case "touch" -> new float[]{base[0] + 0.05f, base[1] - 0.04f};
+            case "value", "force" -> new float[]{base[0], base[1] + 0.05f};
+            default -> base;
+        };
+    }
+}
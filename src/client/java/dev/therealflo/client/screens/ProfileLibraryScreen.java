@@ -0,0 +1,310 @@
+package dev.therealflo.client.screens;
+
+import dev.therealflo.client.DefaultBindingManager;
+import dev.therealflo.client.ProfileLibrary;
+import dev.therealflo.client.ProfileShareCode;
+import dev.therealflo.client.api.MCOpenXRReload;
+import io.wispforest.owo.ui.base.BaseOwoScreen;
+import io.wispforest.owo.ui.component.ButtonComponent;
+import io.wispforest.owo.ui.component.Components;
+import io.wispforest.owo.ui.container.Containers;
+import io.wispforest.owo.ui.container.FlowLayout;
+import io.wispforest.owo.ui.container.ScrollContainer;
+import io.wispforest.owo.ui.core.*;
+import net.minecraft.client.gui.screen.Screen;
+import net.minecraft.text.Text;
+import org.jetbrains.annotations.NotNull;
+import org.vivecraft.client_vr.ClientDataHolderVR;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Screen listing every saved profile with its metadata from {@link ProfileLibrary},
+ * where profiles can be activated, duplicated, deleted and shared as codes through the clipboard.
+ */
+public class ProfileLibraryScreen extends BaseOwoScreen<FlowLayout> {
+    private static final DateTimeFormatter MODIFIED_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")
+            .withZone(ZoneId.systemDefault());
+
+    private final Screen parentScreen;
+    private String pendingDelete; // Profile path whose delete button was pressed once and waits for confirmation
+    private String statusMessage; // Result of the last export or import
+
+    public ProfileLibraryScreen(Screen parentScreen) {
+        this.parentScreen = parentScreen;
+    }
+
+    @Override
+    protected @NotNull OwoUIAdapter<FlowLayout> createAdapter() {
+        return OwoUIAdapter.create(this, Containers::verticalFlow);
+    }
+
+    @Override
+    protected void build(FlowLayout rootComponent) {
+        rootComponent
+                .surface(Surface.VANILLA_TRANSLUCENT)
+                .horizontalAlignment(HorizontalAlignment.CENTER)
+                .verticalAlignment(VerticalAlignment.CENTER);
+
+        FlowLayout mainContainer = Containers.verticalFlow(Sizing.fill(90), Sizing.fill(90));
+        mainContainer.padding(Insets.of(10));
+
+        mainContainer.child(
+                Components.label(Text.literal("Profile Library"))
+                        .color(Color.ofRgb(0xFFFFFF))
+                        .shadow(true)
+                        .margins(Insets.bottom(10))
+        );
+
+        List<ProfileLibrary.ProfileInfo> profiles = ProfileLibrary.getInstance().getProfiles();
+        if (profiles.isEmpty()) {
+            mainContainer.child(
+                    Components.label(Text.literal("No profiles found"))
+                            .color(Color.ofRgb(0xFF0000))
+            );
+        } else {
+            mainContainer.child(buildList(profiles));
+        }
+
+        if (statusMessage != null) {
+            mainContainer.child(
+                    Components.label(Text.literal(statusMessage))
+                            .color(Color.ofRgb(0xFFFF55))
+                            .margins(Insets.top(5))
+            );
+        }
+
+        FlowLayout buttonRow = Containers.horizontalFlow(Sizing.content(), Sizing.content());
+        buttonRow.horizontalAlignment(HorizontalAlignment.CENTER);
+        buttonRow.gap(8);
+        buttonRow.margins(Insets.top(10));
+        buttonRow.child(
+                Components.button(
+                        Text.literal("Import from Clipboard"),
+                        button -> onImport(profiles)
+                )
+        );
+        buttonRow.child(
+                Components.button(
+                        Text.literal("Refresh"),
+                        button -> {
+                            ProfileLibrary.getInstance().refresh();
+                            refresh();
+                        }
+                )
+        );
+        buttonRow.child(
+                Components.button(
+                        Text.literal("Back"),
+                        button -> this.close()
+                )
+        );
+        mainContainer.child(buttonRow);
+
+        rootComponent.child(mainContainer);
+    }
+
+    private ScrollContainer<FlowLayout> buildList(List<ProfileLibrary.ProfileInfo> profiles) {
+        ScrollContainer<FlowLayout> scrollContainer = Containers.verticalScroll(
+                Sizing.fill(100),
+                Sizing.fill(80),
+                Containers.verticalFlow(Sizing.fill(100), Sizing.content())
+        );
+        FlowLayout scrollContent = (FlowLayout) scrollContainer.child();
+
+        String interactionProfile = null;
+        for (ProfileLibrary.ProfileInfo profile : profiles) {
+            // Interaction profile header
+            if (!profile.interactionProfile().equals(interactionProfile)) {
+                interactionProfile = profile.interactionProfile();
+                scrollContent.child(
+                        Components.label(Text.literal(interactionProfile.substring(interactionProfile.lastIndexOf('/') + 1)))
+                                .color(Color.ofRgb(0x00FFFF))
+                                .shadow(true)
+                                .margins(Insets.of(10, 0, 5, 0))
+                );
+            }
+            scrollContent.child(buildRow(profile, profiles));
+        }
+        return scrollContainer;
+    }
+
+    private FlowLayout buildRow(ProfileLibrary.ProfileInfo profile, List<ProfileLibrary.ProfileInfo> profiles) {
+        FlowLayout row = Containers.horizontalFlow(Sizing.fill(100), Sizing.content());
+        row.padding(Insets.of(5));
+        row.margins(Insets.bottom(2));
+        row.verticalAlignment(VerticalAlignment.CENTER);
+
+        FlowLayout details = Containers.verticalFlow(Sizing.fill(60), Sizing.content());
+        details.child(
+                Components.label(Text.literal(profile.name() + (profile.active() ? " (active)" : "")))
+                        .color(Color.ofRgb(profile.active() ? 0x00FF00 : 0xFFFFFF))
+        );
+        String info = profile.bindingCount() + " bindings, #" + String.format("%08x", profile.contentHash() >>> 32)
+                + ", modified " + (profile.lastModified() > 0 ? MODIFIED_FORMAT.format(Instant.ofEpochMilli(profile.lastModified())) : "unknown")
+                + (profile.base() != null ? ", based on " + profile.base() : "");
+        details.child(
+                Components.label(Text.literal(info))
+                        .color(Color.ofRgb(0xAAAAAA))
+        );
+        details.child(
+                Components.label(Text.literal(getStatus(profile)))
+                        .color(Color.ofRgb(!profile.isValid() ? 0xFF5555 : profile.unknownActions() > 0 ? 0xFFFF55 : 0x55FF55))
+        );
+        row.child(details);
+
+        FlowLayout buttons = Containers.horizontalFlow(Sizing.content(), Sizing.content());
+        buttons.gap(4);
+
+        ButtonComponent activateButton = Components.button(
+                Text.literal("Activate"),
+                button -> onActivate(profile)
+        );
+        activateButton.active = !profile.active() && profile.error() == null;
+        buttons.child(activateButton);
+
+        buttons.child(
+                Components.button(
+                        Text.literal("Duplicate"),
+                        button -> onDuplicate(profile, profiles)
+                )
+        );
+
+        ButtonComponent exportButton = Components.button(
+                Text.literal("Export"),
+                button -> onExport(profile)
+        );
+        exportButton.active = profile.error() == null;
+        buttons.child(exportButton);
+
+        boolean confirming = profile.profilePath().equals(pendingDelete);
+        ButtonComponent deleteButton = Components.button(
+                Text.literal(confirming ? "Confirm Delete" : "Delete"),
+                button -> onDelete(profile, confirming)
+        );
+        deleteButton.active = !"default".equals(profile.name());
+        buttons.child(deleteButton);
+
+        row.child(buttons);
+        return row;
+    }
+
+    private static String getStatus(ProfileLibrary.ProfileInfo profile) {
+        if (profile.error() != null) {
+            return profile.error();
+        }
+        if (profile.unsupportedInputs() > 0) {
+            return profile.unsupportedInputs() + " bindings to inputs this controller doesn't have";
+        }
+        if (profile.unknownActions() > 0) {
+            return profile.unknownActions() + " bindings to actions that aren't registered";
+        }
+        return "OK";
+    }
+
+    private void onActivate(ProfileLibrary.ProfileInfo profile) {
+        DefaultBindingManager.getInstance().setActiveProfile(profile.interactionProfile(), profile.name());
+        if (ClientDataHolderVR.getInstance().vr instanceof MCOpenXRReload reloadable) {
+            reloadable.reloadXRBindings();
+        }
+        pendingDelete = null;
+        refresh();
+    }
+
+    /**
+     * Gets the first name starting with the prefix that no profile of the interaction profile uses:
+     * the prefix itself, then the prefix followed by 2, 3...
+     */
+    private static String getFreeName(String interactionProfile, String prefix, List<ProfileLibrary.ProfileInfo> profiles) {
+        Set<String> names = new HashSet<>();
+        for (ProfileLibrary.ProfileInfo other : profiles) {
+            if (other.interactionProfile().equals(interactionProfile)) {
+                names.add(other.name());
+            }
+        }
+        String name = prefix;
+        for (int i = 2; names.contains(name); i++) {
+            name = prefix + i;
+        }
+        return name;
+    }
+
+    private void onDuplicate(ProfileLibrary.ProfileInfo profile, List<ProfileLibrary.ProfileInfo> profiles) {
+        String newName = getFreeName(profile.interactionProfile(), profile.name() + "_copy", profiles);
+        DefaultBindingManager.getInstance().duplicateProfile(profile.interactionProfile(), profile.name(), newName);
+        pendingDelete = null;
+        refresh();
+    }
+
+    private void onExport(ProfileLibrary.ProfileInfo profile) {
+        String code = DefaultBindingManager.getInstance().exportProfile(profile.interactionProfile(), profile.name());
+        if (code != null && this.client != null) {
+            this.client.keyboard.setClipboard(code);
+            statusMessage = "Copied the share code of " + profile.name() + " to the clipboard";
+        } else {
+            statusMessage = "Couldn't export " + profile.name();
+        }
+        pendingDelete = null;
+        refresh();
+    }
+
+    private void onImport(List<ProfileLibrary.ProfileInfo> profiles) {
+        if (this.client == null) return;
+
+        DefaultBindingManager manager = DefaultBindingManager.getInstance();
+        String code = this.client.keyboard.getClipboard();
+        String interactionProfile;
+        try {
+            interactionProfile = manager.getUnifiedProfile(ProfileShareCode.decode(code).interactionProfile());
+        } catch (IllegalArgumentException e) {
+            statusMessage = "Clipboard has no valid share code: " + e.getMessage();
+            refresh();
+            return;
+        }
+
+        String name = getFreeName(interactionProfile, "imported", profiles);
+        statusMessage = manager.importProfile(code, name) != null ?
+                "Imported profile " + name + " for " + interactionProfile.substring(interactionProfile.lastIndexOf('/') + 1) :
+                "Couldn't import the share code";
+        pendingDelete = null;
+        refresh();
+    }
+
+    private void onDelete(ProfileLibrary.ProfileInfo profile, boolean confirmed) {
+        if (!confirmed) {
+            pendingDelete = profile.profilePath();
+            refresh();
+            return;
+        }
+
+        boolean wasActive = profile.active();
+        DefaultBindingManager.getInstance().deleteProfile(profile.interactionProfile(), profile.name());
+        if (wasActive && ClientDataHolderVR.getInstance().vr instanceof MCOpenXRReload reloadable) {
+            reloadable.reloadXRBindings();
+        }
+        pendingDelete = null;
+        refresh();
+    }
+
+    public void refresh() {
+        if (this.uiAdapter != null && this.uiAdapter.rootComponent != null) {
+            this.uiAdapter.rootComponent.clearChildren();
+            this.build(this.uiAdapter.rootComponent);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.client != null) {
+            // The binding screen may show a profile that was switched or deleted here, the cache gives an up to date one
+            Screen parent = parentScreen instanceof ChangeBindingScreen bindingScreen ?
+                    ScreenCache.getInstance().getBindingScreen(bindingScreen.getInteractionProfile()) : parentScreen;
+            this.client.setScreen(parent);
+        }
+    }
+}
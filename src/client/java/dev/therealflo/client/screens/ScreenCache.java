@@ -0,0 +1,103 @@
+package dev.therealflo.client.screens;
+
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gui.screen.Screen;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Keeps the last built binding screen of each interaction profile, so reopening it shows the already laid out
+ * component tree instead of building it and loading the bindings again.
+ * A cached binding screen is only reused while it is up to date with the bindings generation and has no unsaved
+ * changes; screens that weren't shown for {@link #IDLE_TIMEOUT_NANOS} are dropped to release their memory.
+ */
+public final class ScreenCache {
+    private static final long IDLE_TIMEOUT_NANOS = 5L * 60 * 1_000_000_000L;
+
+    private static volatile ScreenCache instance;
+
+    private static final class Entry {
+        final Screen screen;
+        long lastUsed;
+
+        Entry(Screen screen) {
+            this.screen = screen;
+            this.lastUsed = System.nanoTime();
+        }
+    }
+
+    // Only touched on the client thread
+    private final Map<String, Entry> bindingScreens = new HashMap<>();
+    private Entry reloadScreen;
+
+    private ScreenCache() {}
+
+    public static ScreenCache getInstance() {
+        if (instance == null) {
+            synchronized (ScreenCache.class) {
+                if (instance == null) {
+                    instance = new ScreenCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Gets the binding screen of the default interaction profile.
+     */
+    public ChangeBindingScreen getBindingScreen() {
+        return getBindingScreen(ChangeBindingScreen.DEFAULT_INTERACTION_PROFILE);
+    }
+
+    /**
+     * Gets the cached binding screen of an interaction profile, or a new one if it isn't cached or outdated.
+     */
+    public ChangeBindingScreen getBindingScreen(String interactionProfile) {
+        Entry entry = bindingScreens.get(interactionProfile);
+        if (entry != null && ((ChangeBindingScreen) entry.screen).isUpToDate()) {
+            entry.lastUsed = System.nanoTime();
+            return (ChangeBindingScreen) entry.screen;
+        }
+
+        ChangeBindingScreen screen = new ChangeBindingScreen(interactionProfile);
+        bindingScreens.put(interactionProfile, new Entry(screen));
+        return screen;
+    }
+
+    public ReloadBindingsScreen getReloadScreen() {
+        if (reloadScreen == null) {
+            reloadScreen = new Entry(new ReloadBindingsScreen());
+        }
+        reloadScreen.lastUsed = System.nanoTime();
+        return (ReloadBindingsScreen) reloadScreen.screen;
+    }
+
+    /**
+     * Drops screens that weren't shown for a while, called once per client tick.
+     */
+    public void tick(MinecraftClient client) {
+        if (bindingScreens.isEmpty() && reloadScreen == null) return;
+
+        long now = System.nanoTime();
+        Screen current = client.currentScreen;
+        for (Iterator<Entry> iterator = bindingScreens.values().iterator(); iterator.hasNext(); ) {
+            Entry entry = iterator.next();
+            if (entry.screen == current) {
+                entry.lastUsed = now;
+            } else if (now - entry.lastUsed > IDLE_TIMEOUT_NANOS) {
+                iterator.remove();
+            }
+        }
+
+        if (reloadScreen != null) {
+            if (reloadScreen.screen == current) {
+                reloadScreen.lastUsed = now;
+            } else if (now - reloadScreen.lastUsed > IDLE_TIMEOUT_NANOS) {
+                reloadScreen = null;
+            }
+        }
+    }
+}
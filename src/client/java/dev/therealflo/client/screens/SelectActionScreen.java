@@ -1,6 +1,6 @@
 package dev.therealflo.client.screens;
 
-import dev.therealflo.client.DefaultBindingManager;
+import dev.therealflo.client.BindingEditSession;
 import dev.therealflo.client.InputPathDescriptions;
 import dev.therealflo.client.RequestModClient;
 import io.wispforest.owo.ui.base.BaseOwoScreen;
@@ -12,7 +12,6 @@ import io.wispforest.owo.ui.container.ScrollContainer;
 import io.wispforest.owo.ui.core.*;
 import net.minecraft.client.gui.screen.Screen;
 import net.minecraft.text.Text;
-import org.apache.commons.lang3.tuple.Pair;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
@@ -20,32 +19,38 @@ import java.util.*;
 /**
  * Screen for selecting which actions should be bound to a specific input.
  * Shows all available actions organized by category with checkboxes.
+ * The selection is staged in the parent's edit session, nothing is saved here.
+ * With a modifier, the selection is staged on that modifier's chord layer instead.
  */
 public class SelectActionScreen extends BaseOwoScreen<FlowLayout> {
     private final Screen parentScreen;
     private final String interactionProfile;
     private final String inputPath;
     private final InputPathDescriptions.InputDescription inputDesc;
-    private final Collection<Pair<String, String>> allBindings;
+    private final BindingEditSession session;
+    private final String modifier;
     private final Set<String> currentlyBoundActions;
     private final Map<String, CheckboxComponent> actionCheckboxes = new LinkedHashMap<>();
 
     public SelectActionScreen(Screen parentScreen, String interactionProfile, String inputPath,
                                InputPathDescriptions.InputDescription inputDesc,
-                               Collection<Pair<String, String>> allBindings) {
+                               BindingEditSession session) {
+        this(parentScreen, interactionProfile, inputPath, inputDesc, session, null);
+    }
+
+    public SelectActionScreen(Screen parentScreen, String interactionProfile, String inputPath,
+                               InputPathDescriptions.InputDescription inputDesc,
+                               BindingEditSession session, String modifier) {
         this.parentScreen = parentScreen;
         this.interactionProfile = interactionProfile;
         this.inputPath = inputPath;
         this.inputDesc = inputDesc;
-        this.allBindings = allBindings;
+        this.session = session;
+        this.modifier = modifier;
         
-        // Build set of currently bound actions for this input
-        this.currentlyBoundActions = new HashSet<>();
-        for (Pair<String, String> binding : allBindings) {
-            if (binding.getRight().equals(inputPath)) {
-                currentlyBoundActions.add(binding.getLeft());
-            }
-        }
+        // Currently bound actions for this input on the edited layer
+        this.currentlyBoundActions = modifier != null ?
+                session.getChordActions(modifier, inputPath) : session.getActions(inputPath);
     }
 
     @Override
@@ -73,8 +78,10 @@ public class SelectActionScreen extends BaseOwoScreen<FlowLayout> {
         );
         
         // Subtitle with input path
+        String subtitle = modifier == null ? inputPath :
+                inputPath + " while holding " + InputPathDescriptions.getDisplayName(interactionProfile, modifier);
         mainContainer.child(
-                Components.label(Text.literal(inputPath))
+                Components.label(Text.literal(subtitle))
                         .color(Color.ofRgb(0xAAAAAA))
                         .margins(Insets.bottom(10))
         );
@@ -173,11 +180,7 @@ public class SelectActionScreen extends BaseOwoScreen<FlowLayout> {
         if (allActions.isEmpty()) {
             // Fallback: If we can't get registered actions, use only those in bindings
             System.out.println("[SelectActionScreen] Warning: Could not get registered actions, falling back to bindings only");
-            Set<String> bindingActions = new HashSet<>();
-            for (Pair<String, String> binding : allBindings) {
-                bindingActions.add(binding.getLeft());
-            }
-            allActions = new ArrayList<>(bindingActions);
+            allActions = new ArrayList<>(session.getAllBoundActions());
         }
         
         System.out.println("[SelectActionScreen] Total actions available: " + allActions.size());
@@ -235,7 +238,7 @@ public class SelectActionScreen extends BaseOwoScreen<FlowLayout> {
     
     /**
      * Called when the user clicks Apply.
-     * Updates the bindings based on checkbox selections.
+     * Stages the checkbox selection for this input in the edit session.
      */
     private void onApply() {
         // Build new set of selected actions
@@ -246,27 +249,12 @@ public class SelectActionScreen extends BaseOwoScreen<FlowLayout> {
             }
         }
         
-        // Create new bindings list
-        List<Pair<String, String>> newBindings = new ArrayList<>();
-        
-        // Keep all bindings for other inputs
-        for (Pair<String, String> binding : allBindings) {
-            if (!binding.getRight().equals(inputPath)) {
-                newBindings.add(binding);
-            }
-        }
-        
-        // Add new bindings for this input
-        for (String action : selectedActions) {
-            newBindings.add(Pair.of(action, inputPath));
+        if (modifier != null) {
+            session.stageChord(modifier, inputPath, selectedActions);
+        } else {
+            session.stage(inputPath, selectedActions);
         }
-        
-        // Save the new bindings
-        DefaultBindingManager manager = DefaultBindingManager.getInstance();
-        manager.saveBindingsForProfile(interactionProfile, newBindings);
-        
-        System.out.println("Saved " + newBindings.size() + " bindings for " + interactionProfile);
-        System.out.println("Input " + inputPath + " now has " + selectedActions.size() + " actions bound");
+        RequestModClient.LOGGER.debug("[ReQuest] Input {} now has {} actions staged", inputPath, selectedActions.size());
         
         // Return to parent screen
         this.close();
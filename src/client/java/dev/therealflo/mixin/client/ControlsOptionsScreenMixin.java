@@ -1,6 +1,6 @@
 package dev.therealflo.mixin.client;
 
-import dev.therealflo.client.screens.ChangeBindingScreen;
+import dev.therealflo.client.screens.ScreenCache;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.client.gui.screen.Screen;
@@ -25,7 +25,7 @@ public abstract class ControlsOptionsScreenMixin extends Screen {
 
         this.addDrawableChild(
                 ButtonWidget.builder(Text.translatable("key.request.open_binding"),
-                                b -> MinecraftClient.getInstance().setScreen(new ChangeBindingScreen()))
+                                b -> MinecraftClient.getInstance().setScreen(ScreenCache.getInstance().getBindingScreen()))
                         .dimensions(x, y, w, h)
                         .build()
         );
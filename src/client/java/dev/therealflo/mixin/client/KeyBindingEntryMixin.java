@@ -0,0 +1,85 @@
+package dev.therealflo.mixin.client;
+
+import dev.therealflo.client.KeyBindingInputIndex;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.font.TextRenderer;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.gui.screen.option.ControlsListWidget;
+import net.minecraft.client.gui.widget.ButtonWidget;
+import net.minecraft.client.option.KeyBinding;
+import net.minecraft.text.OrderedText;
+import net.minecraft.text.Text;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Shows the VR inputs bound to a key binding in the key binds list, between its name and its edit button.
+ * The label is looked up once per binding load and kept with the row, so a frame only draws it.
+ */
+@Mixin(ControlsListWidget.KeyBindingEntry.class)
+public abstract class KeyBindingEntryMixin {
+    @Unique
+    private static final int request$LABEL_COLOR = 0xFF8FB8FF;
+    @Unique
+    private static final int request$GAP = 6;
+
+    @Shadow
+    @Final
+    private KeyBinding binding;
+
+    @Shadow
+    @Final
+    private Text bindingName;
+
+    @Shadow
+    @Final
+    private ButtonWidget editButton;
+
+    // Label of the row, valid while the index generation and the space for it are unchanged
+    @Unique
+    private int request$labelGeneration = -1;
+    @Unique
+    private int request$labelSpace = -1;
+    @Unique
+    private OrderedText request$label;
+    @Unique
+    private int request$labelWidth;
+
+    @Inject(method = "render", at = @At("TAIL"))
+    private void request$drawInputs(DrawContext context, int index, int y, int x, int entryWidth, int entryHeight,
+                                    int mouseX, int mouseY, boolean hovered, float tickProgress, CallbackInfo ci) {
+        KeyBindingInputIndex inputIndex = KeyBindingInputIndex.getInstance();
+        inputIndex.updateInteractionProfile();
+        TextRenderer textRenderer = MinecraftClient.getInstance().textRenderer;
+        int right = editButton.getX() - request$GAP;
+
+        int generation = inputIndex.getGeneration();
+        if (request$labelGeneration != generation || request$labelSpace != right - x) {
+            request$labelGeneration = generation;
+            request$labelSpace = right - x;
+            request$label = null;
+
+            String label = inputIndex.getLabel(binding.getTranslationKey());
+            if (label != null) {
+                int space = right - x - textRenderer.getWidth(bindingName) - request$GAP;
+                int ellipsis = textRenderer.getWidth("...");
+                if (textRenderer.getWidth(label) <= space) {
+                    request$label = Text.literal(label).asOrderedText();
+                } else if (space > ellipsis) {
+                    request$label = Text.literal(textRenderer.trimToWidth(label, space - ellipsis) + "...").asOrderedText();
+                }
+                request$labelWidth = request$label != null ? textRenderer.getWidth(request$label) : 0;
+            }
+        }
+
+        if (request$label != null) {
+            context.drawTextWithShadow(textRenderer, request$label, right - request$labelWidth,
+                    y + entryHeight / 2 - textRenderer.fontHeight / 2, request$LABEL_COLOR);
+        }
+    }
+}
@@ -2,17 +2,23 @@ package dev.therealflo.mixin.client;
 
 import com.google.common.collect.ImmutableMap;
 import dev.therealflo.client.DefaultBindingManager;
+import dev.therealflo.client.OpenVRBindingGenerator;
+import dev.therealflo.client.OpenVRManifestCache;
 import org.apache.commons.lang3.tuple.Pair;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.ModifyVariable;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.vivecraft.client_vr.provider.MCVR;
+import org.vivecraft.client_vr.provider.control.VRInputAction;
 import org.vivecraft.client_vr.provider.openvr_lwjgl.MCOpenVR;
 import org.vivecraft.client_vr.settings.VRSettings;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
@@ -20,6 +26,7 @@ import java.util.function.BiConsumer;
 /**
  * Mixin for MCOpenVR to intercept the generateActionManifest method.
  * This allows us to save and load default bindings for OpenVR controllers.
+ * The result is cached by {@link OpenVRManifestCache}, so unchanged setups skip the manifest generation.
  */
 @Mixin(value = MCOpenVR.class, remap = false)
 public class MCOpenVRMixin {
@@ -34,12 +41,35 @@ public class MCOpenVRMixin {
             "knuckles_defaults.json", "cosmos_defaults.json"
     };
 
+    // Cache key of the current generateActionManifest call
+    @Unique
+    private long request$manifestKey;
+
+    @Unique
+    private List<Map<String, Object>> request$resolvedDefaults;
+
     /**
      * Intercepts the default bindings list creation in generateActionManifest.
      * This allows us to save the original bindings on first launch and load custom ones later.
      */
     @ModifyVariable(method = "generateActionManifest", at = @At("STORE"), ordinal = 0, name = "defaults")
     private List<Map<String, Object>> modifyDefaultBindings(List<Map<String, Object>> originalDefaults) {
+        List<Map<String, Object>> cachedDefaults = OpenVRManifestCache.getInstance().getDefaults(request$manifestKey);
+        if (cachedDefaults != null) {
+            VRSettings.LOGGER.info("VivecraftRemapper: Using cached OpenVR bindings");
+            request$resolvedDefaults = cachedDefaults;
+            return cachedDefaults;
+        }
+
+        request$resolvedDefaults = request$resolveDefaults(originalDefaults);
+        return request$resolvedDefaults;
+    }
+
+    /**
+     * Saves the original bindings on first launch and builds the default list from the saved ones.
+     */
+    @Unique
+    private List<Map<String, Object>> request$resolveDefaults(List<Map<String, Object>> originalDefaults) {
         DefaultBindingManager manager = DefaultBindingManager.getInstance();
 
         // Save original bindings if this is the first launch
@@ -56,19 +86,28 @@ public class MCOpenVRMixin {
             manager.saveDefaultBindingsIfNeeded(controllerType, bindings);
         }
 
+        // Action types decide the OpenVR source mode of generated bindings
+        Map<String, String> actionTypes = new HashMap<>();
+        for (VRInputAction action : ((MCVR) (Object) this).getInputActions()) {
+            actionTypes.put(action.name, action.type);
+        }
+
         // Try to load custom bindings if they exist
         List<Map<String, Object>> customDefaults = new ArrayList<>();
         boolean hasCustomBindings = false;
 
-        for (String controllerType : CONTROLLER_TYPES) {
+        for (int i = 0; i < CONTROLLER_TYPES.length; i++) {
+            String controllerType = CONTROLLER_TYPES[i];
             Collection<Pair<String, String>> savedBindings = manager.loadDefaultBindings(controllerType);
             if (savedBindings != null) {
                 hasCustomBindings = true;
 
+                // Prefer a binding file generated from the Rebound profile of this controller
+                String bindingUrl = OpenVRBindingGenerator.getInstance().generate(controllerType, BINDING_FILES[i], actionTypes);
+
                 // Convert saved bindings back to the expected format
-                String bindingUrl = null;
                 for (Pair<String, String> binding : savedBindings) {
-                    if ("binding_url".equals(binding.getLeft())) {
+                    if (bindingUrl == null && "binding_url".equals(binding.getLeft())) {
                         bindingUrl = binding.getRight();
                         break;
                     }
@@ -93,17 +132,29 @@ public class MCOpenVRMixin {
     }
 
     /**
-     * Log when generateActionManifest starts to track binding management.
+     * Skips generateActionManifest when the manifest on disk was generated from the same actions and bindings.
      */
-    @Inject(method = "generateActionManifest", at = @At("HEAD"))
+    @Inject(method = "generateActionManifest", at = @At("HEAD"), cancellable = true)
     private void onGenerateActionManifestStart(CallbackInfo ci) {
-        DefaultBindingManager manager = DefaultBindingManager.getInstance();
+        OpenVRManifestCache cache = OpenVRManifestCache.getInstance();
+        request$manifestKey = cache.computeKey(((MCVR) (Object) this).getInputActions(), CONTROLLER_TYPES);
+        request$resolvedDefaults = null;
 
-        if (!manager.getAvailableProfiles().isEmpty()) {
-            VRSettings.LOGGER.info("VivecraftRemapper: Found saved OpenVR bindings for profiles: {}",
-                    manager.getAvailableProfiles());
-        } else {
-            VRSettings.LOGGER.info("VivecraftRemapper: No saved OpenVR bindings found, will save defaults");
+        if (cache.isManifestFresh(request$manifestKey)) {
+            VRSettings.LOGGER.info("VivecraftRemapper: OpenVR action manifest is up to date, skipping generation");
+            ci.cancel();
+        }
+    }
+
+    /**
+     * Remembers the defaults the manifest was generated with once it has been written.
+     * The key is computed again since the defaults may have been saved for the first time during generation.
+     */
+    @Inject(method = "generateActionManifest", at = @At("TAIL"))
+    private void onGenerateActionManifestEnd(CallbackInfo ci) {
+        if (request$resolvedDefaults != null) {
+            OpenVRManifestCache cache = OpenVRManifestCache.getInstance();
+            cache.store(cache.computeKey(((MCVR) (Object) this).getInputActions(), CONTROLLER_TYPES), request$resolvedDefaults);
         }
     }
-}
\ No newline at end of file
+}
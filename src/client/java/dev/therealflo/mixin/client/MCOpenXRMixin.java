@@ -1,20 +1,38 @@
 package dev.therealflo.mixin.client;
 
+import dev.therealflo.client.BoundActionIndex;
 import dev.therealflo.client.DefaultBindingManager;
+import dev.therealflo.client.KeyBindingInputIndex;
+import dev.therealflo.client.ReboundStats;
 import dev.therealflo.client.RequestModClient;
+import dev.therealflo.client.StartupProfiler;
+import dev.therealflo.client.XRBindingLoader;
 import dev.therealflo.client.api.MCOpenXRReload;
+import dev.therealflo.client.api.MCVRInputActions;
+import dev.therealflo.client.input.InputRuntime;
 import org.apache.commons.lang3.tuple.Pair;
+import org.lwjgl.openxr.XR10;
+import org.lwjgl.openxr.XrInteractionProfileState;
+import org.lwjgl.system.MemoryStack;
+import org.lwjgl.system.MemoryUtil;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.gen.Invoker;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.vivecraft.client_vr.provider.control.VRInputAction;
 import org.vivecraft.client_vr.provider.openxr.MCOpenXR;
 import org.vivecraft.client_vr.provider.openxr.XRBindings;
 
-import java.util.Collection;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
 
 /**
  * Mixin for MCOpenXR to intercept the loadDefaultBindings method.
@@ -24,6 +42,20 @@ import java.util.HashSet;
 @Mixin(value = MCOpenXR.class, remap = false)
 public abstract class MCOpenXRMixin implements MCOpenXRReload {
 
+    // Actions left out of the last loadActionHandles() because nothing was bound to them
+    @Unique
+    private final Map<String, VRInputAction> request$prunedActions = new HashMap<>();
+
+    // Phase timing of the running binding load, published to ReboundStats once the action handles are loaded
+    @Unique
+    private long request$bindingsStart;
+    @Unique
+    private long request$bindingsNanos;
+    @Unique
+    private long request$resolveNanos;
+    @Unique
+    private long request$handlesStart;
+
     /**
      * Invokes MCOpenXR.loadActionHandles(), which builds actions, suggests bindings, attaches action sets,
      * and sets up controller action spaces based on current XRBindings.
@@ -53,46 +85,102 @@ public abstract class MCOpenXRMixin implements MCOpenXRReload {
     @Redirect(method = "loadDefaultBindings", at = @At(value = "INVOKE",
             target = "Lorg/vivecraft/client_vr/provider/openxr/XRBindings;getBinding(Ljava/lang/String;)Ljava/util/HashSet;"))
     private HashSet<Pair<String, String>> redirectGetBinding(String headset) {
-        DefaultBindingManager manager = DefaultBindingManager.getInstance();
-        
-        // Check if there's an active custom profile set in the config
-        String activeProfile = manager.getActiveProfile(headset);
-        
-        // If active profile is not "default", try to load the custom profile
-        if (!"default".equals(activeProfile)) {
-            // Build the custom profile path
-            String customProfilePath = headset + "/" + activeProfile;
-            Collection<Pair<String, String>> customBindings = manager.loadDefaultBindings(customProfilePath);
-            
-            if (customBindings != null) {
-                RequestModClient.LOGGER.info("[ReQuest] Loading custom profile '{}' for {}", activeProfile, headset);
-                return new HashSet<>(customBindings);
-            } else {
-                RequestModClient.LOGGER.warn("[ReQuest] Custom profile '{}' not found for {}, falling back to default",
-                    activeProfile, headset);
-            }
+        long start = System.nanoTime();
+        HashSet<Pair<String, String>> bindings = XRBindingLoader.load(headset, XRBindings::getBinding);
+        long duration = System.nanoTime() - start;
+        request$resolveNanos += duration;
+        if (StartupProfiler.ENABLED) {
+            StartupProfiler.record("vr_init.redirectGetBinding", duration);
         }
-        
-        // Try to load saved default bindings
-        Collection<Pair<String, String>> savedBindings = manager.loadDefaultBindings(headset);
-        
-        if (savedBindings != null) {
-            // Return saved default bindings
-            return new HashSet<>(savedBindings);
-        }
-        
-        // If no saved bindings exist, get the default ones and save them
-        HashSet<Pair<String, String>> defaultBindings = XRBindings.getBinding(headset);
-        manager.saveDefaultBindingsIfNeeded(headset, defaultBindings);
-        
-        return defaultBindings;
+        return bindings;
     }
 
     /**
-     * Optional: Inject at the start of loadDefaultBindings to log what's happening.
+     * Restores previously pruned actions and starts collecting the bound actions of this load.
+     * Profiles and the config edited by hand since the last load are read again.
      */
     @Inject(method = "loadDefaultBindings", at = @At("HEAD"))
     private void onLoadDefaultBindingsStart(CallbackInfo ci) {
-        DefaultBindingManager.getInstance();
+        request$bindingsStart = System.nanoTime();
+        request$resolveNanos = 0;
+        DefaultBindingManager.getInstance().revalidate();
+
+        if (!request$prunedActions.isEmpty()) {
+            ((MCVRInputActions) this).getInputActionMap().putAll(request$prunedActions);
+            request$prunedActions.clear();
+        }
+        BoundActionIndex.getInstance().beginLoad();
+        InputRuntime.getInstance().beginLoad();
+        KeyBindingInputIndex.getInstance().beginLoad();
+    }
+
+    @Inject(method = "loadDefaultBindings", at = @At("TAIL"))
+    private void onLoadDefaultBindingsEnd(CallbackInfo ci) {
+        BoundActionIndex.getInstance().endLoad();
+        InputRuntime.getInstance().endLoad();
+
+        // The key binds list shows the inputs suggested for the controllers in use
+        KeyBindingInputIndex.getInstance().endLoad(((MCVRInputActions) this).getInputActionsByKeyBinding(),
+                this::request$getCurrentInteractionProfile);
+        request$bindingsNanos = System.nanoTime() - request$bindingsStart;
+        StartupProfiler.writeReport();
+    }
+
+    /**
+     * Asks the runtime which interaction profile it uses for the right hand.
+     * Returns null before the session started or while the runtime hasn't picked one.
+     */
+    @Unique
+    private String request$getCurrentInteractionProfile() {
+        MCOpenXR openXR = (MCOpenXR) (Object) this;
+        if (openXR.instance == null || openXR.session == null) return null;
+
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            LongBuffer hand = stack.mallocLong(1);
+            if (XR10.xrStringToPath(openXR.instance, "/user/hand/right", hand) != XR10.XR_SUCCESS) return null;
+
+            XrInteractionProfileState state = XrInteractionProfileState.calloc(stack).type$Default();
+            if (XR10.xrGetCurrentInteractionProfile(openXR.session, hand.get(0), state) != XR10.XR_SUCCESS
+                    || state.interactionProfile() == XR10.XR_NULL_PATH) return null;
+
+            IntBuffer length = stack.mallocInt(1);
+            ByteBuffer buffer = stack.malloc(XR10.XR_MAX_PATH_LENGTH);
+            if (XR10.xrPathToString(openXR.instance, state.interactionProfile(), length, buffer) != XR10.XR_SUCCESS) return null;
+            // The length includes the terminating null
+            return MemoryUtil.memUTF8(buffer, length.get(0) - 1);
+        }
+    }
+
+    /**
+     * If enabled, removes actions without any binding before Vivecraft creates the action handles,
+     * so they are never created, synced or polled. They are restored on the next binding load.
+     * Global actions and mandatory actions are always kept.
+     */
+    @Inject(method = "loadActionHandles", at = @At("HEAD"))
+    private void onLoadActionHandlesStart(CallbackInfo ci) {
+        request$handlesStart = System.nanoTime();
+        BoundActionIndex index = BoundActionIndex.getInstance();
+        if (!index.isReady() || !DefaultBindingManager.getInstance().isPruneUnboundActions()) return;
+
+        Iterator<Map.Entry<String, VRInputAction>> iterator = ((MCVRInputActions) this).getInputActionMap().entrySet().iterator();
+        while (iterator.hasNext()) {
+            VRInputAction action = iterator.next().getValue();
+            if (index.isBound(action.name) || action.name.startsWith("/actions/global/") ||
+                    "mandatory".equals(action.requirement)) {
+                continue;
+            }
+            request$prunedActions.put(action.name, action);
+            iterator.remove();
+        }
+
+        if (!request$prunedActions.isEmpty()) {
+            RequestModClient.LOGGER.info("[ReQuest] Pruned {} unbound VR actions", request$prunedActions.size());
+        }
+    }
+
+    @Inject(method = "loadActionHandles", at = @At("TAIL"))
+    private void onLoadActionHandlesEnd(CallbackInfo ci) {
+        ReboundStats.getInstance().setLastReload(new ReboundStats.ReloadTiming(request$resolveNanos, request$bindingsNanos,
+                System.nanoTime() - request$handlesStart));
     }
 }
\ No newline at end of file
@@ -1,6 +1,13 @@
 package dev.therealflo.mixin.client;
 
+import dev.therealflo.client.ActionIdTable;
+import dev.therealflo.client.BoundActionFilter;
+import dev.therealflo.client.ReboundStats;
 import dev.therealflo.client.RequestModClient;
+import dev.therealflo.client.StartupProfiler;
+import dev.therealflo.client.api.IndexedInputAction;
+import dev.therealflo.client.api.MCVRInputActions;
+import dev.therealflo.client.input.InputRuntime;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
@@ -12,7 +19,7 @@ import org.vivecraft.client_vr.provider.control.VRInputAction;
 import java.util.Map;
 
 @Mixin(value = MCVR.class, remap = false)
-public class MCVRMixin {
+public class MCVRMixin implements MCVRInputActions {
 
     @Shadow
     private Map<String, VRInputAction> inputActions;
@@ -20,12 +27,23 @@ public class MCVRMixin {
     @Shadow
     private Map<String, VRInputAction> inputActionsByKeyBinding;
 
+    @Override
+    public Map<String, VRInputAction> getInputActionMap() {
+        return inputActions;
+    }
+
+    @Override
+    public Map<String, VRInputAction> getInputActionsByKeyBinding() {
+        return inputActionsByKeyBinding;
+    }
+
     /**
      * Intercepts the populateInputActions method after all VRInputActions are created
      * to log information about registered actions, including mod keybinds.
      */
     @Inject(method = "populateInputActions", at = @At("TAIL"))
     private void logRegisteredActions(CallbackInfo ci) {
+        long start = StartupProfiler.start();
         RequestModClient.LOGGER.info("[ReQuest] VRInputActions registered successfully");
 
         // Log all available VRInputActions for debugging
@@ -34,5 +52,43 @@ public class MCVRMixin {
             VRInputAction action = entry.getValue();
             RequestModClient.LOGGER.info("[ReQuest]   - {} -> {} (ActionSet: {})", entry.getKey(), action.name, action.actionSet.name);
         }
+
+        // Assign the interned ids used by the per-frame filters
+        ActionIdTable ids = ActionIdTable.getInstance();
+        for (VRInputAction action : inputActions.values()) {
+            ((IndexedInputAction) action).setReboundId(ids.intern(action.name));
+        }
+        StartupProfiler.end("vr_init.populateInputActions", start);
+    }
+
+    /**
+     * Evaluates chord bindings once per frame, after the action states were read
+     * and before Vivecraft turns them into key presses.
+     */
+    @Inject(method = "processInputs", at = @At("HEAD"))
+    private void request$updateInputRuntime(CallbackInfo ci) {
+        ReboundStats stats = ReboundStats.getInstance();
+        stats.beginFrame();
+        InputRuntime.getInstance().update(this);
+        stats.endFrame();
+    }
+
+    /**
+     * Skips the per-frame processing of actions that have no binding in the active profile,
+     * and of actions whose input is currently taken over by a chord.
+     * A pressed key binding would stay pressed once its action is skipped: unbound actions are still processed
+     * until Vivecraft released them, held back ones are released here.
+     */
+    @Inject(method = "processInputAction", at = @At("HEAD"), cancellable = true)
+    private void request$skipUnboundAction(VRInputAction action, CallbackInfo ci) {
+        int id = ((IndexedInputAction) action).getReboundId();
+        if (InputRuntime.getInstance().isHeldBack(id)) {
+            if (action.keyBinding.isPressed()) {
+                action.unpressBinding();
+            }
+            ci.cancel();
+        } else if (!action.keyBinding.isPressed() && !BoundActionFilter.getInstance().shouldProcess(id)) {
+            ci.cancel();
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package dev.therealflo.mixin.client;
+
+import dev.therealflo.client.StartupProfiler;
+import org.objectweb.asm.tree.ClassNode;
+import org.spongepowered.asm.mixin.extensibility.IMixinConfigPlugin;
+import org.spongepowered.asm.mixin.extensibility.IMixinInfo;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Applies every client mixin unchanged, and times how long applying each one takes
+ * when the startup report is enabled, see {@link StartupProfiler}.
+ * Mixin calls preApply for all mixins of a target before applying them and postApply afterwards,
+ * so a measured time also covers other mods' mixins applied to the same class in the same pass.
+ */
+public class RequestMixinPlugin implements IMixinConfigPlugin {
+    // Start of the pass each mixin is applied in, by mixin and target class
+    private final Map<String, Long> applyStarts = new HashMap<>();
+
+    @Override
+    public void onLoad(String mixinPackage) {
+    }
+
+    @Override
+    public String getRefMapperConfig() {
+        return null;
+    }
+
+    @Override
+    public boolean shouldApplyMixin(String targetClassName, String mixinClassName) {
+        return true;
+    }
+
+    @Override
+    public void acceptTargets(Set<String> myTargets, Set<String> otherTargets) {
+    }
+
+    @Override
+    public List<String> getMixins() {
+        return null;
+    }
+
+    @Override
+    public void preApply(String targetClassName, ClassNode targetClass, String mixinClassName, IMixinInfo mixinInfo) {
+        if (!StartupProfiler.ENABLED) return;
+        synchronized (applyStarts) {
+            applyStarts.put(mixinClassName + "@" + targetClassName, StartupProfiler.start());
+        }
+    }
+
+    @Override
+    public void postApply(String targetClassName, ClassNode targetClass, String mixinClassName, IMixinInfo mixinInfo) {
+        if (!StartupProfiler.ENABLED) return;
+        Long start;
+        synchronized (applyStarts) {
+            start = applyStarts.remove(mixinClassName + "@" + targetClassName);
+        }
+        if (start != null) {
+            String simpleName = mixinClassName.substring(mixinClassName.lastIndexOf('.') + 1);
+            StartupProfiler.end("mixin.apply." + simpleName, start);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package dev.therealflo.mixin.client;
+
+import dev.therealflo.client.api.IndexedInputAction;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.vivecraft.client_vr.provider.control.VRInputAction;
+
+/**
+ * Stores the interned action id on each VRInputAction, so per-frame filters don't need a map lookup.
+ */
+@Mixin(value = VRInputAction.class, remap = false)
+public class VRInputActionMixin implements IndexedInputAction {
+
+    @Unique
+    private int request$id = -1;
+
+    @Override
+    public int getReboundId() {
+        return request$id;
+    }
+
+    @Override
+    public void setReboundId(int id) {
+        this.request$id = id;
+    }
+}
@@ -1,8 +1,7 @@
 package dev.therealflo.mixin.client;
 
+import dev.therealflo.client.ProfileAliasGraph;
 import org.spongepowered.asm.mixin.Mixin;
-import org.spongepowered.asm.mixin.Unique;
-import org.spongepowered.asm.mixin.gen.Invoker;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
@@ -11,45 +10,32 @@ import org.vivecraft.client_vr.provider.openxr.XRBindings;
 import java.util.HashSet;
 
 /**
- * Mixin to map Samsung Odyssey controller bindings to Quest 2 bindings.
- * This allows Odyssey users to use Quest 2 controller layout since they're similar.
+ * Mixin to map aliased controller bindings (e.g. Samsung Odyssey) to the bindings of the profile they emulate.
+ * The aliases themselves live in {@link ProfileAliasGraph}; by default Odyssey uses the Quest 2 layout.
  */
 @Mixin(value = XRBindings.class, remap = false)
 public abstract class XRBindingsOdysseyMixin {
 
-    @Unique
-    private static final String ODYSSEY_PROFILE = "/interaction_profiles/samsung/odyssey_controller";
-
-    /**
-     * Invoke the private/static Quest 2 binding builder without modifying Vivecraft.
-     */
-    @Invoker("quest2Bindings")
-    private static HashSet request$invokeQuest2Bindings() {
-        throw new AssertionError("Mixin invoker not applied");
-    }
-
     /**
-     * Return Quest 2 bindings when Odyssey profile is requested.
-     * This allows Odyssey controllers to use the Quest 2 binding layout.
+     * Return the translated bindings of the emulated profile when an aliased profile is requested.
+     * The translated set is memoized by the alias graph, so this is a single lookup after the first call.
      */
     @Inject(method = "getBinding", at = @At("HEAD"), cancellable = true)
     private static void request$injectOdysseyMappings(String headsetProfile,
                                                       CallbackInfoReturnable<HashSet> cir) {
-        if (ODYSSEY_PROFILE.equals(headsetProfile)) {
-            HashSet quest2Bindings = request$invokeQuest2Bindings();
-            // Short-circuit: use Quest 2 bindings for Odyssey
-            cir.setReturnValue(quest2Bindings);
+        ProfileAliasGraph aliases = ProfileAliasGraph.getInstance();
+        if (aliases.replacesDefaults(headsetProfile)) {
+            // Short-circuit: use the emulated profile's bindings
+            cir.setReturnValue(aliases.getTranslatedDefaults(headsetProfile, XRBindings::getBinding));
         }
     }
 
     /**
-     * Ensure Odyssey profile appears in supported headsets so Vivecraft suggests it.
+     * Ensure aliased profiles appear in supported headsets so Vivecraft suggests them.
      */
     @Inject(method = "supportedHeadsets", at = @At("RETURN"))
     private static void request$addOdysseyToSupported(CallbackInfoReturnable<HashSet> cir) {
         HashSet<String> set = cir.getReturnValue();
-        if (!set.contains(ODYSSEY_PROFILE)) {
-            set.add(ODYSSEY_PROFILE);
-        }
+        set.addAll(ProfileAliasGraph.getInstance().getSuggestedProfiles());
     }
 }